@@ -38,7 +38,6 @@ import org.bukkit.material.Directional;
 import org.bukkit.material.Door;
 import org.bukkit.material.MaterialData;
 import org.bukkit.material.TrapDoor;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.plugin.java.JavaPlugin;
 
 @SuppressWarnings("deprecation")
@@ -180,8 +179,6 @@ public class CustomBlocks_1_12_R1 implements CustomBlocks {
         redstoneBlock.setType(originalMaterial, false);
         originalState.setData(originalMaterialData);
         originalState.update(true, false);
-
-        block.setMetadata("CustomRedstoneLamp", new FixedMetadataValue(plugin, true));
     }
 
     @Override
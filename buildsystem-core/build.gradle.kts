@@ -52,6 +52,10 @@ dependencies {
     implementation(libs.fastboard)
     implementation(libs.nbt) { isTransitive = false }
     implementation(libs.bstats)
+
+    testImplementation(libs.spigot)
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks {
@@ -75,6 +79,10 @@ tasks {
         relocate("org.bstats", "$shadePath.bstats")
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     processResources {
         from(sourceSets.main.get().resources.srcDirs) {
             filesMatching("plugin.yml") {
@@ -47,6 +47,7 @@ import de.eintosti.buildsystem.listener.BuildWorldResetUnloadListener;
 import de.eintosti.buildsystem.listener.EditSessionListener;
 import de.eintosti.buildsystem.listener.EntityDamageListener;
 import de.eintosti.buildsystem.listener.EntitySpawnListener;
+import de.eintosti.buildsystem.listener.ExplosionListener;
 import de.eintosti.buildsystem.listener.FoodLevelChangeListener;
 import de.eintosti.buildsystem.listener.InventoryCloseListener;
 import de.eintosti.buildsystem.listener.InventoryCreativeListener;
@@ -59,6 +60,7 @@ import de.eintosti.buildsystem.listener.PlayerMoveListener;
 import de.eintosti.buildsystem.listener.PlayerQuitListener;
 import de.eintosti.buildsystem.listener.PlayerRespawnListener;
 import de.eintosti.buildsystem.listener.PlayerTeleportListener;
+import de.eintosti.buildsystem.listener.RedstoneLampListener;
 import de.eintosti.buildsystem.listener.SettingsInteractListener;
 import de.eintosti.buildsystem.listener.SignChangeListener;
 import de.eintosti.buildsystem.listener.WeatherChangeListener;
@@ -74,12 +76,14 @@ import de.eintosti.buildsystem.player.BlocksInventory;
 import de.eintosti.buildsystem.player.BuildPlayer;
 import de.eintosti.buildsystem.player.LogoutLocation;
 import de.eintosti.buildsystem.player.PlayerManager;
+import de.eintosti.buildsystem.player.ProfileResolver;
 import de.eintosti.buildsystem.settings.DesignInventory;
 import de.eintosti.buildsystem.settings.NoClipManager;
 import de.eintosti.buildsystem.settings.Settings;
 import de.eintosti.buildsystem.settings.SettingsInventory;
 import de.eintosti.buildsystem.settings.SettingsManager;
 import de.eintosti.buildsystem.settings.SpeedInventory;
+import de.eintosti.buildsystem.storage.StorageManager;
 import de.eintosti.buildsystem.tabcomplete.BuildTabComplete;
 import de.eintosti.buildsystem.tabcomplete.ConfigTabComplete;
 import de.eintosti.buildsystem.tabcomplete.EmptyTabComplete;
@@ -89,12 +93,15 @@ import de.eintosti.buildsystem.tabcomplete.SpawnTabComplete;
 import de.eintosti.buildsystem.tabcomplete.SpeedTabComplete;
 import de.eintosti.buildsystem.tabcomplete.TimeTabComplete;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
+import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.InventoryUtils;
+import de.eintosti.buildsystem.util.SkullTextureCache;
 import de.eintosti.buildsystem.util.UpdateChecker;
 import de.eintosti.buildsystem.version.customblocks.CustomBlocks;
 import de.eintosti.buildsystem.version.gamerules.GameRules;
 import de.eintosti.buildsystem.version.util.MinecraftVersion;
 import de.eintosti.buildsystem.world.BuildWorld;
+import de.eintosti.buildsystem.world.RedstoneLampIndex;
 import de.eintosti.buildsystem.world.SpawnManager;
 import de.eintosti.buildsystem.world.WorldManager;
 import de.eintosti.buildsystem.world.data.StatusInventory;
@@ -109,6 +116,8 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.AdvancedPie;
 import org.bstats.charts.SimplePie;
@@ -131,8 +140,12 @@ public class BuildSystem extends JavaPlugin {
     private InventoryUtils inventoryUtils;
     private NoClipManager noClipManager;
     private PlayerManager playerManager;
+    private ProfileResolver profileResolver;
+    private RedstoneLampIndex redstoneLampIndex;
+    private SkullTextureCache skullTextureCache;
     private SettingsManager settingsManager;
     private SpawnManager spawnManager;
+    private StorageManager storageManager;
     private WorldManager worldManager;
 
     private ArchiveInventory archiveInventory;
@@ -155,6 +168,8 @@ public class BuildSystem extends JavaPlugin {
     private CustomBlocks customBlocks;
     private GameRules gameRules;
 
+    private WeatherChangeListener weatherChangeListener;
+
     private LuckPermsExpansion luckPermsExpansion;
     private PlaceholderApiExpansion placeholderApiExpansion;
 
@@ -184,11 +199,17 @@ public class BuildSystem extends JavaPlugin {
         performUpdateCheck();
 
         worldManager.load();
-        playerManager.load();
         spawnManager.load();
 
         Bukkit.getOnlinePlayers().forEach(pl -> {
-            BuildPlayer buildPlayer = playerManager.createBuildPlayer(pl);
+            BuildPlayer buildPlayer;
+            try {
+                buildPlayer = playerManager.createBuildPlayer(pl);
+            } catch (CompletionException e) {
+                getLogger().log(Level.SEVERE, "Unable to load player data of " + pl.getName(), e.getCause());
+                pl.kickPlayer(Messages.getString("player_data_unavailable", pl));
+                return;
+            }
             Settings settings = buildPlayer.getSettings();
             settingsManager.startScoreboard(pl, settings);
             noClipManager.startNoClip(pl, settings);
@@ -196,7 +217,8 @@ public class BuildSystem extends JavaPlugin {
 
         registerStats();
 
-        Bukkit.getScheduler().runTaskTimer(this, this::saveBuildConfig, 6000L, 6000L);
+        long saveInterval = configValues.getSaveInterval() * 60 * 20L;
+        Bukkit.getScheduler().runTaskTimer(this, this::saveBuildConfig, saveInterval, saveInterval);
 
         Bukkit.getConsoleSender().sendMessage(String.format(Locale.ROOT,
                 "%sBuildSystem » Plugin %senabled%s!",
@@ -215,11 +237,22 @@ public class BuildSystem extends JavaPlugin {
             noClipManager.stopNoClip(pl.getUniqueId());
             playerManager.closeNavigator(pl);
         });
+        worldManager.getEvictionPolicy().stop();
 
         reloadConfigData(false);
         saveConfig();
 
         saveBuildConfig();
+        worldManager.writeRegistrySnapshot();
+        // Saving is performed asynchronously, which has to be finished before the plugin is disabled
+        storageManager.close();
+        worldManager.getChangeJournal().close();
+        profileResolver.close();
+        skullTextureCache.close();
+        redstoneLampIndex.close();
+        if (!FileUtils.shutdownIoExecutor()) {
+            getLogger().warning("Some file operations did not finish before the plugin was disabled");
+        }
 
         unregisterExpansions();
 
@@ -250,6 +283,10 @@ public class BuildSystem extends JavaPlugin {
     }
 
     private void initClasses() {
+        FileUtils.startIoExecutor();
+        this.storageManager = new StorageManager(this);
+        this.profileResolver = new ProfileResolver(this);
+        this.skullTextureCache = new SkullTextureCache(this);
         this.armorStandManager = new ArmorStandManager();
         this.playerManager = new PlayerManager(this);
         this.inventoryUtils = new InventoryUtils(this);
@@ -257,6 +294,7 @@ public class BuildSystem extends JavaPlugin {
         this.inventoryUtils.loadStatus();
         this.noClipManager = new NoClipManager(this);
         this.worldManager = new WorldManager(this);
+        this.redstoneLampIndex = new RedstoneLampIndex(this);
         this.settingsManager = new SettingsManager(this);
         this.spawnManager = new SpawnManager(this);
 
@@ -317,6 +355,7 @@ public class BuildSystem extends JavaPlugin {
         new BuildModePreventationListener(this);
         new BuildWorldResetUnloadListener(this);
         new EntitySpawnListener(this);
+        new ExplosionListener(this);
         new FoodLevelChangeListener(this);
         new InventoryCloseListener(this);
         new InventoryCreativeListener(this);
@@ -330,9 +369,10 @@ public class BuildSystem extends JavaPlugin {
         new PlayerQuitListener(this);
         new PlayerRespawnListener(this);
         new PlayerTeleportListener(this);
+        new RedstoneLampListener(this);
         new SettingsInteractListener(this);
         new SignChangeListener(this);
-        new WeatherChangeListener(this);
+        this.weatherChangeListener = new WeatherChangeListener(this);
         new WorldManipulateListener(this);
     }
 
@@ -467,6 +507,7 @@ public class BuildSystem extends JavaPlugin {
         if (init) {
             initVersionedClasses();
             worldManager.getBuildWorlds().forEach(BuildWorld::manageUnload);
+            weatherChangeListener.setRegistered(configValues.isLockWeather());
             if (configValues.isScoreboard()) {
                 getSettingsManager().startScoreboard();
             } else {
@@ -491,6 +532,18 @@ public class BuildSystem extends JavaPlugin {
         return playerManager;
     }
 
+    public ProfileResolver getProfileResolver() {
+        return profileResolver;
+    }
+
+    public SkullTextureCache getSkullTextureCache() {
+        return skullTextureCache;
+    }
+
+    public RedstoneLampIndex getRedstoneLampIndex() {
+        return redstoneLampIndex;
+    }
+
     public NoClipManager getNoClipManager() {
         return noClipManager;
     }
@@ -503,6 +556,10 @@ public class BuildSystem extends JavaPlugin {
         return spawnManager;
     }
 
+    public StorageManager getStorageManager() {
+        return storageManager;
+    }
+
     public WorldManager getWorldManager() {
         return worldManager;
     }
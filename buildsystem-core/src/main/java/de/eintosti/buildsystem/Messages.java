@@ -76,6 +76,7 @@ public class Messages {
         setMessage(sb, "prefix", "&8▎ &bBuildSystem &8»");
         setMessage(sb, "player_join", "&7[&a+&7] &a%player%");
         setMessage(sb, "player_quit", "&7[&c-&7] &c%player%");
+        setMessage(sb, "player_data_unavailable", "&cYour player data could not be loaded. Please try again later.");
         setMessage(sb, "loading_world", "&7Loading &b%world%&7...");
         setMessage(sb, "world_not_loaded", "&cWorld is not loaded!");
         setMessage(sb, "enter_world_name", "&7Enter &bWorld Name");
@@ -246,6 +247,7 @@ public class Messages {
         setMessage(sb, "worlds_template_creation_started", "%prefix% &7The creation of &b%world% &8(&7Template: &f%template%&8) &7has started...");
         setMessage(sb, "worlds_creation_finished", "%prefix% &7The world was &asuccessfully &7created.");
         setMessage(sb, "worlds_template_does_not_exist", "%prefix% &cThis template does not exist.");
+        setMessage(sb, "worlds_template_creation_failed", "%prefix% &cError while copying the template: Please try again!");
         addSpacer(sb, "");
         setMessage(sb, "worlds_unknown_command", "%prefix% &7Unknown command: &b/worlds help");
         setMessage(sb, "worlds_navigator_open", "%prefix% &cYou have already opened the navigator!");
@@ -287,6 +289,8 @@ public class Messages {
         setMessage(sb, "worlds_help_import", "&7Import a world.");
         setMessage(sb, "worlds_help_importall", "&7Import all worlds at once.");
         setMessage(sb, "worlds_help_unimport", "&7Unimport a world.");
+        setMessage(sb, "worlds_help_snapshot", "&7Create or restore snapshots of a world.");
+        setMessage(sb, "worlds_help_status", "&7Shows the progress of background tasks.");
         addSpacer(sb, "");
         setMessage(sb, "worlds_import_usage", "%prefix% &7Usage: &b/worlds import <world> [-g <generator> | -c <creator>]");
         setMessage(sb, "worlds_import_unknown_world", "%prefix% &cUnknown world.");
@@ -299,17 +303,19 @@ public class Messages {
                 "%prefix% &7&oName contains invalid character: &c%char%");
         setMessage(sb, "worlds_import_finished", "%prefix% &7The world was &asuccessfully &7imported.");
         addSpacer(sb, "");
-        setMessage(sb, "worlds_importall_usage", "%prefix% &7Usage: &b/worlds importall [-g <generator> | -c <creator>]");
+        setMessage(sb, "worlds_importall_usage", "%prefix% &7Usage: &b/worlds importall [-g <generator> | -c <creator> | pause | resume]");
         setMessage(sb, "worlds_importall_no_worlds", "%prefix% &cNo worlds were found.");
         setMessage(sb, "worlds_importall_started", "%prefix% &7Beginning import of &b%amount% &7worlds...");
-        setMessage(sb, "worlds_importall_delay", "%prefix% &8➥ &7Delay between each world: &b%delay%s&7.");
         setMessage(sb, "worlds_importall_already_started", "%prefix% &cAll worlds are already being imported.");
         setMessage(sb, "worlds_importall_player_not_found", "%prefix% &cThat player was not found.");
         setMessage(sb, "worlds_importall_invalid_character", "%prefix% &c✘ &7&o%world% &7contains invalid character &8(&c%char%&8)");
         setMessage(sb, "worlds_importall_world_already_imported", "%prefix% &c✘ &7World already imported: &b%world%");
         setMessage(sb, "worlds_importall_newer_version", "%prefix% &c✘ &b%world% &7was created in a &cnewer version &7of Minecraft");
         setMessage(sb, "worlds_importall_world_imported", "%prefix% &a✔ &7World imported: &b%world%");
-        setMessage(sb, "worlds_importall_finished", "%prefix% &7All worlds have been &asuccessfully &7imported.");
+        setMessage(sb, "worlds_importall_finished", "%prefix% &7All worlds have been &asuccessfully &7imported &8(&7%seconds%s&8)&7.");
+        setMessage(sb, "worlds_importall_not_started", "%prefix% &cNo worlds are being imported.");
+        setMessage(sb, "worlds_importall_paused", "%prefix% &7The import has been &cpaused&7.");
+        setMessage(sb, "worlds_importall_resumed", "%prefix% &7The import has been &aresumed&7.");
         addSpacer(sb, "");
         setMessage(sb, "worlds_info_usage", "%prefix% &7Usage: &b/worlds info [world]");
         setMessage(sb, "worlds_info_unknown_world", "%prefix% &cUnknown world.");
@@ -384,10 +390,35 @@ public class Messages {
         setMessage(sb, "worlds_removespawn_world_not_imported", "%prefix% &cWorld must be imported » /worlds import <world>");
         setMessage(sb, "worlds_removespawn_world_spawn_removed", "%prefix% &b%world%&7's spawnpoint was removed.");
         addSpacer(sb, "");
+        setMessage(sb, "worlds_snapshot_usage", "%prefix% &7Usage: &b/worlds snapshot <world> [list|create|restore <snapshot>]");
+        setMessage(sb, "worlds_snapshot_unknown_world", "%prefix% &cUnknown world.");
+        setMessage(sb, "worlds_snapshot_unknown_snapshot", "%prefix% &cUnknown snapshot: &7%snapshot%");
+        setMessage(sb, "worlds_snapshot_none", "%prefix% &b%world% &7does not have any snapshots.");
+        setMessage(sb, "worlds_snapshot_list_title", "%prefix% &b%world% &7has &b%amount% &7snapshot(s):");
+        setMessage(sb, "worlds_snapshot_list_entry", "&8» &b%snapshot%");
+        setMessage(sb, "worlds_snapshot_deferred", "%prefix% &7A snapshot of &b%world% &7will be created once it has been unloaded.");
+        setMessage(sb, "worlds_snapshot_creating", "%prefix% &7Creating a snapshot of &b%world%&7...");
+        setMessage(sb, "worlds_snapshot_created", "%prefix% &7Created snapshot &b%snapshot% &7of &b%world% &8(&b%objects% &7new objects, &b%size% KiB&8)");
+        setMessage(sb, "worlds_snapshot_failed", "%prefix% &cA snapshot of %world% could not be created. Please check the console.");
+        setMessage(sb, "worlds_snapshot_restore_players", "%prefix% &cThere must not be any players in %world% to restore a snapshot.");
+        setMessage(sb, "worlds_snapshot_restoring", "%prefix% &7Restoring snapshot &b%snapshot% &7of &b%world%&7...");
+        setMessage(sb, "worlds_snapshot_restored", "%prefix% &7Restored snapshot &b%snapshot% &7of &b%world%&7.");
+        setMessage(sb, "worlds_snapshot_restored_import", "%prefix% &7Restored snapshot &b%snapshot% &7of &b%world%&7. Import it using &b/worlds import %world%&7.");
+        setMessage(sb, "worlds_snapshot_restore_failed", "%prefix% &cSnapshot of %world% could not be restored. Please check the console.");
+        addSpacer(sb, "");
+        setMessage(sb, "worlds_status_usage", "%prefix% &7Usage: &b/worlds status");
+        setMessage(sb, "worlds_status_idle", "%prefix% &7No background tasks are running.");
+        setMessage(sb, "worlds_status_deletion", "%prefix% &7Deleting &b%world%&7: &b%deleted%&7/&b%total% &7files &8(&7%queued% more queued&8)");
+        setMessage(sb, "worlds_status_import", "%prefix% &7Importing worlds: &b%imported%&7/&b%total% &8(&b%throughput% &7worlds/s, &7ETA: &b%eta%s&8)%paused%");
+        setMessage(sb, "worlds_status_import_paused", " &c(paused)");
+        setMessage(sb, "worlds_status_startup", "%prefix% &7Loading worlds: &b%loaded%&7/&b%total%");
+        setMessage(sb, "worlds_status_unload", "%prefix% &b%pending% &7world(s) scheduled to be unloaded &8(&7next: &b%world% &7in &b%seconds%s&8)");
+        addSpacer(sb, "");
         setMessage(sb, "worlds_tp_usage", "%prefix% &7Usage: &b/worlds tp <world>");
         setMessage(sb, "worlds_tp_unknown_world", "%prefix% &cUnknown world.");
         setMessage(sb, "worlds_tp_world_not_imported", "%prefix% &cWorld must be imported: /worlds import <world>");
         setMessage(sb, "worlds_tp_entry_forbidden", "%prefix% &cYou are not allowed to enter this world!");
+        setMessage(sb, "worlds_tp_restoring", "%prefix% &b%world% &7is being restored from the archive. You will be teleported shortly...");
         addSpacer(sb, "");
         setMessage(sb, "worlds_unimport_usage", "%prefix% &7Usage: &b/worlds unimport <world>");
         setMessage(sb, "worlds_unimport_unknown_world", "%prefix% &cUnknown world.");
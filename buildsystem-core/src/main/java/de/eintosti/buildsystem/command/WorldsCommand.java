@@ -39,6 +39,8 @@ import de.eintosti.buildsystem.command.subcommand.worlds.SetPermissionSubCommand
 import de.eintosti.buildsystem.command.subcommand.worlds.SetProjectSubCommand;
 import de.eintosti.buildsystem.command.subcommand.worlds.SetSpawnSubCommand;
 import de.eintosti.buildsystem.command.subcommand.worlds.SetStatusSubCommand;
+import de.eintosti.buildsystem.command.subcommand.worlds.SnapshotSubCommand;
+import de.eintosti.buildsystem.command.subcommand.worlds.StatusSubCommand;
 import de.eintosti.buildsystem.command.subcommand.worlds.TeleportSubCommand;
 import de.eintosti.buildsystem.command.subcommand.worlds.UnimportSubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
@@ -160,6 +162,14 @@ public class WorldsCommand implements CommandExecutor {
                 subCommand = new SetStatusSubCommand(plugin, worldName);
                 break;
             }
+            case SNAPSHOT: {
+                subCommand = new SnapshotSubCommand(plugin, worldName);
+                break;
+            }
+            case STATUS: {
+                subCommand = new StatusSubCommand(plugin);
+                break;
+            }
             case TP: {
                 subCommand = new TeleportSubCommand(plugin);
                 break;
@@ -24,7 +24,6 @@ import de.eintosti.buildsystem.command.subcommand.Argument;
 import de.eintosti.buildsystem.command.subcommand.SubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
 import de.eintosti.buildsystem.util.PlayerChatInput;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.Builder;
 import de.eintosti.buildsystem.world.WorldManager;
@@ -72,22 +71,23 @@ public class AddBuilderSubCommand implements SubCommand {
 
     private void addBuilder(Player player, BuildWorld buildWorld, String builderName, boolean closeInventory) {
         Player builderPlayer = Bukkit.getPlayerExact(builderName);
-        Builder builder;
-        UUID builderId;
+        if (builderPlayer != null) {
+            addBuilder(player, buildWorld, Builder.of(builderPlayer), closeInventory);
+            return;
+        }
 
-        if (builderPlayer == null) {
-            builderId = UUIDFetcher.getUUID(builderName);
+        plugin.getProfileResolver().resolveUniqueId(builderName, builderId -> {
             if (builderId == null) {
                 Messages.sendMessage(player, "worlds_addbuilder_player_not_found");
                 player.closeInventory();
                 return;
             }
-            builder = Builder.of(builderId, builderName);
-        } else {
-            builder = Builder.of(builderPlayer);
-            builderId = builderPlayer.getUniqueId();
-        }
+            addBuilder(player, buildWorld, Builder.of(builderId, builderName), closeInventory);
+        });
+    }
 
+    private void addBuilder(Player player, BuildWorld buildWorld, Builder builder, boolean closeInventory) {
+        UUID builderId = builder.getUniqueId();
         if (builderId.equals(player.getUniqueId()) && buildWorld.isCreator(player)) {
             Messages.sendMessage(player, "worlds_addbuilder_already_creator");
             player.closeInventory();
@@ -103,7 +103,7 @@ public class AddBuilderSubCommand implements SubCommand {
         buildWorld.addBuilder(builder);
         XSound.ENTITY_PLAYER_LEVELUP.play(player);
         Messages.sendMessage(player, "worlds_addbuilder_added",
-                new AbstractMap.SimpleEntry<>("%builder%", builderName)
+                new AbstractMap.SimpleEntry<>("%builder%", builder.getName())
         );
 
         if (closeInventory) {
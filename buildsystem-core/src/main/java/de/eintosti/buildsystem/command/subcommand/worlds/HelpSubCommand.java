@@ -80,7 +80,9 @@ public class HelpSubCommand extends PagedCommand implements SubCommand {
                 createComponent(player, "/worlds delete <world>", "worlds_help_delete", "/worlds delete ", "buildsystem.delete"),
                 createComponent(player, "/worlds import <world>", "worlds_help_import", "/worlds import ", "buildsystem.import"),
                 createComponent(player, "/worlds importAll", "worlds_help_importall", "/worlds importAll", "buildsystem.import.all"),
-                createComponent(player, "/worlds unimport", "worlds_help_unimport", "/worlds unimport", "buildsystem.unimport")
+                createComponent(player, "/worlds unimport", "worlds_help_unimport", "/worlds unimport", "buildsystem.unimport"),
+                createComponent(player, "/worlds snapshot <world>", "worlds_help_snapshot", "/worlds snapshot ", "buildsystem.snapshot"),
+                createComponent(player, "/worlds status", "worlds_help_status", "/worlds status", "buildsystem.status")
         );
         commands.removeIf(textComponent -> textComponent.getText().isEmpty());
         return commands;
@@ -23,15 +23,15 @@ import de.eintosti.buildsystem.command.subcommand.Argument;
 import de.eintosti.buildsystem.command.subcommand.SubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
 import de.eintosti.buildsystem.util.ArgumentParser;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.Builder;
+import de.eintosti.buildsystem.world.WorldImportPipeline;
 import de.eintosti.buildsystem.world.WorldManager;
 import de.eintosti.buildsystem.world.generator.Generator;
 import java.io.File;
 import java.util.Locale;
-import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 public class ImportAllSubCommand implements SubCommand {
 
@@ -48,12 +48,17 @@ public class ImportAllSubCommand implements SubCommand {
             return;
         }
 
+        WorldManager worldManager = plugin.getWorldManager();
+        if (args.length == 2 && (args[1].equalsIgnoreCase("pause") || args[1].equalsIgnoreCase("resume"))) {
+            setPaused(player, worldManager.getCurrentImport(), args[1].equalsIgnoreCase("pause"));
+            return;
+        }
+
         if (args.length != 1) {
             Messages.sendMessage(player, "worlds_importall_usage");
             return;
         }
 
-        WorldManager worldManager = plugin.getWorldManager();
         if (worldManager.isImportingAllWorlds()) {
             Messages.sendMessage(player, "worlds_importall_already_started");
             return;
@@ -70,7 +75,7 @@ public class ImportAllSubCommand implements SubCommand {
                 return false;
             }
 
-            return worldManager.getBuildWorld(name) == null;
+            return worldManager.getBuildWorld(name) == null && !worldManager.isReserved(name);
         });
 
         if (directories == null || directories.length == 0) {
@@ -80,7 +85,6 @@ public class ImportAllSubCommand implements SubCommand {
 
         ArgumentParser parser = new ArgumentParser(args);
         Generator generator = Generator.VOID;
-        Builder creator = null;
 
         if (parser.isArgument("g")) {
             String generatorArg = parser.getValue("g");
@@ -100,15 +104,32 @@ public class ImportAllSubCommand implements SubCommand {
                 Messages.sendMessage(player, "worlds_importall_usage");
                 return;
             }
-            UUID creatorId = UUIDFetcher.getUUID(creatorArg);
-            if (creatorId == null) {
-                Messages.sendMessage(player, "worlds_importall_player_not_found");
-                return;
-            }
-            creator = Builder.of(creatorId, creatorArg);
+            final Generator chosenGenerator = generator;
+            plugin.getProfileResolver().resolveUniqueId(creatorArg, creatorId -> {
+                if (creatorId == null) {
+                    Messages.sendMessage(player, "worlds_importall_player_not_found");
+                    return;
+                }
+                if (worldManager.isImportingAllWorlds()) {
+                    Messages.sendMessage(player, "worlds_importall_already_started");
+                    return;
+                }
+                worldManager.importWorlds(player, directories, chosenGenerator, Builder.of(creatorId, creatorArg));
+            });
+            return;
+        }
+
+        worldManager.importWorlds(player, directories, generator, null);
+    }
+
+    private void setPaused(Player player, @Nullable WorldImportPipeline currentImport, boolean paused) {
+        if (currentImport == null) {
+            Messages.sendMessage(player, "worlds_importall_not_started");
+            return;
         }
 
-        worldManager.importWorlds(player, directories, generator, creator);
+        currentImport.setPaused(paused);
+        Messages.sendMessage(player, paused ? "worlds_importall_paused" : "worlds_importall_resumed");
     }
 
     @Override
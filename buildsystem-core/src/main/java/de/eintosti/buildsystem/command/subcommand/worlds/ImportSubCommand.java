@@ -23,7 +23,6 @@ import de.eintosti.buildsystem.command.subcommand.Argument;
 import de.eintosti.buildsystem.command.subcommand.SubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
 import de.eintosti.buildsystem.util.ArgumentParser;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.Builder;
 import de.eintosti.buildsystem.world.WorldManager;
@@ -33,9 +32,9 @@ import java.io.File;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Locale;
-import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 public class ImportSubCommand implements SubCommand {
 
@@ -87,7 +86,7 @@ public class ImportSubCommand implements SubCommand {
             return;
         }
 
-        Builder creator = null;
+        String creatorName = null;
         Generator generator = Generator.VOID;
         String generatorName = null;
         WorldType worldType = WorldType.IMPORTED;
@@ -110,17 +109,11 @@ public class ImportSubCommand implements SubCommand {
             }
 
             if (parser.isArgument("c")) {
-                String creatorArg = parser.getValue("c");
-                if (creatorArg == null) {
+                creatorName = parser.getValue("c");
+                if (creatorName == null) {
                     Messages.sendMessage(player, "worlds_import_usage");
                     return;
                 }
-                UUID creatorId = UUIDFetcher.getUUID(creatorArg);
-                if (creatorId == null) {
-                    Messages.sendMessage(player, "worlds_import_player_not_found");
-                    return;
-                }
-                creator = Builder.of(creatorId, creatorArg);
             }
 
             if (parser.isArgument("t")) {
@@ -137,6 +130,31 @@ public class ImportSubCommand implements SubCommand {
             }
         }
 
+        if (creatorName == null) {
+            importWorld(player, null, worldType, generator, generatorName);
+            return;
+        }
+
+        final String creator = creatorName;
+        final WorldType type = worldType;
+        final Generator chosenGenerator = generator;
+        final String chosenGeneratorName = generatorName;
+        plugin.getProfileResolver().resolveUniqueId(creator, creatorId -> {
+            if (creatorId == null) {
+                Messages.sendMessage(player, "worlds_import_player_not_found");
+                return;
+            }
+            importWorld(player, Builder.of(creatorId, creator), type, chosenGenerator, chosenGeneratorName);
+        });
+    }
+
+    private void importWorld(Player player, @Nullable Builder creator, WorldType worldType, Generator generator, @Nullable String generatorName) {
+        WorldManager worldManager = plugin.getWorldManager();
+        if (worldManager.getBuildWorld(worldName) != null || worldManager.isReserved(worldName)) {
+            Messages.sendMessage(player, "worlds_import_world_is_imported");
+            return;
+        }
+
         Messages.sendMessage(player, "worlds_import_started",
                 new AbstractMap.SimpleEntry<>("%world%", worldName)
         );
@@ -24,8 +24,8 @@ import de.eintosti.buildsystem.command.subcommand.Argument;
 import de.eintosti.buildsystem.command.subcommand.SubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
 import de.eintosti.buildsystem.util.PlayerChatInput;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.BuildWorld;
+import de.eintosti.buildsystem.world.Builder;
 import de.eintosti.buildsystem.world.WorldManager;
 import java.util.AbstractMap;
 import java.util.UUID;
@@ -70,20 +70,36 @@ public class RemoveBuilderSubCommand implements SubCommand {
     }
 
     private void removeBuilder(Player player, BuildWorld buildWorld, String builderName) {
+        // Builders whose uuid has not been resolved yet can only be found by their name
+        Builder unresolved = buildWorld.getBuilders().stream()
+                .filter(builder -> builder.getUniqueId() == null && builder.getName().equalsIgnoreCase(builderName))
+                .findFirst()
+                .orElse(null);
+        if (unresolved != null) {
+            buildWorld.removeBuilder(unresolved);
+            XSound.ENTITY_PLAYER_LEVELUP.play(player);
+            Messages.sendMessage(player, "worlds_removebuilder_removed", new AbstractMap.SimpleEntry<>("%builder%", unresolved.getName()));
+            player.closeInventory();
+            return;
+        }
+
         Player builderPlayer = Bukkit.getPlayerExact(builderName);
-        UUID builderId;
+        if (builderPlayer != null) {
+            removeBuilder(player, buildWorld, builderPlayer.getUniqueId(), builderName);
+            return;
+        }
 
-        if (builderPlayer == null) {
-            builderId = UUIDFetcher.getUUID(builderName);
+        plugin.getProfileResolver().resolveUniqueId(builderName, builderId -> {
             if (builderId == null) {
                 Messages.sendMessage(player, "worlds_removebuilder_player_not_found");
                 player.closeInventory();
                 return;
             }
-        } else {
-            builderId = builderPlayer.getUniqueId();
-        }
+            removeBuilder(player, buildWorld, builderId, builderName);
+        });
+    }
 
+    private void removeBuilder(Player player, BuildWorld buildWorld, UUID builderId, String builderName) {
         if (builderId.equals(player.getUniqueId()) && buildWorld.isCreator(player)) {
             Messages.sendMessage(player, "worlds_removebuilder_not_yourself");
             player.closeInventory();
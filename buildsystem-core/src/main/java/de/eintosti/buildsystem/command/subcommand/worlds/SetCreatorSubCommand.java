@@ -24,7 +24,6 @@ import de.eintosti.buildsystem.command.subcommand.Argument;
 import de.eintosti.buildsystem.command.subcommand.SubCommand;
 import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
 import de.eintosti.buildsystem.util.PlayerChatInput;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.Builder;
 import de.eintosti.buildsystem.world.WorldManager;
@@ -62,21 +61,26 @@ public class SetCreatorSubCommand implements SubCommand {
 
         new PlayerChatInput(plugin, player, "enter_world_creator", input -> {
             String creatorName = input.trim();
-            Builder creator = null;
-            if (!creatorName.equalsIgnoreCase("-")) {
-                creator = Builder.of(UUIDFetcher.getUUID(creatorName), creatorName);
+            if (creatorName.equalsIgnoreCase("-")) {
+                setCreator(player, buildWorld, null);
+                return;
             }
-            buildWorld.setCreator(creator);
 
-            plugin.getPlayerManager().forceUpdateSidebar(buildWorld);
-            XSound.ENTITY_PLAYER_LEVELUP.play(player);
-            Messages.sendMessage(player, "worlds_setcreator_set",
-                    new AbstractMap.SimpleEntry<>("%world%", buildWorld.getName())
-            );
-            player.closeInventory();
+            plugin.getProfileResolver().resolveUniqueId(creatorName, creatorId -> setCreator(player, buildWorld, Builder.of(creatorId, creatorName)));
         });
     }
 
+    private void setCreator(Player player, BuildWorld buildWorld, Builder creator) {
+        buildWorld.setCreator(creator);
+
+        plugin.getPlayerManager().forceUpdateSidebar(buildWorld);
+        XSound.ENTITY_PLAYER_LEVELUP.play(player);
+        Messages.sendMessage(player, "worlds_setcreator_set",
+                new AbstractMap.SimpleEntry<>("%world%", buildWorld.getName())
+        );
+        player.closeInventory();
+    }
+
     @Override
     public Argument getArgument() {
         return WorldsTabComplete.WorldsArgument.SET_CREATOR;
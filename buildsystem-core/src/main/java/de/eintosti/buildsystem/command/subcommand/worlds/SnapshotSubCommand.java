@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.command.subcommand.worlds;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.Messages;
+import de.eintosti.buildsystem.command.subcommand.Argument;
+import de.eintosti.buildsystem.command.subcommand.SubCommand;
+import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
+import de.eintosti.buildsystem.world.BuildWorld;
+import de.eintosti.buildsystem.world.WorldManager;
+import de.eintosti.buildsystem.world.WorldSnapshotStore;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Locale;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+public class SnapshotSubCommand implements SubCommand {
+
+    private final BuildSystem plugin;
+    private final String worldName;
+
+    public SnapshotSubCommand(BuildSystem plugin, String worldName) {
+        this.plugin = plugin;
+        this.worldName = worldName;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        WorldManager worldManager = plugin.getWorldManager();
+        if (!worldManager.isPermitted(player, getArgument().getPermission(), worldName)) {
+            plugin.sendPermissionMessage(player);
+            return;
+        }
+
+        if (args.length < 2 || args.length > 4) {
+            Messages.sendMessage(player, "worlds_snapshot_usage");
+            return;
+        }
+
+        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
+        WorldSnapshotStore snapshotStore = worldManager.getSnapshotStore();
+        String action = args.length >= 3 ? args[2].toLowerCase(Locale.ROOT) : "list";
+        switch (action) {
+            case "list":
+                listSnapshots(player, snapshotStore.getSnapshots(worldName));
+                break;
+            case "create":
+                if (buildWorld == null) {
+                    Messages.sendMessage(player, "worlds_snapshot_unknown_world");
+                    return;
+                }
+                createSnapshot(player, buildWorld);
+                break;
+            case "restore":
+                if (args.length != 4) {
+                    Messages.sendMessage(player, "worlds_snapshot_usage");
+                    return;
+                }
+                restoreSnapshot(player, buildWorld, args[3]);
+                break;
+            default:
+                Messages.sendMessage(player, "worlds_snapshot_usage");
+                break;
+        }
+    }
+
+    private void listSnapshots(Player player, List<String> snapshots) {
+        if (snapshots.isEmpty()) {
+            Messages.sendMessage(player, "worlds_snapshot_none", new AbstractMap.SimpleEntry<>("%world%", worldName));
+            return;
+        }
+
+        Messages.sendMessage(player, "worlds_snapshot_list_title",
+                new AbstractMap.SimpleEntry<>("%world%", worldName),
+                new AbstractMap.SimpleEntry<>("%amount%", String.valueOf(snapshots.size()))
+        );
+        for (String snapshot : snapshots) {
+            Messages.sendMessage(player, "worlds_snapshot_list_entry", new AbstractMap.SimpleEntry<>("%snapshot%", snapshot));
+        }
+    }
+
+    private void createSnapshot(Player player, BuildWorld buildWorld) {
+        WorldManager worldManager = plugin.getWorldManager();
+        if (buildWorld.getWorld() != null) {
+            worldManager.getSnapshotStore().deferSnapshot(buildWorld);
+            Messages.sendMessage(player, "worlds_snapshot_deferred", new AbstractMap.SimpleEntry<>("%world%", worldName));
+            return;
+        }
+
+        Messages.sendMessage(player, "worlds_snapshot_creating", new AbstractMap.SimpleEntry<>("%world%", worldName));
+        worldManager.getColdStorage().whenAvailable(buildWorld, () ->
+                worldManager.getSnapshotStore().snapshot(buildWorld).whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (throwable != null) {
+                        Messages.sendMessage(player, "worlds_snapshot_failed", new AbstractMap.SimpleEntry<>("%world%", worldName));
+                        return;
+                    }
+
+                    Messages.sendMessage(player, "worlds_snapshot_created",
+                            new AbstractMap.SimpleEntry<>("%world%", worldName),
+                            new AbstractMap.SimpleEntry<>("%snapshot%", result.getSnapshotId()),
+                            new AbstractMap.SimpleEntry<>("%objects%", String.valueOf(result.getNewObjects())),
+                            new AbstractMap.SimpleEntry<>("%size%", String.valueOf(result.getNewBytes() / 1024))
+                    );
+                }))
+        );
+    }
+
+    private void restoreSnapshot(Player player, BuildWorld buildWorld, String snapshotId) {
+        WorldSnapshotStore snapshotStore = plugin.getWorldManager().getSnapshotStore();
+        if (!snapshotStore.getSnapshots(worldName).contains(snapshotId)) {
+            Messages.sendMessage(player, "worlds_snapshot_unknown_snapshot", new AbstractMap.SimpleEntry<>("%snapshot%", snapshotId));
+            return;
+        }
+
+        if (buildWorld != null) {
+            World bukkitWorld = buildWorld.getWorld();
+            if (bukkitWorld != null) {
+                if (!bukkitWorld.getPlayers().isEmpty()) {
+                    Messages.sendMessage(player, "worlds_snapshot_restore_players", new AbstractMap.SimpleEntry<>("%world%", worldName));
+                    return;
+                }
+                // Changes are saved, so that the world's current state is included in the snapshot created on unload
+                buildWorld.forceUnload(true);
+                if (buildWorld.getWorld() != null) {
+                    Messages.sendMessage(player, "worlds_snapshot_restore_failed", new AbstractMap.SimpleEntry<>("%world%", worldName));
+                    return;
+                }
+            }
+        } else if (Bukkit.getWorld(worldName) != null) {
+            Messages.sendMessage(player, "worlds_snapshot_restore_players", new AbstractMap.SimpleEntry<>("%world%", worldName));
+            return;
+        }
+
+        Messages.sendMessage(player, "worlds_snapshot_restoring",
+                new AbstractMap.SimpleEntry<>("%world%", worldName),
+                new AbstractMap.SimpleEntry<>("%snapshot%", snapshotId)
+        );
+        snapshotStore.restore(worldName, buildWorld, snapshotId).whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable != null) {
+                Messages.sendMessage(player, "worlds_snapshot_restore_failed", new AbstractMap.SimpleEntry<>("%world%", worldName));
+                return;
+            }
+
+            Messages.sendMessage(player, buildWorld != null ? "worlds_snapshot_restored" : "worlds_snapshot_restored_import",
+                    new AbstractMap.SimpleEntry<>("%world%", worldName),
+                    new AbstractMap.SimpleEntry<>("%snapshot%", snapshotId)
+            );
+        }));
+    }
+
+    @Override
+    public Argument getArgument() {
+        return WorldsTabComplete.WorldsArgument.SNAPSHOT;
+    }
+}
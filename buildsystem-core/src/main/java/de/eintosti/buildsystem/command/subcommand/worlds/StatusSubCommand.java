@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.command.subcommand.worlds;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.Messages;
+import de.eintosti.buildsystem.command.subcommand.Argument;
+import de.eintosti.buildsystem.command.subcommand.SubCommand;
+import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete;
+import de.eintosti.buildsystem.world.BuildWorld;
+import de.eintosti.buildsystem.world.WorldDeletionQueue;
+import de.eintosti.buildsystem.world.WorldImportPipeline;
+import de.eintosti.buildsystem.world.WorldStartupLoader;
+import de.eintosti.buildsystem.world.WorldUnloadScheduler;
+import java.util.AbstractMap;
+import java.util.Locale;
+import org.bukkit.entity.Player;
+
+public class StatusSubCommand implements SubCommand {
+
+    private final BuildSystem plugin;
+
+    public StatusSubCommand(BuildSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        if (!hasPermission(player)) {
+            plugin.sendPermissionMessage(player);
+            return;
+        }
+
+        if (args.length != 1) {
+            Messages.sendMessage(player, "worlds_status_usage");
+            return;
+        }
+
+        boolean idle = true;
+
+        WorldStartupLoader startupLoader = plugin.getWorldManager().getStartupLoader();
+        if (startupLoader.isLoading()) {
+            Messages.sendMessage(player, "worlds_status_startup",
+                    new AbstractMap.SimpleEntry<>("%loaded%", String.valueOf(startupLoader.getLoadedWorlds())),
+                    new AbstractMap.SimpleEntry<>("%total%", String.valueOf(startupLoader.getTotalWorlds()))
+            );
+            idle = false;
+        }
+
+        WorldImportPipeline currentImport = plugin.getWorldManager().getCurrentImport();
+        if (currentImport != null) {
+            Messages.sendMessage(player, "worlds_status_import",
+                    new AbstractMap.SimpleEntry<>("%imported%", String.valueOf(currentImport.getProcessedWorlds())),
+                    new AbstractMap.SimpleEntry<>("%total%", String.valueOf(currentImport.getTotalWorlds())),
+                    new AbstractMap.SimpleEntry<>("%throughput%", String.format(Locale.ROOT, "%.2f", currentImport.getThroughput())),
+                    new AbstractMap.SimpleEntry<>("%eta%", currentImport.getEstimatedSeconds() < 0 ? "?" : String.valueOf(currentImport.getEstimatedSeconds())),
+                    new AbstractMap.SimpleEntry<>("%paused%", currentImport.isPaused() ? Messages.getString("worlds_status_import_paused", player) : "")
+            );
+            idle = false;
+        }
+
+        WorldDeletionQueue deletionQueue = plugin.getWorldManager().getDeletionQueue();
+        String deletingWorld = deletionQueue.getCurrentWorld();
+        if (deletingWorld != null) {
+            Messages.sendMessage(player, "worlds_status_deletion",
+                    new AbstractMap.SimpleEntry<>("%world%", deletingWorld),
+                    new AbstractMap.SimpleEntry<>("%deleted%", String.valueOf(deletionQueue.getDeletedFiles())),
+                    new AbstractMap.SimpleEntry<>("%total%", String.valueOf(deletionQueue.getTotalFiles())),
+                    new AbstractMap.SimpleEntry<>("%queued%", String.valueOf(deletionQueue.getQueuedWorlds()))
+            );
+            idle = false;
+        }
+
+        WorldUnloadScheduler unloadScheduler = plugin.getWorldManager().getUnloadScheduler();
+        BuildWorld nextUnload = unloadScheduler.getNextUnload();
+        if (nextUnload != null) {
+            Messages.sendMessage(player, "worlds_status_unload",
+                    new AbstractMap.SimpleEntry<>("%pending%", String.valueOf(unloadScheduler.getPendingUnloads())),
+                    new AbstractMap.SimpleEntry<>("%world%", nextUnload.getName()),
+                    new AbstractMap.SimpleEntry<>("%seconds%", String.valueOf(unloadScheduler.getSecondsUntilUnload(nextUnload)))
+            );
+            idle = false;
+        }
+
+        if (idle) {
+            Messages.sendMessage(player, "worlds_status_idle");
+        }
+    }
+
+    @Override
+    public Argument getArgument() {
+        return WorldsTabComplete.WorldsArgument.STATUS;
+    }
+}
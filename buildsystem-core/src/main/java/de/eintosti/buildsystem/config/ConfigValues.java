@@ -19,6 +19,7 @@ package de.eintosti.buildsystem.config;
 
 import com.cryptomorin.xseries.XMaterial;
 import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.storage.StorageType;
 import java.io.File;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -46,6 +47,7 @@ public class ConfigValues {
     private XMaterial navigatorItem;
     private XMaterial worldEditWand;
     private Difficulty worldDifficulty;
+    private StorageType storageType;
 
     private boolean archiveChangeGameMode;
     private GameMode archiveWorldGameMode;
@@ -72,14 +74,30 @@ public class ConfigValues {
     private boolean[] worldBuildersEnabled;
     private boolean saveFromDeath;
     private boolean teleportToMapSpawn;
+    private boolean templateLinkRegionFiles;
+    private boolean worldPoolEnabled;
+    private boolean coldStorageEnabled;
+    private boolean compactionEnabled;
+    private boolean snapshotsEnabled;
+    private boolean snapshotOnUnload;
 
     private int sunriseTime;
     private int noonTime;
     private int nightTime;
     private int worldBorderSize;
-    private int importDelay;
+    private int importTickBudget;
+    private int deletionFilesPerSecond;
+    private int worldPoolSize;
+    private int evictionHeapUsage;
+    private int evictionLoadedChunks;
+    private int evictionsPerCheck;
+    private int startupTickBudget;
+    private int coldStorageIdleDays;
+    private int snapshotInterval;
+    private int snapshotsToKeep;
     private int maxPublicWorldAmount;
     private int maxPrivateWorldAmount;
+    private int saveInterval;
 
     private Map<String, String> defaultGameRules;
     private Set<String> blackListedWorldsToUnload;
@@ -156,13 +174,39 @@ public class ConfigValues {
         this.unloadWorlds = config.getBoolean("world.unload.enabled", true);
         this.timeUntilUnload = config.getString("world.unload.time-until-unload", "01:00:00");
         this.blackListedWorldsToUnload = new HashSet<>(config.getStringList("world.unload.blacklisted-worlds"));
+        this.evictionHeapUsage = config.getInt("world.unload.eviction.heap-usage", 90);
+        this.evictionLoadedChunks = config.getInt("world.unload.eviction.loaded-chunks", -1);
+        this.evictionsPerCheck = config.getInt("world.unload.eviction.worlds-per-check", 5);
 
-        this.importDelay = config.getInt("world.import-all.delay", 30);
+        this.importTickBudget = config.getInt("world.import-all.tick-budget", 25);
+
+        this.startupTickBudget = config.getInt("world.startup.tick-budget", 25);
+
+        this.templateLinkRegionFiles = config.getBoolean("world.template.link-region-files", false);
+
+        this.deletionFilesPerSecond = config.getInt("world.delete.files-per-second", 2000);
+
+        this.coldStorageEnabled = config.getBoolean("world.archive-storage.enabled", false);
+        this.coldStorageIdleDays = config.getInt("world.archive-storage.idle-days", 30);
+
+        this.compactionEnabled = config.getBoolean("world.compaction.enabled", false);
+
+        this.snapshotsEnabled = config.getBoolean("world.snapshots.enabled", false);
+        this.snapshotOnUnload = config.getBoolean("world.snapshots.on-unload", true);
+        this.snapshotInterval = config.getInt("world.snapshots.interval", 1440);
+        this.snapshotsToKeep = config.getInt("world.snapshots.keep", 10);
+
+        this.worldPoolEnabled = config.getBoolean("world.pool.enabled", false);
+        this.worldPoolSize = config.getInt("world.pool.size", 2);
 
         this.maxPublicWorldAmount = config.getInt("world.max-amount.public", -1);
         this.maxPrivateWorldAmount = config.getInt("world.max-amount.private", -1);
 
         this.voidBlock = config.getBoolean("world.void-block", true);
+
+        // Storage
+        this.storageType = parseStorageType(config.getString("storage.type"));
+        this.saveInterval = Math.max(1, config.getInt("storage.save-interval", 30));
     }
 
     /**
@@ -182,6 +226,17 @@ public class ConfigValues {
                 .orElse(GameMode.ADVENTURE);
     }
 
+    private StorageType parseStorageType(@Nullable String storageTypeName) {
+        if (storageTypeName == null) {
+            return StorageType.YAML;
+        }
+
+        return Arrays.stream(StorageType.values())
+                .filter(storageType -> storageType.name().equalsIgnoreCase(storageTypeName))
+                .findAny()
+                .orElse(StorageType.YAML);
+    }
+
     private XMaterial parseWorldEditWand() {
         File pluginDir = plugin.getDataFolder().getParentFile();
         File configFile = null;
@@ -275,6 +330,18 @@ public class ConfigValues {
         return unloadWorlds;
     }
 
+    public int getEvictionHeapUsage() {
+        return evictionHeapUsage;
+    }
+
+    public int getEvictionLoadedChunks() {
+        return evictionLoadedChunks;
+    }
+
+    public int getEvictionsPerCheck() {
+        return evictionsPerCheck;
+    }
+
     public boolean isVoidBlock() {
         return voidBlock;
     }
@@ -344,8 +411,64 @@ public class ConfigValues {
         return worldBorderSize;
     }
 
-    public int getImportDelay() {
-        return importDelay;
+    public int getImportTickBudget() {
+        return importTickBudget;
+    }
+
+    public int getStartupTickBudget() {
+        return startupTickBudget;
+    }
+
+    public int getDeletionFilesPerSecond() {
+        return deletionFilesPerSecond;
+    }
+
+    public boolean isColdStorageEnabled() {
+        return coldStorageEnabled;
+    }
+
+    public int getColdStorageIdleDays() {
+        return coldStorageIdleDays;
+    }
+
+    public StorageType getStorageType() {
+        return storageType;
+    }
+
+    public int getSaveInterval() {
+        return saveInterval;
+    }
+
+    public boolean isCompactionEnabled() {
+        return compactionEnabled;
+    }
+
+    public boolean isSnapshotsEnabled() {
+        return snapshotsEnabled;
+    }
+
+    public boolean isSnapshotOnUnload() {
+        return snapshotOnUnload;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public int getSnapshotsToKeep() {
+        return snapshotsToKeep;
+    }
+
+    public boolean isWorldPoolEnabled() {
+        return worldPoolEnabled;
+    }
+
+    public int getWorldPoolSize() {
+        return worldPoolSize;
+    }
+
+    public boolean isTemplateLinkRegionFiles() {
+        return templateLinkRegionFiles;
     }
 
     public int getMaxWorldAmount(boolean privateWorld) {
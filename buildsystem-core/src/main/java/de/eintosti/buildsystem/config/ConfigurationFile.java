@@ -20,6 +20,9 @@ package de.eintosti.buildsystem.config;
 import de.eintosti.buildsystem.BuildSystem;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -31,7 +34,7 @@ public abstract class ConfigurationFile {
 
     public ConfigurationFile(BuildSystem plugin, String fileName) {
         this.file = new File(plugin.getDataFolder(), fileName);
-        this.configuration = YamlConfiguration.loadConfiguration(file);
+        this.configuration = new YamlConfiguration();
         loadFile();
     }
 
@@ -57,6 +60,17 @@ public abstract class ConfigurationFile {
         }
     }
 
+    /**
+     * Saves the configuration to a temporary file first, which then atomically replaces the file, so that the file is never left partially written.
+     *
+     * @throws IOException If the file could not be written
+     */
+    public void saveFileAtomically() throws IOException {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        Files.write(tempFile.toPath(), configuration.saveToString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
     public FileConfiguration getFile() {
         return configuration;
     }
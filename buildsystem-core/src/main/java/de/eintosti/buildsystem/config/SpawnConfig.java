@@ -18,26 +18,10 @@
 package de.eintosti.buildsystem.config;
 
 import de.eintosti.buildsystem.BuildSystem;
-import org.bukkit.Location;
 
 public class SpawnConfig extends ConfigurationFile {
 
     public SpawnConfig(BuildSystem plugin) {
         super(plugin, "spawn.yml");
     }
-
-    public void saveSpawn(Location location) {
-        if (location == null || location.getWorld() == null) {
-            return;
-        }
-
-        getFile().set("spawn", location.getWorld().getName() + ":"
-                + location.getX() + ":"
-                + location.getY() + ":"
-                + location.getZ() + ":"
-                + location.getYaw() + ":"
-                + location.getPitch()
-        );
-        saveFile();
-    }
-}
\ No newline at end of file
+}
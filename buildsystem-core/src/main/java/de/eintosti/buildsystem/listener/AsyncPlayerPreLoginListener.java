@@ -18,6 +18,7 @@
 package de.eintosti.buildsystem.listener;
 
 import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.Messages;
 import de.eintosti.buildsystem.player.BuildPlayer;
 import de.eintosti.buildsystem.player.LogoutLocation;
 import de.eintosti.buildsystem.player.PlayerManager;
@@ -26,8 +27,11 @@ import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.SpawnManager;
 import de.eintosti.buildsystem.world.WorldManager;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 
@@ -49,11 +53,15 @@ public class AsyncPlayerPreLoginListener implements Listener {
     @EventHandler
     public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
         UUID uuid = event.getUniqueId();
-        BuildPlayer buildPlayer = playerManager.getBuildPlayer(uuid);
-        if (buildPlayer == null) {
+        plugin.getProfileResolver().cache(uuid, event.getName());
+        BuildPlayer buildPlayer;
+        try {
+            buildPlayer = playerManager.loadBuildPlayer(uuid);
+        } catch (CompletionException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to load player data of " + event.getName(), e.getCause());
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Messages.getString("player_data_unavailable", null));
             return;
         }
-
         Settings settings = buildPlayer.getSettings();
         if (settings.isSpawnTeleport() && spawnManager.spawnExists()) {
             return;
@@ -71,4 +79,11 @@ public class AsyncPlayerPreLoginListener implements Listener {
             Bukkit.getScheduler().runTask(plugin, () -> buildWorld.load());
         }
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeniedPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            Bukkit.getScheduler().runTask(plugin, () -> playerManager.unloadBuildPlayer(event.getUniqueId()));
+        }
+    }
 }
\ No newline at end of file
@@ -20,44 +20,41 @@ package de.eintosti.buildsystem.listener;
 import com.cryptomorin.xseries.XMaterial;
 import de.eintosti.buildsystem.BuildSystem;
 import de.eintosti.buildsystem.version.util.DirectionUtil;
-import de.eintosti.buildsystem.world.BuildWorld;
-import de.eintosti.buildsystem.world.WorldManager;
-import java.util.List;
-import org.bukkit.World;
+import de.eintosti.buildsystem.world.RedstoneLampIndex;
+import de.eintosti.buildsystem.world.WorldPolicy;
+import de.eintosti.buildsystem.world.WorldPolicyRegistry;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.EntityType;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockExplodeEvent;
 import org.bukkit.event.block.BlockFadeEvent;
 import org.bukkit.event.block.BlockFormEvent;
 import org.bukkit.event.block.BlockFromToEvent;
 import org.bukkit.event.block.BlockGrowEvent;
 import org.bukkit.event.block.BlockPhysicsEvent;
-import org.bukkit.event.block.BlockRedstoneEvent;
 import org.bukkit.event.block.BlockSpreadEvent;
 import org.bukkit.event.block.LeavesDecayEvent;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
-import org.bukkit.event.entity.EntityExplodeEvent;
-import org.bukkit.metadata.MetadataValue;
 
-public class BlockPhysicsListener implements Listener {
+/**
+ * Cancels physics in worlds which have physics disabled. Only registered while such a world is loaded.
+ */
+public class BlockPhysicsListener extends ToggleableListener {
 
-    private final WorldManager worldManager;
+    private final WorldPolicyRegistry policyRegistry;
+    private final RedstoneLampIndex lampIndex;
 
     public BlockPhysicsListener(BuildSystem plugin) {
-        this.worldManager = plugin.getWorldManager();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        super(plugin);
+        this.policyRegistry = plugin.getWorldManager().getPolicyRegistry();
+        this.lampIndex = plugin.getRedstoneLampIndex();
+        policyRegistry.watch(WorldPolicy.PHYSICS, this::setRegistered);
     }
 
     @EventHandler
     public void onBlockPhysics(BlockPhysicsEvent event) {
         Block block = event.getBlock();
-        String worldName = block.getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld == null || buildWorld.getData().physics().get()) {
+        if (!policyRegistry.denies(block.getWorld(), WorldPolicy.PHYSICS)) {
             return;
         }
 
@@ -65,7 +62,7 @@ public class BlockPhysicsListener implements Listener {
         switch (xMaterial) {
             case REDSTONE_BLOCK:
                 for (BlockFace blockFace : DirectionUtil.BLOCK_SIDES) {
-                    if (isCustomRedstoneLamp(block.getRelative(blockFace))) {
+                    if (RedstoneLampListener.isCustomRedstoneLamp(lampIndex, block.getRelative(blockFace))) {
                         event.setCancelled(false);
                         return;
                     }
@@ -86,63 +83,49 @@ public class BlockPhysicsListener implements Listener {
 
     @EventHandler
     public void onLeavesDecay(LeavesDecayEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockFade(BlockFadeEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockForm(BlockFormEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockFromTo(BlockFromToEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockGrow(BlockGrowEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onBlockSpread(BlockSpreadEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().physics().get()) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             event.setCancelled(true);
         }
     }
 
     @EventHandler
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld == null || buildWorld.getData().physics().get()) {
+        if (!policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.PHYSICS)) {
             return;
         }
 
@@ -151,55 +134,4 @@ public class BlockPhysicsListener implements Listener {
             event.getBlock().getState().update(false, false);
         }
     }
-
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onBlockRedstone(BlockRedstoneEvent event) {
-        Block block = event.getBlock();
-        if (isCustomRedstoneLamp(block)) {
-            event.setNewCurrent(15);
-        }
-
-        XMaterial xMaterial = XMaterial.matchXMaterial(block.getType());
-        if (xMaterial != XMaterial.REDSTONE_BLOCK) {
-            return;
-        }
-
-        for (BlockFace blockFace : DirectionUtil.BLOCK_SIDES) {
-            if (isCustomRedstoneLamp(block.getRelative(blockFace))) {
-                event.setNewCurrent(15);
-            }
-        }
-    }
-
-    @EventHandler
-    public void onBlockExplode(BlockExplodeEvent event) {
-        String worldName = event.getBlock().getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld != null && !buildWorld.getData().explosions().get()) {
-            event.setCancelled(true);
-        }
-    }
-
-    @EventHandler
-    public void onEntityExplode(EntityExplodeEvent event) {
-        World world = event.getLocation().getWorld();
-        if (world == null) {
-            return;
-        }
-
-        BuildWorld buildWorld = worldManager.getBuildWorld(world.getName());
-        if (buildWorld != null && !buildWorld.getData().explosions().get()) {
-            event.setCancelled(true);
-        }
-    }
-
-    private boolean isCustomRedstoneLamp(Block block) {
-        List<MetadataValue> metadataValues = block.getMetadata("CustomRedstoneLamp");
-        for (MetadataValue value : metadataValues) {
-            if (value.asBoolean()) {
-                return true;
-            }
-        }
-        return block.getType().name().equals("REDSTONE_LAMP_ON");
-    }
 }
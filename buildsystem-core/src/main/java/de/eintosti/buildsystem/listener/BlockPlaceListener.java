@@ -82,6 +82,9 @@ public class BlockPlaceListener implements Listener {
         String customBlockKey = blockLookup.get(itemMeta.getDisplayName());
         if (customBlockKey != null) {
             plugin.getCustomBlocks().setBlock(event, customBlockKey);
+            if (customBlockKey.equals(CustomBlock.POWERED_REDSTONE_LAMP.getKey())) {
+                plugin.getRedstoneLampIndex().add(event.getBlockPlaced());
+            }
         }
 
         if (isBuildWorld && hadToDisablePhysics) {
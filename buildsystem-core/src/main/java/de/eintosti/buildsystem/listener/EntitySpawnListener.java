@@ -19,22 +19,25 @@ package de.eintosti.buildsystem.listener;
 
 import de.eintosti.buildsystem.BuildSystem;
 import de.eintosti.buildsystem.util.EntityAIManager;
-import de.eintosti.buildsystem.world.BuildWorld;
-import de.eintosti.buildsystem.world.WorldManager;
+import de.eintosti.buildsystem.world.WorldPolicy;
+import de.eintosti.buildsystem.world.WorldPolicyRegistry;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntitySpawnEvent;
 
-public class EntitySpawnListener implements Listener {
+/**
+ * Disables the AI of mobs spawning in worlds which have mob AI disabled. Only registered while such a world is loaded.
+ */
+public class EntitySpawnListener extends ToggleableListener {
 
-    private final WorldManager worldManager;
+    private final WorldPolicyRegistry policyRegistry;
 
     public EntitySpawnListener(BuildSystem plugin) {
-        this.worldManager = plugin.getWorldManager();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        super(plugin);
+        this.policyRegistry = plugin.getWorldManager().getPolicyRegistry();
+        policyRegistry.watch(WorldPolicy.MOB_AI, this::setRegistered);
     }
 
     @EventHandler
@@ -44,8 +47,7 @@ public class EntitySpawnListener implements Listener {
             return;
         }
 
-        BuildWorld buildWorld = worldManager.getBuildWorld(bukkitWorld.getName());
-        if (buildWorld == null || buildWorld.getData().mobAi().get()) {
+        if (!policyRegistry.denies(bukkitWorld, WorldPolicy.MOB_AI)) {
             return;
         }
 
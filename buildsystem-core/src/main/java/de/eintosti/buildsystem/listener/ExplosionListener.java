@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.listener;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.world.WorldPolicy;
+import de.eintosti.buildsystem.world.WorldPolicyRegistry;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+/**
+ * Cancels explosions in worlds which have explosions disabled. Only registered while such a world is loaded.
+ */
+public class ExplosionListener extends ToggleableListener {
+
+    private final WorldPolicyRegistry policyRegistry;
+
+    public ExplosionListener(BuildSystem plugin) {
+        super(plugin);
+        this.policyRegistry = plugin.getWorldManager().getPolicyRegistry();
+        policyRegistry.watch(WorldPolicy.EXPLOSIONS, this::setRegistered);
+    }
+
+    @EventHandler
+    public void onBlockExplode(BlockExplodeEvent event) {
+        if (policyRegistry.denies(event.getBlock().getWorld(), WorldPolicy.EXPLOSIONS)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onEntityExplode(EntityExplodeEvent event) {
+        World world = event.getLocation().getWorld();
+        if (world == null) {
+            return;
+        }
+
+        if (policyRegistry.denies(world, WorldPolicy.EXPLOSIONS)) {
+            event.setCancelled(true);
+        }
+    }
+}
@@ -33,6 +33,8 @@ import de.eintosti.buildsystem.world.data.WorldData;
 import de.eintosti.buildsystem.world.data.WorldStatus;
 import io.papermc.lib.PaperLib;
 import java.util.AbstractMap;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -79,7 +81,14 @@ public class PlayerJoinListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
-        BuildPlayer buildPlayer = playerManager.createBuildPlayer(player);
+        BuildPlayer buildPlayer;
+        try {
+            buildPlayer = playerManager.createBuildPlayer(player);
+        } catch (CompletionException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to load player data of " + player.getName(), e.getCause());
+            player.kickPlayer(Messages.getString("player_data_unavailable", player));
+            return;
+        }
         manageHidePlayer(player, buildPlayer);
         manageSettings(player, buildPlayer.getSettings());
         teleportToCorrectLocation(player, buildPlayer);
@@ -149,7 +158,9 @@ public class PlayerJoinListener implements Listener {
 
         // Hide player from all players who have hidePlayers enabled
         for (Player pl : Bukkit.getOnlinePlayers()) {
-            if (!settingsManager.getSettings(pl).isHidePlayers()) {
+            // Players whose data could not be loaded do not have settings
+            BuildPlayer onlinePlayer = playerManager.getBuildPlayer(pl);
+            if (onlinePlayer == null || !onlinePlayer.getSettings().isHidePlayers()) {
                 continue;
             }
             pl.hidePlayer(player);
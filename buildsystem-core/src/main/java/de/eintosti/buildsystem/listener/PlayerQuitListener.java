@@ -60,7 +60,13 @@ public class PlayerQuitListener implements Listener {
         Player player = event.getPlayer();
         playerManager.closeNavigator(player);
 
-        Settings settings = settingsManager.getSettings(player);
+        // Players whose data could not be loaded are kicked while joining, before a build player has been created for them
+        BuildPlayer buildPlayer = playerManager.getBuildPlayer(player);
+        if (buildPlayer == null) {
+            return;
+        }
+
+        Settings settings = buildPlayer.getSettings();
         if (settings.isNoClip()) {
             plugin.getNoClipManager().stopNoClip(player.getUniqueId());
         }
@@ -73,7 +79,6 @@ public class PlayerQuitListener implements Listener {
             player.getInventory().clear();
         }
 
-        BuildPlayer buildPlayer = playerManager.getBuildPlayer(player);
         buildPlayer.setLogoutLocation(new LogoutLocation(
                 player.getWorld().getName(),
                 player.getLocation()
@@ -84,19 +89,22 @@ public class PlayerQuitListener implements Listener {
         cachedValues.resetInventoryIfPresent(player);
         playerManager.getBuildModePlayers().remove(player.getUniqueId());
 
-        manageHidePlayer(player);
+        manageHidePlayer(player, settings);
+        // Other listeners may still access the player until the event has been handled
+        Bukkit.getScheduler().runTask(plugin, () -> playerManager.unloadBuildPlayer(player.getUniqueId()));
     }
 
     @SuppressWarnings("deprecation")
-    private void manageHidePlayer(Player player) {
+    private void manageHidePlayer(Player player, Settings settings) {
         // Show all hidden players to player
-        if (settingsManager.getSettings(player).isHidePlayers()) {
+        if (settings.isHidePlayers()) {
             Bukkit.getOnlinePlayers().forEach(player::showPlayer);
         }
 
         // Show player to all players who had him/her hidden
         for (Player pl : Bukkit.getOnlinePlayers()) {
-            if (!settingsManager.getSettings(pl).isHidePlayers()) {
+            BuildPlayer onlinePlayer = playerManager.getBuildPlayer(pl);
+            if (onlinePlayer == null || !onlinePlayer.getSettings().isHidePlayers()) {
                 continue;
             }
             pl.showPlayer(player);
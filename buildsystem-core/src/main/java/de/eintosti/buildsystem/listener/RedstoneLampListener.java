@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.listener;
+
+import com.cryptomorin.xseries.XMaterial;
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.version.util.DirectionUtil;
+import de.eintosti.buildsystem.world.RedstoneLampIndex;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+
+public class RedstoneLampListener implements Listener {
+
+    private final RedstoneLampIndex lampIndex;
+
+    public RedstoneLampListener(BuildSystem plugin) {
+        this.lampIndex = plugin.getRedstoneLampIndex();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onBlockRedstone(BlockRedstoneEvent event) {
+        Block block = event.getBlock();
+        if (isCustomRedstoneLamp(lampIndex, block)) {
+            event.setNewCurrent(15);
+        }
+
+        XMaterial xMaterial = XMaterial.matchXMaterial(block.getType());
+        if (xMaterial != XMaterial.REDSTONE_BLOCK) {
+            return;
+        }
+
+        for (BlockFace blockFace : DirectionUtil.BLOCK_SIDES) {
+            if (isCustomRedstoneLamp(lampIndex, block.getRelative(blockFace))) {
+                event.setNewCurrent(15);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        lampIndex.remove(event.getBlock());
+    }
+
+    static boolean isCustomRedstoneLamp(RedstoneLampIndex lampIndex, Block block) {
+        return lampIndex.contains(block) || block.getType().name().equals("REDSTONE_LAMP_ON");
+    }
+}
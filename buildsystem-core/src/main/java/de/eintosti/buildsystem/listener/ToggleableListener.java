@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.listener;
+
+import de.eintosti.buildsystem.BuildSystem;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+/**
+ * A listener which is only registered while it is needed, so that the server does not call its handlers at all otherwise.
+ * <p>
+ * Listeners are unregistered until {@link #setRegistered(boolean)} is first called. Must only be used on the main thread.
+ */
+public abstract class ToggleableListener implements Listener {
+
+    private final BuildSystem plugin;
+    private boolean registered;
+
+    protected ToggleableListener(BuildSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers or unregisters the listener's handlers.
+     *
+     * @param registered Whether the handlers should be registered
+     */
+    public void setRegistered(boolean registered) {
+        if (this.registered == registered) {
+            return;
+        }
+
+        this.registered = registered;
+        if (registered) {
+            plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        } else {
+            HandlerList.unregisterAll(this);
+        }
+    }
+
+    public boolean isRegistered() {
+        return registered;
+    }
+}
@@ -18,28 +18,23 @@
 package de.eintosti.buildsystem.listener;
 
 import de.eintosti.buildsystem.BuildSystem;
-import de.eintosti.buildsystem.config.ConfigValues;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.weather.ThunderChangeEvent;
 import org.bukkit.event.weather.WeatherChangeEvent;
 
-public class WeatherChangeListener implements Listener {
-
-    private final ConfigValues configValues;
+/**
+ * Prevents the weather from changing. Only registered while {@code world.lock-weather} is enabled.
+ */
+public class WeatherChangeListener extends ToggleableListener {
 
     public WeatherChangeListener(BuildSystem plugin) {
-        this.configValues = plugin.getConfigValues();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        super(plugin);
+        setRegistered(plugin.getConfigValues().isLockWeather());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onWeatherChange(WeatherChangeEvent event) {
-        if (!configValues.isLockWeather()) {
-            return;
-        }
-
         if (event.toWeatherState()) {
             event.setCancelled(true);
         }
@@ -47,10 +42,6 @@ public class WeatherChangeListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onThunderChange(ThunderChangeEvent event) {
-        if (!configValues.isLockWeather()) {
-            return;
-        }
-
         if (event.toThunderState()) {
             event.setCancelled(true);
         }
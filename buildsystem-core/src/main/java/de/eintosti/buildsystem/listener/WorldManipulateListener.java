@@ -24,6 +24,8 @@ import de.eintosti.buildsystem.event.world.BuildWorldManipulationEvent;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.Builder;
 import de.eintosti.buildsystem.world.WorldManager;
+import de.eintosti.buildsystem.world.WorldPolicy;
+import de.eintosti.buildsystem.world.WorldPolicyRegistry;
 import de.eintosti.buildsystem.world.data.WorldData;
 import de.eintosti.buildsystem.world.data.WorldStatus;
 import org.bukkit.entity.ArmorStand;
@@ -45,11 +47,13 @@ public class WorldManipulateListener implements Listener {
 
     private final BuildSystem plugin;
     private final WorldManager worldManager;
+    private final WorldPolicyRegistry policyRegistry;
     private final EventDispatcher dispatcher;
 
     public WorldManipulateListener(BuildSystem plugin) {
         this.plugin = plugin;
         this.worldManager = plugin.getWorldManager();
+        this.policyRegistry = worldManager.getPolicyRegistry();
         this.dispatcher = new EventDispatcher(worldManager);
 
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
@@ -71,25 +75,25 @@ public class WorldManipulateListener implements Listener {
             return;
         }
         Player player = (Player) event.getDamager();
-        BuildWorld buildWorld = worldManager.getBuildWorld(player.getWorld().getName());
-        if (buildWorld == null) {
+        WorldPolicy policy = policyRegistry.get(player.getWorld());
+        if (policy == null) {
             return;
         }
 
         if (event.getEntity() instanceof ArmorStand) {
-            manageWorldInteraction(player, event, buildWorld.getData().blockInteractions().get());
+            manageWorldInteraction(player, event, policy, WorldPolicy.BLOCK_INTERACTIONS);
         }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerArmorStandManipulate(PlayerArmorStandManipulateEvent event) {
         Player player = event.getPlayer();
-        BuildWorld buildWorld = worldManager.getBuildWorld(player.getWorld().getName());
-        if (buildWorld == null) {
+        WorldPolicy policy = policyRegistry.get(player.getWorld());
+        if (policy == null) {
             return;
         }
 
-        manageWorldInteraction(player, event, buildWorld.getData().blockInteractions().get());
+        manageWorldInteraction(player, event, policy, WorldPolicy.BLOCK_INTERACTIONS);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -100,15 +104,14 @@ public class WorldManipulateListener implements Listener {
         }
 
         Player player = event.getPlayer();
-        BuildWorld buildWorld = worldManager.getBuildWorld(player.getWorld().getName());
-        if (buildWorld == null) {
+        WorldPolicy policy = policyRegistry.get(player.getWorld());
+        if (policy == null) {
             return;
         }
 
-        WorldData worldData = buildWorld.getData();
-        manageWorldInteraction(player, event, worldData.blockInteractions().get());
+        manageWorldInteraction(player, event, policy, WorldPolicy.BLOCK_INTERACTIONS);
 
-        if (!worldData.physics().get() && event.getClickedBlock() != null) {
+        if (!policy.has(WorldPolicy.PHYSICS) && event.getClickedBlock() != null) {
             if (event.getAction() == Action.PHYSICAL && event.getClickedBlock().getType() == XMaterial.FARMLAND.get()) {
                 event.setCancelled(true);
             }
@@ -122,23 +125,26 @@ public class WorldManipulateListener implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        BuildWorld buildWorld = event.getBuildWorld();
-        WorldData worldData = buildWorld.getData();
+        WorldData worldData = event.getBuildWorld().getData();
+        WorldPolicy policy = policyRegistry.get(player.getWorld());
+        if (policy == null) {
+            return;
+        }
 
-        if (!manageWorldInteraction(player, event, getRelatedWorldSetting(event.getParentEvent(), worldData))) {
+        if (!manageWorldInteraction(player, event, policy, getRelatedWorldSetting(event.getParentEvent()))) {
             worldData.lastEdited().set(System.currentTimeMillis());
             updateStatus(worldData, player);
         }
     }
 
-    private boolean getRelatedWorldSetting(Cancellable event, WorldData data) {
+    private int getRelatedWorldSetting(Cancellable event) {
         if (event instanceof BlockBreakEvent) {
-            return data.blockBreaking().get();
+            return WorldPolicy.BLOCK_BREAKING;
         }
         if (event instanceof BlockPlaceEvent) {
-            return data.blockPlacement().get();
+            return WorldPolicy.BLOCK_PLACEMENT;
         }
-        return data.blockInteractions().get();
+        return WorldPolicy.BLOCK_INTERACTIONS;
     }
 
 
@@ -159,32 +165,33 @@ public class WorldManipulateListener implements Listener {
      *     <li>The player has used {@code /build} to enter build-mode.</li>
      * </ul>
      *
-     * @param player the player who manipulated the world
-     * @param event  the event which was called by the world manipulation
+     * @param player       the player who manipulated the world
+     * @param event        the event which was called by the world manipulation
+     * @param policy       the policy of the world the player is in
+     * @param worldSetting the {@link WorldPolicy} flag of the setting which allows the event
      * @return if the event called when the player performs an action was cancelled
      */
-    private boolean manageWorldInteraction(Player player, Event event, boolean worldSetting) {
-        String worldName = player.getWorld().getName();
-        BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
-        if (buildWorld == null) {
+    private boolean manageWorldInteraction(Player player, Event event, WorldPolicy policy, int worldSetting) {
+        // Nothing can be restricted, so the permission checks are skipped
+        if (policy.has(worldSetting) && !policy.has(WorldPolicy.ARCHIVE) && !policy.has(WorldPolicy.BUILDERS_ENABLED)) {
             return false;
         }
 
-        if (disableArchivedWorlds(buildWorld, player, event)) {
+        if (disableArchivedWorlds(policy, player, event)) {
             return true;
         }
-        if (checkWorldSettings(player, event, worldSetting)) {
+        if (checkWorldSettings(player, event, policy.has(worldSetting))) {
             return true;
         }
-        return checkBuilders(buildWorld, player, event);
+        return checkBuilders(policy, player, event);
     }
 
-    private boolean disableArchivedWorlds(BuildWorld buildWorld, Player player, Event event) {
+    private boolean disableArchivedWorlds(WorldPolicy policy, Player player, Event event) {
         if (worldManager.canBypassBuildRestriction(player) || player.hasPermission("buildsystem.bypass.archive")) {
             return false;
         }
 
-        if (buildWorld.getData().status().get() == WorldStatus.ARCHIVE) {
+        if (policy.has(WorldPolicy.ARCHIVE)) {
             ((Cancellable) event).setCancelled(true);
             denyPlayerInteraction(event);
             return true;
@@ -207,16 +214,21 @@ public class WorldManipulateListener implements Listener {
         return false;
     }
 
-    private boolean checkBuilders(BuildWorld buildWorld, Player player, Event event) {
+    private boolean checkBuilders(WorldPolicy policy, Player player, Event event) {
+        if (!policy.has(WorldPolicy.BUILDERS_ENABLED)) {
+            return false;
+        }
+
         if (worldManager.canBypassBuildRestriction(player) || player.hasPermission("buildsystem.bypass.builders")) {
             return false;
         }
 
+        BuildWorld buildWorld = policy.getBuildWorld();
         if (buildWorld.isCreator(player)) {
             return false;
         }
 
-        if (buildWorld.getData().buildersEnabled().get() && !buildWorld.isBuilder(player)) {
+        if (!buildWorld.isBuilder(player)) {
             ((Cancellable) event).setCancelled(true);
             denyPlayerInteraction(event);
             return true;
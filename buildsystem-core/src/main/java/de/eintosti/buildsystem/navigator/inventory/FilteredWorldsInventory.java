@@ -32,7 +32,6 @@ import de.eintosti.buildsystem.util.PaginatedInventory;
 import de.eintosti.buildsystem.util.PlayerChatInput;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.WorldManager;
-import de.eintosti.buildsystem.world.data.WorldData;
 import de.eintosti.buildsystem.world.data.WorldStatus;
 import de.eintosti.buildsystem.world.modification.CreateInventory;
 import java.util.AbstractMap;
@@ -97,11 +96,20 @@ public class FilteredWorldsInventory extends PaginatedInventory implements Liste
      * @return The amount of worlds
      */
     private int numOfWorlds(Player player) {
-        return (int) worldManager.getBuildWorlds().stream()
+        return (int) getWorlds().stream()
                 .filter(buildWorld -> isValidWorld(player, buildWorld))
                 .count();
     }
 
+    /**
+     * Gets the worlds which have the visibility and one of the statuses shown in this inventory.
+     *
+     * @return The worlds
+     */
+    private List<BuildWorld> getWorlds() {
+        return worldManager.getWorldIndex().getWorlds(visibility, validStatus);
+    }
+
     /**
      * Gets the visibility of the worlds that will be displayed.
      *
@@ -137,8 +145,7 @@ public class FilteredWorldsInventory extends PaginatedInventory implements Liste
         }
 
         int columnWorld = 9, maxColumnWorld = 44;
-        for (BuildWorld buildWorld : inventoryUtils.getDisplayOrder(worldManager, plugin.getSettingsManager()
-                .getSettings(player))) {
+        for (BuildWorld buildWorld : inventoryUtils.getDisplayOrder(getWorlds(), plugin.getSettingsManager().getSettings(player))) {
             if (isValidWorld(player, buildWorld)) {
                 inventoryUtils.addWorldItem(player, inventory, columnWorld++, buildWorld);
             }
@@ -179,21 +186,13 @@ public class FilteredWorldsInventory extends PaginatedInventory implements Liste
      *   <li>Has the player been added as a builder?</li>
      *   <li>Does the player have the permission to see the world?</li>
      * </ul>
+     * The visibility and status of the world are not checked, as only {@link #getWorlds() matching worlds} are passed to this method.
      *
      * @param player     The player who the world will be shown to
      * @param buildWorld The world to show
      * @return {@code true} if the world should be shown to the player in the navigator, {@code false} otherwise
      */
     private boolean isValidWorld(Player player, BuildWorld buildWorld) {
-        WorldData worldData = buildWorld.getData();
-        if (!worldManager.isCorrectVisibility(worldData.privateWorld().get(), visibility)) {
-            return false;
-        }
-
-        if (!validStatus.contains(worldData.status().get())) {
-            return false;
-        }
-
         if (!worldManager.canEnter(player, buildWorld)) {
             return false;
         }
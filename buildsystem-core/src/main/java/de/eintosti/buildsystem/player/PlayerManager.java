@@ -24,7 +24,6 @@ import com.cryptomorin.xseries.messages.ActionBar;
 import de.eintosti.buildsystem.BuildSystem;
 import de.eintosti.buildsystem.Messages;
 import de.eintosti.buildsystem.config.ConfigValues;
-import de.eintosti.buildsystem.config.PlayersConfig;
 import de.eintosti.buildsystem.navigator.inventory.FilteredWorldsInventory.Visibility;
 import de.eintosti.buildsystem.navigator.settings.NavigatorInventoryType;
 import de.eintosti.buildsystem.navigator.settings.NavigatorType;
@@ -34,20 +33,23 @@ import de.eintosti.buildsystem.navigator.settings.WorldSort;
 import de.eintosti.buildsystem.settings.DesignColor;
 import de.eintosti.buildsystem.settings.Settings;
 import de.eintosti.buildsystem.settings.SettingsManager;
+import de.eintosti.buildsystem.storage.StorageManager;
 import de.eintosti.buildsystem.util.InventoryUtils;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.WorldManager;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
@@ -63,21 +65,45 @@ public class PlayerManager {
     private static final double MIN_HEIGHT = -0.16453003708696978;
     private static final double MAX_HEIGHT = 0.16481381407766063;
 
+    private static final int OFFLINE_CACHE_SIZE = 500;
+
     private final BuildSystem plugin;
-    private final PlayersConfig playersConfig;
+    private final StorageManager storageManager;
     private final ConfigValues configValues;
 
+    /**
+     * Players which are online or currently logging in.
+     */
     private final Map<UUID, BuildPlayer> buildPlayers;
+    /**
+     * Players who recently disconnected, least recently used first, so that rejoining does not require loading them again.
+     */
+    private final Map<UUID, BuildPlayer> offlinePlayers;
+    /**
+     * The serialized form of each loaded player as of the last save, used to only save players which have changed.
+     */
+    private final Map<UUID, Map<String, Object>> savedPlayers;
 
     private final Set<Player> openNavigator;
     private final Set<UUID> buildModePlayers;
 
     public PlayerManager(BuildSystem plugin) {
         this.plugin = plugin;
-        this.playersConfig = new PlayersConfig(plugin);
+        this.storageManager = plugin.getStorageManager();
         this.configValues = plugin.getConfigValues();
 
-        this.buildPlayers = new HashMap<>();
+        this.savedPlayers = new ConcurrentHashMap<>();
+        this.buildPlayers = new ConcurrentHashMap<>();
+        this.offlinePlayers = Collections.synchronizedMap(new LinkedHashMap<UUID, BuildPlayer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, BuildPlayer> eldest) {
+                if (size() <= OFFLINE_CACHE_SIZE) {
+                    return false;
+                }
+                savedPlayers.remove(eldest.getKey());
+                return true;
+            }
+        });
 
         this.openNavigator = new HashSet<>();
         this.buildModePlayers = new HashSet<>();
@@ -85,26 +111,91 @@ public class PlayerManager {
         initEntityChecker();
     }
 
-    public BuildPlayer createBuildPlayer(UUID uuid, Settings settings) {
-        BuildPlayer buildPlayer = this.buildPlayers.getOrDefault(uuid, new BuildPlayer(uuid, settings));
-        this.buildPlayers.put(uuid, buildPlayer);
+    public BuildPlayer createBuildPlayer(Player player) {
+        return loadBuildPlayer(player.getUniqueId());
+    }
+
+    /**
+     * Loads the player with the given uuid, unless they are already loaded. If the player has to be read from storage, this blocks until they have been read, so it should
+     * be called asynchronously where possible, i.e. in {@link org.bukkit.event.player.AsyncPlayerPreLoginEvent}.
+     *
+     * @param uuid The player's uuid
+     * @return The loaded player
+     * @throws CompletionException If the player could not be read from storage, in which case the player must not be allowed to change their settings, as saving them
+     *                             would overwrite the stored ones
+     */
+    public BuildPlayer loadBuildPlayer(UUID uuid) {
+        BuildPlayer buildPlayer = this.buildPlayers.get(uuid);
+        if (buildPlayer != null) {
+            return buildPlayer;
+        }
+
+        buildPlayer = this.offlinePlayers.remove(uuid);
+        if (buildPlayer == null) {
+            buildPlayer = readBuildPlayer(uuid);
+        }
+
+        BuildPlayer previous = this.buildPlayers.putIfAbsent(uuid, buildPlayer);
+        return previous != null ? previous : buildPlayer;
+    }
+
+    private BuildPlayer readBuildPlayer(UUID uuid) {
+        ConfigurationSection configuration = storageManager.supply(backend -> backend.loadPlayer(uuid)).join();
+
+        BuildPlayer buildPlayer;
+        if (configuration == null) {
+            buildPlayer = new BuildPlayer(uuid, new Settings());
+        } else {
+            buildPlayer = new BuildPlayer(uuid, loadSettings(configuration, "settings."));
+            buildPlayer.setLogoutLocation(loadLogoutLocation(configuration, "logout-location"));
+        }
+
+        // New players are only saved once they have changed
+        this.savedPlayers.put(uuid, buildPlayer.serialize());
         return buildPlayer;
     }
 
-    public BuildPlayer createBuildPlayer(Player player) {
-        return createBuildPlayer(player.getUniqueId(), new Settings());
+    /**
+     * Saves the player with the given uuid and moves them to the cache of offline players, unless they are online again.
+     *
+     * @param uuid The player's uuid
+     */
+    public void unloadBuildPlayer(UUID uuid) {
+        if (Bukkit.getPlayer(uuid) != null) {
+            return;
+        }
+
+        BuildPlayer buildPlayer = this.buildPlayers.remove(uuid);
+        if (buildPlayer == null) {
+            return;
+        }
+
+        savePlayers(Collections.singleton(buildPlayer));
+        this.offlinePlayers.put(uuid, buildPlayer);
     }
 
+    /**
+     * Gets all players which are online or currently logging in.
+     *
+     * @return The loaded players
+     */
     public Collection<BuildPlayer> getBuildPlayers() {
         return this.buildPlayers.values();
     }
 
+    /**
+     * Gets the player with the given uuid, if they are online or have recently been online.
+     *
+     * @param uuid The player's uuid
+     * @return The player, or {@code null} if the player is not loaded
+     */
     public BuildPlayer getBuildPlayer(UUID uuid) {
-        return this.buildPlayers.get(uuid);
+        BuildPlayer buildPlayer = this.buildPlayers.get(uuid);
+        return buildPlayer != null ? buildPlayer : this.offlinePlayers.get(uuid);
     }
 
     public BuildPlayer getBuildPlayer(Player player) {
-        return this.buildPlayers.get(player.getUniqueId());
+        return getBuildPlayer(player.getUniqueId());
     }
 
     @Nullable
@@ -387,28 +478,25 @@ public class PlayerManager {
     }
 
     public void save() {
-        playersConfig.savePlayers(getBuildPlayers());
+        savePlayers(getBuildPlayers());
     }
 
-    public void load() {
-        FileConfiguration configuration = playersConfig.getFile();
-        ConfigurationSection configurationSection = configuration.getConfigurationSection("players");
-        if (configurationSection == null) {
-            return;
-        }
-
-        Set<String> uuids = configurationSection.getKeys(false);
-        uuids.forEach(uuid -> {
-            BuildPlayer buildPlayer = createBuildPlayer(
-                    UUID.fromString(uuid),
-                    loadSettings(configuration, "players." + uuid + ".settings.")
-            );
-            buildPlayer.setLogoutLocation(loadLogoutLocation(configuration, "players." + uuid + ".logout-location"));
+    private void savePlayers(Collection<BuildPlayer> buildPlayers) {
+        Map<String, Object> changedPlayers = new LinkedHashMap<>();
+        buildPlayers.forEach(buildPlayer -> {
+            Map<String, Object> serialized = buildPlayer.serialize();
+            if (!serialized.equals(savedPlayers.put(buildPlayer.getUniqueId(), serialized))) {
+                changedPlayers.put(buildPlayer.getUniqueId().toString(), serialized);
+            }
         });
+
+        if (!changedPlayers.isEmpty()) {
+            storageManager.submit(backend -> backend.savePlayers(changedPlayers));
+        }
     }
 
     @Nullable
-    private LogoutLocation loadLogoutLocation(FileConfiguration configuration, String pathPrefix) {
+    private LogoutLocation loadLogoutLocation(ConfigurationSection configuration, String pathPrefix) {
         String location = configuration.getString(pathPrefix);
         if (location == null || location.trim().equals("")) {
             return null;
@@ -429,7 +517,7 @@ public class PlayerManager {
         return new LogoutLocation(worldName, x, y, z, yaw, pitch);
     }
 
-    private Settings loadSettings(FileConfiguration configuration, String pathPrefix) {
+    private Settings loadSettings(ConfigurationSection configuration, String pathPrefix) {
         NavigatorType navigatorType = NavigatorType.valueOf(configuration.getString(pathPrefix + "type"));
         DesignColor glassColor = DesignColor.matchColor(configuration.getString(pathPrefix + "glass"));
         WorldDisplay worldDisplay = loadWorldDisplay(configuration, pathPrefix + "world-display.");
@@ -452,7 +540,7 @@ public class PlayerManager {
         );
     }
 
-    private WorldDisplay loadWorldDisplay(FileConfiguration configuration, String pathPrefix) {
+    private WorldDisplay loadWorldDisplay(ConfigurationSection configuration, String pathPrefix) {
         WorldSort worldSort = WorldSort.matchWorldSort(configuration.getString(
                 pathPrefix + "sort", WorldSort.NAME_A_TO_Z.name()));
         WorldFilter.Mode filterMode = WorldFilter.Mode.valueOf(configuration.getString(
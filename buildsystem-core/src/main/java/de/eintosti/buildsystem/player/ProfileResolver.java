@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.player;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Resolves player names to unique ids and vice versa without blocking the calling thread.
+ * <p>
+ * All resolved profiles, as well as the profiles of players who log in, are kept in a cache which is persisted to {@code profiles.cache}, so that lookups can be answered
+ * synchronously from the cache. Profiles which are not cached are resolved in batches on a separate thread: requests which are made within {@value #BATCH_DELAY}
+ * milliseconds of each other are looked up together, and concurrent requests for the same profile share a single lookup.
+ */
+public class ProfileResolver {
+
+    private static final long BATCH_DELAY = 50;
+    private static final long SAVE_INTERVAL = 5;
+    private static final String SEPARATOR = ",";
+
+    private final BuildSystem plugin;
+    private final Path file;
+    private final ScheduledExecutorService resolveExecutor;
+
+    private final Map<UUID, String> namesById;
+    private final Map<String, UUID> idsByName;
+    private final Map<String, CompletableFuture<UUID>> pendingNames;
+    private final Map<UUID, CompletableFuture<String>> pendingIds;
+    private final Object saveLock = new Object();
+
+    private volatile boolean changed;
+
+    public ProfileResolver(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "profiles.cache").toPath();
+        this.resolveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-ProfileResolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.namesById = new ConcurrentHashMap<>();
+        this.idsByName = new ConcurrentHashMap<>();
+        this.pendingNames = new HashMap<>();
+        this.pendingIds = new HashMap<>();
+
+        load();
+        resolveExecutor.scheduleWithFixedDelay(this::save, SAVE_INTERVAL, SAVE_INTERVAL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Adds the given profile to the cache, replacing any previous name of the player.
+     *
+     * @param uuid The uuid of the player
+     * @param name The name of the player
+     */
+    public void cache(UUID uuid, String name) {
+        String previousName = namesById.put(uuid, name);
+        if (name.equals(previousName)) {
+            return;
+        }
+
+        if (previousName != null) {
+            idsByName.remove(previousName.toLowerCase(Locale.ROOT), uuid);
+        }
+        idsByName.put(name.toLowerCase(Locale.ROOT), uuid);
+        this.changed = true;
+    }
+
+    /**
+     * Gets the uuid of the player with the given name, if it has been cached. Never performs a lookup.
+     *
+     * @param name The name of the player
+     * @return The uuid, or {@code null} if the player is not cached
+     */
+    @Nullable
+    public UUID getCachedUniqueId(String name) {
+        return idsByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the name of the player with the given uuid, if it has been cached. Never performs a lookup.
+     *
+     * @param uuid The uuid of the player
+     * @return The name, or {@code null} if the player is not cached
+     */
+    @Nullable
+    public String getCachedName(UUID uuid) {
+        return namesById.get(uuid);
+    }
+
+    /**
+     * Resolves the uuid of the player with the given name asynchronously.
+     *
+     * @param name The name of the player
+     * @return A future which is completed with the uuid, or with {@code null} if the player could not be resolved
+     */
+    public CompletableFuture<UUID> resolveUniqueId(String name) {
+        UUID cached = getCachedUniqueId(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        synchronized (this) {
+            if (pendingNames.isEmpty() && pendingIds.isEmpty()) {
+                resolveExecutor.schedule(this::resolvePending, BATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
+            return pendingNames.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Resolves the name of the player with the given uuid asynchronously.
+     *
+     * @param uuid The uuid of the player
+     * @return A future which is completed with the name, or with {@code null} if the player could not be resolved
+     */
+    public CompletableFuture<String> resolveName(UUID uuid) {
+        String cached = getCachedName(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        synchronized (this) {
+            if (pendingNames.isEmpty() && pendingIds.isEmpty()) {
+                resolveExecutor.schedule(this::resolvePending, BATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
+            return pendingIds.computeIfAbsent(uuid, key -> new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Resolves the uuid of the player with the given name and passes it to the given action on the main thread. If the uuid is cached, the action is run immediately.
+     *
+     * @param name   The name of the player
+     * @param action The action to run with the uuid, or with {@code null} if the player could not be resolved
+     */
+    public void resolveUniqueId(String name, Consumer<UUID> action) {
+        UUID cached = getCachedUniqueId(name);
+        if (cached != null) {
+            action.accept(cached);
+            return;
+        }
+
+        resolveUniqueId(name).whenComplete((uuid, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> action.accept(uuid)));
+    }
+
+    /**
+     * Writes the cache to disk and stops resolving profiles. Requests which are still pending are completed with {@code null}.
+     */
+    public void close() {
+        resolveExecutor.shutdownNow();
+        try {
+            resolveExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            pendingNames.values().forEach(future -> future.complete(null));
+            pendingIds.values().forEach(future -> future.complete(null));
+            pendingNames.clear();
+            pendingIds.clear();
+        }
+        save();
+    }
+
+    /**
+     * Gets whether the given player belongs to an actual profile rather than being the fallback which is returned for unknown names.
+     *
+     * @param offlinePlayer The player to check
+     * @return {@code true} if the player has joined before or has an online mode uuid, otherwise {@code false}
+     */
+    private boolean isKnownProfile(OfflinePlayer offlinePlayer) {
+        return offlinePlayer.isOnline() || offlinePlayer.hasPlayedBefore() || offlinePlayer.getUniqueId().version() == 4;
+    }
+
+    @SuppressWarnings("deprecation")
+    private void resolvePending() {
+        Map<String, CompletableFuture<UUID>> names;
+        Map<UUID, CompletableFuture<String>> ids;
+        synchronized (this) {
+            names = new HashMap<>(pendingNames);
+            ids = new HashMap<>(pendingIds);
+        }
+
+        names.forEach((name, future) -> {
+            UUID uuid = null;
+            try {
+                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(name);
+                // Unknown names resolve to the offline mode uuid, which must not be cached
+                if (isKnownProfile(offlinePlayer)) {
+                    uuid = offlinePlayer.getUniqueId();
+                    cache(uuid, offlinePlayer.getName() != null ? offlinePlayer.getName() : name);
+                }
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Unable to resolve the uuid of " + name, e);
+            }
+            future.complete(uuid);
+        });
+
+        ids.forEach((uuid, future) -> {
+            String name = null;
+            try {
+                name = Bukkit.getOfflinePlayer(uuid).getName();
+                if (name != null) {
+                    cache(uuid, name);
+                }
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Unable to resolve the name of " + uuid, e);
+            }
+            future.complete(name);
+        });
+
+        synchronized (this) {
+            pendingNames.keySet().removeAll(names.keySet());
+            pendingIds.keySet().removeAll(ids.keySet());
+            // Requests made while this batch was resolved are picked up by the next one
+            if (!pendingNames.isEmpty() || !pendingIds.isEmpty()) {
+                resolveExecutor.schedule(this::resolvePending, BATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (!names.isEmpty() || !ids.isEmpty()) {
+            plugin.getLogger().fine("Resolved " + (names.size() + ids.size()) + " profiles");
+        }
+        save();
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(SEPARATOR);
+                if (parts.length != 2) {
+                    continue;
+                }
+
+                try {
+                    UUID uuid = UUID.fromString(parts[0]);
+                    namesById.put(uuid, parts[1]);
+                    idsByName.put(parts[1].toLowerCase(Locale.ROOT), uuid);
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void save() {
+        synchronized (saveLock) {
+            if (!changed) {
+                return;
+            }
+            this.changed = false;
+
+            List<String> lines = new ArrayList<>(namesById.size());
+            namesById.forEach((uuid, name) -> lines.add(uuid + SEPARATOR + name));
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                this.changed = true;
+                e.printStackTrace();
+            }
+        }
+    }
+}
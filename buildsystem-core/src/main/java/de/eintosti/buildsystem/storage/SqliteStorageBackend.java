@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores worlds, players and the spawn in an embedded SQLite database.
+ * <p>
+ * Every world and player is a row keyed by its name or uuid, which holds the entry's serialized form as YAML. Saving only upserts the rows which have changed, batched into a
+ * single transaction. The SQLite driver is provided by the server.
+ */
+public class SqliteStorageBackend implements StorageBackend {
+
+    private static final String WORLDS_TABLE = "worlds";
+    private static final String PLAYERS_TABLE = "players";
+    private static final String PROPERTIES_TABLE = "properties";
+    private static final String SPAWN_PROPERTY = "spawn";
+    private static final String WORLDS_REVISION_PROPERTY = "worlds-revision";
+
+    private final Connection connection;
+
+    public SqliteStorageBackend(File databaseFile) throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + WORLDS_TABLE + " (id TEXT PRIMARY KEY, data TEXT NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + PLAYERS_TABLE + " (id TEXT PRIMARY KEY, data TEXT NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS " + PROPERTIES_TABLE + " (id TEXT PRIMARY KEY, data TEXT NOT NULL)");
+            }
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Unable to open " + databaseFile.getName(), e);
+        }
+    }
+
+    /**
+     * Gets whether the database does not contain any worlds, players or a spawn yet.
+     *
+     * @return {@code true} if the database is empty, otherwise {@code false}
+     * @throws IOException If the database could not be read
+     */
+    public boolean isEmpty() throws IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT"
+                     + " (SELECT COUNT(*) FROM " + WORLDS_TABLE + ")"
+                     + " + (SELECT COUNT(*) FROM " + PLAYERS_TABLE + ")"
+                     + " + (SELECT COUNT(*) FROM " + PROPERTIES_TABLE + ")")) {
+            return resultSet.next() && resultSet.getLong(1) == 0;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public ConfigurationSection loadWorlds() throws IOException {
+        return loadTable(WORLDS_TABLE, "worlds");
+    }
+
+    @Override
+    public void saveWorlds(Map<String, Object> worlds, Set<String> removedWorlds) throws IOException {
+        saveTable(WORLDS_TABLE, worlds, removedWorlds, true);
+    }
+
+    @Override
+    public String getWorldsFingerprint() throws IOException {
+        String revision = loadProperty(WORLDS_REVISION_PROPERTY);
+        return revision != null ? revision : "";
+    }
+
+    @Override
+    public ConfigurationSection loadPlayers() throws IOException {
+        return loadTable(PLAYERS_TABLE, "players");
+    }
+
+    @Override
+    @Nullable
+    public ConfigurationSection loadPlayer(UUID uuid) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT data FROM " + PLAYERS_TABLE + " WHERE id = ?")) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+
+                YamlConfiguration player = new YamlConfiguration();
+                player.loadFromString(resultSet.getString(1));
+                return player;
+            }
+        } catch (SQLException | InvalidConfigurationException e) {
+            throw new IOException("Unable to load player " + uuid, e);
+        }
+    }
+
+    @Override
+    public void savePlayers(Map<String, Object> players) throws IOException {
+        saveTable(PLAYERS_TABLE, players, Collections.emptySet(), false);
+    }
+
+    @Override
+    @Nullable
+    public String loadSpawn() throws IOException {
+        return loadProperty(SPAWN_PROPERTY);
+    }
+
+    @Override
+    public void saveSpawn(@Nullable String spawn) throws IOException {
+        String sql = spawn != null
+                ? "INSERT OR REPLACE INTO " + PROPERTIES_TABLE + " (id, data) VALUES (?, ?)"
+                : "DELETE FROM " + PROPERTIES_TABLE + " WHERE id = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, SPAWN_PROPERTY);
+            if (spawn != null) {
+                statement.setString(2, spawn);
+            }
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Nullable
+    private String loadProperty(String property) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT data FROM " + PROPERTIES_TABLE + " WHERE id = ?")) {
+            statement.setString(1, property);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private ConfigurationSection loadTable(String table, String section) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, data FROM " + table)) {
+            while (resultSet.next()) {
+                YamlConfiguration row = new YamlConfiguration();
+                row.loadFromString(resultSet.getString(2));
+                configuration.createSection(section + "." + resultSet.getString(1), row.getValues(false));
+            }
+        } catch (SQLException | InvalidConfigurationException e) {
+            throw new IOException("Unable to load " + table, e);
+        }
+        return configuration;
+    }
+
+    /**
+     * Removes and upserts the given rows in a single transaction.
+     *
+     * @param updateRevision Whether to change the revision of the worlds, which is used as their fingerprint
+     */
+    private void saveTable(String table, Map<String, Object> rows, Set<String> removedRows, boolean updateRevision) throws IOException {
+        if (rows.isEmpty() && removedRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE id = ?");
+                 PreparedStatement upsert = connection.prepareStatement("INSERT OR REPLACE INTO " + table + " (id, data) VALUES (?, ?)")) {
+                for (String key : removedRows) {
+                    delete.setString(1, key);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+
+                for (Map.Entry<String, Object> row : rows.entrySet()) {
+                    upsert.setString(1, row.getKey());
+                    upsert.setString(2, serialize(row.getValue()));
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+
+                if (updateRevision) {
+                    try (PreparedStatement revision = connection.prepareStatement("INSERT OR REPLACE INTO " + PROPERTIES_TABLE + " (id, data) VALUES (?, ?)")) {
+                        revision.setString(1, WORLDS_REVISION_PROPERTY);
+                        revision.setString(2, UUID.randomUUID().toString());
+                        revision.executeUpdate();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Unable to save " + table, e);
+        }
+    }
+
+    private String serialize(Object value) {
+        Map<?, ?> values = value instanceof ConfigurationSection
+                ? ((ConfigurationSection) value).getValues(false)
+                : (Map<?, ?>) value;
+
+        YamlConfiguration row = new YamlConfiguration();
+        values.forEach((key, entry) -> row.set(String.valueOf(key), entry));
+        return row.saveToString();
+    }
+}
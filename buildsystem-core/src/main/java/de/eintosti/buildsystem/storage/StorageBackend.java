@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persists worlds, players and the spawn.
+ * <p>
+ * Worlds and players are loaded into a configuration with the same layout as {@code worlds.yml} and {@code players.yml}, so they can be parsed the same way regardless of
+ * the backend. Saving only receives the entries which have changed since the last save. All methods are called from the storage thread of the {@link StorageManager}.
+ */
+public interface StorageBackend {
+
+    /**
+     * Loads all worlds.
+     *
+     * @return A configuration containing each world's serialized form at {@code worlds.<name>}
+     * @throws IOException If the worlds could not be read
+     */
+    ConfigurationSection loadWorlds() throws IOException;
+
+    /**
+     * Removes and updates the given worlds. Removals are applied first, so a name can be removed and saved again in the same call.
+     *
+     * @param worlds        The serialized form of each changed world, by name
+     * @param removedWorlds The names of the worlds to remove
+     * @throws IOException If the worlds could not be written
+     */
+    void saveWorlds(Map<String, Object> worlds, Set<String> removedWorlds) throws IOException;
+
+    /**
+     * Loads a single player without reading any other player.
+     *
+     * @param uuid The uuid of the player
+     * @return The player's serialized form, or {@code null} if the player has never been saved
+     * @throws IOException If the player could not be read
+     */
+    @Nullable
+    ConfigurationSection loadPlayer(UUID uuid) throws IOException;
+
+    /**
+     * Gets a fingerprint of the stored worlds, which changes whenever the worlds are saved. Computing the fingerprint does not require the worlds to be loaded.
+     *
+     * @return The fingerprint
+     * @throws IOException If the fingerprint could not be computed
+     */
+    String getWorldsFingerprint() throws IOException;
+
+    /**
+     * Loads all players. This is only used when migrating between backends.
+     *
+     * @return A configuration containing each player's serialized form at {@code players.<uuid>}
+     * @throws IOException If the players could not be read
+     */
+    ConfigurationSection loadPlayers() throws IOException;
+
+    /**
+     * Updates the given players.
+     *
+     * @param players The serialized form of each changed player, by uuid
+     * @throws IOException If the players could not be written
+     */
+    void savePlayers(Map<String, Object> players) throws IOException;
+
+    /**
+     * Loads the spawn.
+     *
+     * @return The spawn in the format {@code world:x:y:z:yaw:pitch}, or {@code null} if no spawn is set
+     * @throws IOException If the spawn could not be read
+     */
+    @Nullable
+    String loadSpawn() throws IOException;
+
+    /**
+     * Sets the spawn.
+     *
+     * @param spawn The spawn in the format {@code world:x:y:z:yaw:pitch}, or {@code null} to remove it
+     * @throws IOException If the spawn could not be written
+     */
+    void saveSpawn(@Nullable String spawn) throws IOException;
+
+    /**
+     * Releases all resources held by the backend. No other method may be called afterward.
+     */
+    void close();
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Owns the {@link StorageBackend} selected in the config and the thread which all reads and writes are performed on.
+ * <p>
+ * Because there is only a single storage thread, operations are performed in the order they were submitted, and a load always sees the result of every save submitted
+ * before it.
+ */
+public class StorageManager {
+
+    private final BuildSystem plugin;
+    private final StorageBackend backend;
+    private final ExecutorService storageExecutor;
+
+    public StorageManager(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.storageExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-Storage");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.backend = createBackend(plugin.getConfigValues().getStorageType());
+    }
+
+    private StorageBackend createBackend(StorageType storageType) {
+        if (storageType == StorageType.SQLITE) {
+            try {
+                SqliteStorageBackend sqliteBackend = new SqliteStorageBackend(new File(plugin.getDataFolder(), "storage.db"));
+                migrateFromYaml(sqliteBackend);
+                return sqliteBackend;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to open SQLite storage, falling back to YAML", e);
+            }
+        }
+        return new YamlStorageBackend(plugin);
+    }
+
+    /**
+     * Copies the existing YAML files into a newly created database, once. The files themselves are kept, so that switching back to YAML is possible.
+     */
+    private void migrateFromYaml(SqliteStorageBackend sqliteBackend) throws IOException {
+        File dataFolder = plugin.getDataFolder();
+        boolean hasYamlFiles = new File(dataFolder, "worlds.yml").exists()
+                || new File(dataFolder, "players.yml").exists()
+                || new File(dataFolder, "players").isDirectory()
+                || new File(dataFolder, "spawn.yml").exists();
+        if (!hasYamlFiles || !sqliteBackend.isEmpty()) {
+            return;
+        }
+
+        StorageMigrator migrator = new StorageMigrator(new YamlStorageBackend(plugin), sqliteBackend);
+        migrator.migrate();
+        plugin.getLogger().info(String.format(Locale.ROOT,
+                "Migrated %d worlds and %d players from YAML to SQLite storage", migrator.getMigratedWorlds(), migrator.getMigratedPlayers()
+        ));
+    }
+
+    /**
+     * Performs the given operation on the storage thread.
+     *
+     * @param task The operation to perform
+     * @return A future which is completed once the operation has been performed. Failures are logged before the future is completed exceptionally.
+     */
+    public CompletableFuture<Void> submit(StorageTask task) {
+        return supply(storageBackend -> {
+            task.run(storageBackend);
+            return null;
+        });
+    }
+
+    /**
+     * Performs the given operation on the storage thread and returns its result.
+     *
+     * @param function The operation to perform
+     * @param <T>      The type of the result
+     * @return A future which is completed with the result once the operation has been performed. Failures are logged before the future is completed exceptionally.
+     */
+    public <T> CompletableFuture<T> supply(StorageFunction<T> function) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return function.apply(backend);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to access storage", e);
+                throw new CompletionException(e);
+            }
+        }, storageExecutor);
+    }
+
+    /**
+     * Waits for all submitted operations to be performed and closes the backend.
+     */
+    public void close() {
+        storageExecutor.shutdown();
+        try {
+            if (!storageExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out while waiting for storage operations to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backend.close();
+    }
+
+    @FunctionalInterface
+    public interface StorageTask {
+
+        void run(StorageBackend backend) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StorageFunction<T> {
+
+        T apply(StorageBackend backend) throws IOException;
+    }
+}
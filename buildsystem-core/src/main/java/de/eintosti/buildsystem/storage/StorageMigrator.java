@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Copies all worlds, players and the spawn from one {@link StorageBackend} to another.
+ */
+public class StorageMigrator {
+
+    private final StorageBackend source;
+    private final StorageBackend target;
+
+    private int migratedWorlds;
+    private int migratedPlayers;
+
+    public StorageMigrator(StorageBackend source, StorageBackend target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Copies all entries of the source backend to the target backend. Entries which already exist in the target are overwritten, the source is not modified.
+     *
+     * @throws IOException If the entries could not be read or written
+     */
+    public void migrate() throws IOException {
+        Map<String, Object> worlds = getEntries(source.loadWorlds(), "worlds");
+        target.saveWorlds(worlds, Collections.emptySet());
+        this.migratedWorlds = worlds.size();
+
+        Map<String, Object> players = getEntries(source.loadPlayers(), "players");
+        target.savePlayers(players);
+        this.migratedPlayers = players.size();
+
+        String spawn = source.loadSpawn();
+        if (spawn != null) {
+            target.saveSpawn(spawn);
+        }
+    }
+
+    public int getMigratedWorlds() {
+        return migratedWorlds;
+    }
+
+    public int getMigratedPlayers() {
+        return migratedPlayers;
+    }
+
+    private Map<String, Object> getEntries(ConfigurationSection configuration, String path) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        ConfigurationSection section = configuration.getConfigurationSection(path);
+        if (section != null) {
+            section.getKeys(false).forEach(key -> entries.put(key, section.get(key)));
+        }
+        return entries;
+    }
+}
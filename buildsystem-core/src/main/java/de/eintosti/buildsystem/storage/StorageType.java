@@ -15,22 +15,17 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
-package de.eintosti.buildsystem.config;
+package de.eintosti.buildsystem.storage;
 
-import de.eintosti.buildsystem.BuildSystem;
-import de.eintosti.buildsystem.player.BuildPlayer;
-import java.util.Collection;
+public enum StorageType {
 
-public class PlayersConfig extends ConfigurationFile {
+    /**
+     * Stores worlds, players and the spawn in {@code worlds.yml}, {@code players.yml} and {@code spawn.yml}.
+     */
+    YAML,
 
-    public PlayersConfig(BuildSystem plugin) {
-        super(plugin, "players.yml");
-    }
-
-    public void savePlayers(Collection<BuildPlayer> buildPlayers) {
-        buildPlayers.forEach(buildPlayer -> {
-            getFile().set("players." + buildPlayer.getUniqueId().toString(), buildPlayer.serialize());
-        });
-        saveFile();
-    }
-}
\ No newline at end of file
+    /**
+     * Stores worlds, players and the spawn in an embedded SQLite database, {@code storage.db}.
+     */
+    SQLITE
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.storage;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigurationFile;
+import de.eintosti.buildsystem.config.SpawnConfig;
+import de.eintosti.buildsystem.config.WorldConfig;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores worlds and the spawn in {@code worlds.yml} and {@code spawn.yml}, and each player in a separate file in the {@code players} directory.
+ * <p>
+ * The world and spawn files are kept in memory and rewritten as a whole whenever one of their entries changes. Player files are only read when the player is needed.
+ */
+public class YamlStorageBackend implements StorageBackend {
+
+    private final BuildSystem plugin;
+    private final SpawnConfig spawnConfig;
+    private final File worldsFile;
+    private final File playersDirectory;
+
+    /**
+     * {@code worlds.yml} is only parsed once it is needed, as worlds can also be restored from the registry snapshot.
+     */
+    private WorldConfig worldConfig;
+
+    public YamlStorageBackend(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.worldsFile = new File(plugin.getDataFolder(), "worlds.yml");
+        this.spawnConfig = new SpawnConfig(plugin);
+        this.playersDirectory = new File(plugin.getDataFolder(), "players");
+        splitPlayersFile();
+    }
+
+    /**
+     * Players used to be stored in a single {@code players.yml}, which is split into one file per player once. The original file is kept as {@code players.yml.old}.
+     */
+    private void splitPlayersFile() {
+        File playersFile = new File(plugin.getDataFolder(), "players.yml");
+        if (!playersFile.exists()) {
+            return;
+        }
+
+        ConfigurationSection players = YamlConfiguration.loadConfiguration(playersFile).getConfigurationSection("players");
+        try {
+            if (players != null) {
+                for (String uuid : players.getKeys(false)) {
+                    ConfigurationSection player = players.getConfigurationSection(uuid);
+                    if (player != null) {
+                        writePlayer(uuid, player.getValues(false));
+                    }
+                }
+            }
+            Files.move(playersFile.toPath(), new File(plugin.getDataFolder(), "players.yml.old").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            plugin.getLogger().info("Split players.yml into " + (players != null ? players.getKeys(false).size() : 0) + " player files");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public ConfigurationSection loadWorlds() {
+        return copy(getWorldConfig());
+    }
+
+    @Override
+    public void saveWorlds(Map<String, Object> worlds, Set<String> removedWorlds) throws IOException {
+        WorldConfig worldConfig = getWorldConfig();
+        FileConfiguration configuration = worldConfig.getFile();
+        removedWorlds.forEach(worldName -> configuration.set("worlds." + worldName, null));
+        worlds.forEach((worldName, world) -> configuration.set("worlds." + worldName, world));
+        worldConfig.saveFileAtomically();
+    }
+
+    @Override
+    public String getWorldsFingerprint() throws IOException {
+        if (!worldsFile.exists()) {
+            return "";
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(worldsFile.toPath()));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private WorldConfig getWorldConfig() {
+        if (worldConfig == null) {
+            this.worldConfig = new WorldConfig(plugin);
+        }
+        return worldConfig;
+    }
+
+    @Override
+    @Nullable
+    public ConfigurationSection loadPlayer(UUID uuid) throws IOException {
+        File playerFile = getPlayerFile(uuid.toString());
+        if (!playerFile.exists()) {
+            return null;
+        }
+
+        YamlConfiguration player = new YamlConfiguration();
+        try {
+            player.load(playerFile);
+        } catch (InvalidConfigurationException e) {
+            throw new IOException("Unable to load " + playerFile.getName(), e);
+        }
+        return player;
+    }
+
+    @Override
+    public ConfigurationSection loadPlayers() throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        File[] playerFiles = playersDirectory.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (playerFiles == null) {
+            return configuration;
+        }
+
+        for (File playerFile : playerFiles) {
+            String uuid = playerFile.getName().substring(0, playerFile.getName().length() - ".yml".length());
+            ConfigurationSection player = loadPlayer(UUID.fromString(uuid));
+            if (player != null) {
+                configuration.createSection("players." + uuid, player.getValues(false));
+            }
+        }
+        return configuration;
+    }
+
+    @Override
+    public void savePlayers(Map<String, Object> players) throws IOException {
+        for (Map.Entry<String, Object> player : players.entrySet()) {
+            writePlayer(player.getKey(), player.getValue());
+        }
+    }
+
+    private void writePlayer(String uuid, Object player) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        Map<?, ?> values = player instanceof ConfigurationSection ? ((ConfigurationSection) player).getValues(false) : (Map<?, ?>) player;
+        values.forEach((key, value) -> configuration.set(String.valueOf(key), value));
+
+        File playerFile = getPlayerFile(uuid);
+        File tempFile = new File(playersDirectory, playerFile.getName() + ".tmp");
+        if (!playersDirectory.exists() && !playersDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + playersDirectory.getName() + " directory");
+        }
+        Files.write(tempFile.toPath(), configuration.saveToString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile.toPath(), playerFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getPlayerFile(String uuid) {
+        return new File(playersDirectory, uuid + ".yml");
+    }
+
+    @Override
+    @Nullable
+    public String loadSpawn() {
+        return spawnConfig.getFile().getString("spawn");
+    }
+
+    @Override
+    public void saveSpawn(@Nullable String spawn) throws IOException {
+        spawnConfig.getFile().set("spawn", spawn);
+        spawnConfig.saveFileAtomically();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Copies the contents of the given file, so that the returned configuration can be read while the file is modified by the storage thread. The values are copied in
+     * memory rather than serialized and parsed again, as the file has already been parsed once.
+     */
+    private ConfigurationSection copy(ConfigurationFile configurationFile) {
+        YamlConfiguration configuration = new YamlConfiguration();
+        copySection(configurationFile.getFile(), configuration);
+        return configuration;
+    }
+
+    private void copySection(ConfigurationSection source, ConfigurationSection target) {
+        for (Map.Entry<String, Object> entry : source.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSection) {
+                copySection((ConfigurationSection) value, target.createSection(entry.getKey()));
+            } else if (value instanceof List) {
+                // Apart from lists, all values which are read from YAML are immutable
+                target.set(entry.getKey(), new ArrayList<>((List<?>) value));
+            } else {
+                target.set(entry.getKey(), value);
+            }
+        }
+    }
+}
@@ -83,6 +83,7 @@ public class WorldsTabComplete extends ArgumentSorter implements TabCompleter {
                     case "setpermission":
                     case "setproject":
                     case "setstatus":
+                    case "snapshot":
                     case "tp":
                     case "unimport": {
                         worldManager.getBuildWorlds().stream()
@@ -122,6 +123,14 @@ public class WorldsTabComplete extends ArgumentSorter implements TabCompleter {
                         break;
                     }
 
+                    case "importall": {
+                        if (worldManager.isImportingAllWorlds()) {
+                            addArgument(args[1], "pause", arrayList);
+                            addArgument(args[1], "resume", arrayList);
+                        }
+                        break;
+                    }
+
                     case "import": {
                         String[] directories = Bukkit.getWorldContainer().list((dir, name) -> {
                             for (String charString : name.split("")) {
@@ -156,6 +165,19 @@ public class WorldsTabComplete extends ArgumentSorter implements TabCompleter {
             }
 
             default:
+                if (args[0].equalsIgnoreCase("snapshot")) {
+                    if (args.length == 3) {
+                        addArgument(args[2], "list", arrayList);
+                        addArgument(args[2], "create", arrayList);
+                        addArgument(args[2], "restore", arrayList);
+                    } else if (args.length == 4 && args[2].equalsIgnoreCase("restore")) {
+                        for (String snapshot : worldManager.getSnapshotStore().getSnapshots(args[1])) {
+                            addArgument(args[3], snapshot, arrayList);
+                        }
+                    }
+                    return arrayList;
+                }
+
                 // Add arguments to /worlds import
                 if (!args[0].equalsIgnoreCase("import")) {
                     return arrayList;
@@ -204,6 +226,8 @@ public class WorldsTabComplete extends ArgumentSorter implements TabCompleter {
         SET_STATUS("setStatus", "buildsystem.setstatus"),
         SET_SPAWN("setSpawn", "buildsystem.setspawn"),
         REMOVE_SPAWN("removeSpawn", "buildsystem.removespawn"),
+        SNAPSHOT("snapshot", "buildsystem.snapshot"),
+        STATUS("status", "buildsystem.status"),
         TP("tp", "buildsystem.worldtp"),
         UNIMPORT("unimport", "buildsystem.unimport");
 
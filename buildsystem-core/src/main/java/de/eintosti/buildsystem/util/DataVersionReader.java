@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the {@code DataVersion} of a world from its {@code level.dat} file.
+ * <p>
+ * Instead of decoding the whole file, the NBT data is streamed and skipped until {@code Data.DataVersion} is found. The result is cached per file and only read again
+ * once the size or the modification time of the file has changed.
+ *
+ * @see <a href="https://minecraft.wiki/w/NBT_format">NBT format</a>
+ */
+public class DataVersionReader {
+
+    private static final int TAG_END = 0;
+    private static final int TAG_INT = 3;
+    private static final int TAG_COMPOUND = 10;
+
+    private static final Map<String, CachedVersion> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the {@code DataVersion} stored in the given {@code level.dat} file.
+     *
+     * @param levelFile The {@code level.dat} file of a world
+     * @return The data version if found, otherwise -1
+     */
+    public static int getDataVersion(File levelFile) {
+        if (!levelFile.exists()) {
+            return -1;
+        }
+
+        String path = levelFile.getAbsolutePath();
+        long size = levelFile.length();
+        long lastModified = levelFile.lastModified();
+
+        CachedVersion cached = CACHE.get(path);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.dataVersion;
+        }
+
+        int dataVersion;
+        try {
+            dataVersion = readDataVersion(levelFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+
+        CACHE.put(path, new CachedVersion(size, lastModified, dataVersion));
+        return dataVersion;
+    }
+
+    private static int readDataVersion(File levelFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(openStream(levelFile))) {
+            if (in.readByte() != TAG_COMPOUND) {
+                return -1;
+            }
+            in.skipBytes(in.readUnsignedShort());
+
+            // Find the "Data" compound inside the root compound
+            if (!findTag(in, TAG_COMPOUND, "Data")) {
+                return -1;
+            }
+            return findTag(in, TAG_INT, "DataVersion") ? in.readInt() : -1;
+        }
+    }
+
+    private static InputStream openStream(File levelFile) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(levelFile.toPath()));
+        in.mark(2);
+        int magic = in.read() | (in.read() << 8);
+        in.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new BufferedInputStream(new GZIPInputStream(in)) : in;
+    }
+
+    /**
+     * Reads the entries of the current compound until an entry with the given type and name is found. All other entries are skipped.
+     *
+     * @param in   The stream, positioned at the first entry of a compound
+     * @param type The type of the entry to find
+     * @param name The name of the entry to find
+     * @return {@code true} if the entry was found and the stream is positioned at its payload, otherwise {@code false}
+     */
+    private static boolean findTag(DataInputStream in, int type, String name) throws IOException {
+        int tagType;
+        while ((tagType = in.readByte()) != TAG_END) {
+            String tagName = in.readUTF();
+            if (tagType == type && tagName.equals(name)) {
+                return true;
+            }
+            skipPayload(in, tagType);
+        }
+        return false;
+    }
+
+    private static void skipPayload(DataInputStream in, int tagType) throws IOException {
+        switch (tagType) {
+            case 1: // Byte
+                skipFully(in, 1);
+                break;
+            case 2: // Short
+                skipFully(in, 2);
+                break;
+            case 3: // Int
+            case 5: // Float
+                skipFully(in, 4);
+                break;
+            case 4: // Long
+            case 6: // Double
+                skipFully(in, 8);
+                break;
+            case 7: // Byte array
+                skipFully(in, in.readInt());
+                break;
+            case 8: // String
+                skipFully(in, in.readUnsignedShort());
+                break;
+            case 9: { // List
+                int elementType = in.readByte();
+                int length = in.readInt();
+                for (int i = 0; i < length; i++) {
+                    skipPayload(in, elementType);
+                }
+                break;
+            }
+            case 10: { // Compound
+                int entryType;
+                while ((entryType = in.readByte()) != TAG_END) {
+                    skipFully(in, in.readUnsignedShort());
+                    skipPayload(in, entryType);
+                }
+                break;
+            }
+            case 11: // Int array
+                skipFully(in, in.readInt() * 4L);
+                break;
+            case 12: // Long array
+                skipFully(in, in.readInt() * 8L);
+                break;
+            default:
+                throw new IOException("Unknown NBT tag type " + tagType);
+        }
+    }
+
+    private static void skipFully(DataInputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                // skip() may return 0 before the end of the stream is reached
+                in.readByte();
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+
+    private static class CachedVersion {
+
+        private final long size;
+        private final long lastModified;
+        private final int dataVersion;
+
+        private CachedVersion(long size, long lastModified, int dataVersion) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.dataVersion = dataVersion;
+        }
+    }
+}
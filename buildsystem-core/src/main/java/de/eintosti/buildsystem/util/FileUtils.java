@@ -18,26 +18,126 @@
 package de.eintosti.buildsystem.util;
 
 import com.google.common.collect.Sets;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class FileUtils {
 
     private static final Set<String> IGNORE_FILES = Sets.newHashSet("uid.dat", "session.lock");
+    private static final String LINKED_FILES_MARKER = ".buildsystem-linked";
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+    private static final Set<CompletableFuture<?>> PENDING_OPERATIONS = ConcurrentHashMap.newKeySet();
+    private static final Map<Path, CompletableFuture<Integer>> MATERIALIZING = new HashMap<>();
+    /**
+     * The pool used by all asynchronous file operations. It is owned by the plugin and only available between {@link #startIoExecutor()} and {@link #shutdownIoExecutor()}.
+     */
+    private static volatile ExecutorService ioExecutor;
 
     private FileUtils() {
     }
 
+    /**
+     * Creates the pool used by asynchronous file operations. Must be called when the plugin is enabled.
+     */
+    public static synchronized void startIoExecutor() {
+        if (ioExecutor != null) {
+            return;
+        }
+
+        ioExecutor = Executors.newFixedThreadPool(
+                Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "BuildSystem-IO-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    /**
+     * Waits for pending asynchronous file operations to finish and shuts down their pool, so that no copy is still running once the plugin is disabled.
+     *
+     * @return {@code true} if all operations finished, {@code false} if they did not finish in time
+     */
+    public static synchronized boolean shutdownIoExecutor() {
+        ExecutorService executor = ioExecutor;
+        if (executor == null) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+        try {
+            // Operations consist of several stages, which have to be able to submit tasks until the whole operation has finished
+            CompletableFuture.allOf(PENDING_OPERATIONS.toArray(new CompletableFuture[0])).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // Failed operations have already been handled by their callers, unfinished ones are cut off below
+        }
+
+        ioExecutor = null;
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static <T> CompletableFuture<T> track(CompletableFuture<T> operation) {
+        PENDING_OPERATIONS.add(operation);
+        operation.whenComplete((result, throwable) -> PENDING_OPERATIONS.remove(operation));
+        return operation;
+    }
+
+    private static ExecutorService getIoExecutor() {
+        ExecutorService executor = ioExecutor;
+        if (executor == null) {
+            throw new IllegalStateException("The I/O executor is not running");
+        }
+        return executor;
+    }
+
     /**
      * Copies a file or directory from the source location to the target location.
      *
@@ -54,13 +154,253 @@ public final class FileUtils {
             if (source.isDirectory()) {
                 copyDirectory(source, target);
             } else {
-                copyFile(source, target);
+                copyFile(source.toPath(), target.toPath());
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Copies a file or directory from the source location to the target location without blocking the calling thread.
+     *
+     * @param source The source file or directory to be copied
+     * @param target The target file or directory where the source will be copied to
+     * @return A future which is completed once all files have been copied
+     * @see #copyAsync(File, File, CopyProgressListener)
+     */
+    public static CompletableFuture<Void> copyAsync(@NotNull File source, @NotNull File target) {
+        return copyAsync(source, target, null);
+    }
+
+    /**
+     * Copies a file or directory from the source location to the target location without blocking the calling thread.
+     * <p>
+     * The directory tree is created first, after which every file is copied in parallel by a bounded pool of workers. Files listed in {@link #IGNORE_FILES} are skipped.
+     * <p>
+     * The returned future, as well as the progress listener, are completed on a worker thread. Callers which need to interact with Bukkit must switch back to the main thread
+     * themselves.
+     *
+     * @param source           The source file or directory to be copied
+     * @param target           The target file or directory where the source will be copied to
+     * @param progressListener Listener which is notified every time a file has been copied, or {@code null}
+     * @return A future which is completed once all files have been copied, or completed exceptionally if an I/O error occurred
+     */
+    public static CompletableFuture<Void> copyAsync(@NotNull File source, @NotNull File target, @Nullable CopyProgressListener progressListener) {
+        return transferAsync(source, target, progressListener, false);
+    }
+
+    /**
+     * Works like {@link #copyAsync(File, File)}, but hard-links region files ({@code .mca}) instead of copying them, which only takes time proportional to the number of files.
+     * <p>
+     * Since Minecraft writes to region files in place, a linked file must never be opened by the server. The linked files are therefore recorded in the target directory and
+     * must be turned into private copies using {@link #materializeLinkedFiles(File)} before the world is loaded. If a file cannot be linked, e.g. because the source and
+     * target are on different file systems, it is copied instead.
+     *
+     * @param source The source directory to be linked
+     * @param target The target directory where the source will be linked to
+     * @return A future which is completed once all files have been linked or copied
+     */
+    public static CompletableFuture<Void> linkRegionFilesAsync(@NotNull File source, @NotNull File target) {
+        return transferAsync(source, target, null, true);
+    }
+
+    private static CompletableFuture<Void> transferAsync(File source, File target, @Nullable CopyProgressListener progressListener, boolean linkRegionFiles) {
+        ExecutorService executor = getIoExecutor();
+        return track(CompletableFuture.supplyAsync(() -> {
+            try {
+                return collectFiles(source.toPath(), target.toPath());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenCompose(files -> {
+            long totalBytes = files.stream().mapToLong(CopyEntry::getSize).sum();
+            AtomicLong copiedBytes = new AtomicLong();
+            Queue<String> linkedFiles = new ConcurrentLinkedQueue<>();
+
+            CompletableFuture<?>[] futures = files.stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> {
+                        try {
+                            if (linkRegionFiles && isRegionFile(entry.getSource()) && tryLink(entry.getSource(), entry.getTarget())) {
+                                linkedFiles.add(target.toPath().relativize(entry.getTarget()).toString());
+                            } else {
+                                copyFile(entry.getSource(), entry.getTarget());
+                            }
+                        } catch (IOException e) {
+                            throw new CompletionException(e);
+                        }
+
+                        long copied = copiedBytes.addAndGet(entry.getSize());
+                        if (progressListener != null) {
+                            progressListener.onProgress(copied, totalBytes);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(futures).thenRun(() -> {
+                if (linkedFiles.isEmpty()) {
+                    return;
+                }
+
+                try {
+                    Files.write(target.toPath().resolve(LINKED_FILES_MARKER), linkedFiles, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }));
+    }
+
+    private static boolean isRegionFile(Path path) {
+        return path.getFileName().toString().endsWith(".mca");
+    }
+
+    private static boolean tryLink(Path source, Path target) {
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces every file which was hard-linked by {@link #linkRegionFilesAsync(File, File)} with a private copy, so that the file can safely be written to.
+     * <p>
+     * Each file is first copied next to the link and then atomically moved over it, meaning an interrupted call never leaves a partially copied file behind.
+     *
+     * @param directory The world directory
+     * @return The amount of files which were materialized
+     * @throws IOException If an I/O error occurs while copying a file
+     */
+    public static int materializeLinkedFiles(@NotNull File directory) throws IOException {
+        if (!hasLinkedFiles(directory)) {
+            return 0;
+        }
+
+        try {
+            return materializeLinkedFilesAsync(directory).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * Works like {@link #materializeLinkedFiles(File)}, but copies the files without blocking the calling thread. Concurrent calls for the same directory share one
+     * operation.
+     *
+     * @param directory The world directory
+     * @return A future which is completed with the amount of files which were materialized, on a worker thread
+     */
+    public static CompletableFuture<Integer> materializeLinkedFilesAsync(@NotNull File directory) {
+        ExecutorService executor = getIoExecutor();
+        Path directoryPath = directory.toPath().toAbsolutePath().normalize();
+        CompletableFuture<Integer> operation;
+        synchronized (MATERIALIZING) {
+            CompletableFuture<Integer> pending = MATERIALIZING.get(directoryPath);
+            if (pending != null) {
+                return pending;
+            }
+            operation = createMaterialization(directoryPath, executor);
+            MATERIALIZING.put(directoryPath, operation);
+        }
+
+        operation.whenComplete((result, throwable) -> {
+            synchronized (MATERIALIZING) {
+                MATERIALIZING.remove(directoryPath, operation);
+            }
+        });
+        return operation;
+    }
+
+    private static CompletableFuture<Integer> createMaterialization(Path path, ExecutorService executor) {
+        return track(CompletableFuture.supplyAsync(() -> {
+            Path marker = path.resolve(LINKED_FILES_MARKER);
+            if (!Files.exists(marker)) {
+                return null;
+            }
+
+            try {
+                return Files.readAllLines(marker, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenCompose(linkedFiles -> {
+            if (linkedFiles == null) {
+                return CompletableFuture.completedFuture(0);
+            }
+
+            CompletableFuture<?>[] futures = linkedFiles.stream()
+                    .map(path::resolve)
+                    .filter(Files::exists)
+                    .map(file -> CompletableFuture.runAsync(() -> {
+                        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                        try {
+                            copyFile(file, temp);
+                            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        } catch (IOException e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(futures).thenApply(result -> {
+                try {
+                    Files.delete(path.resolve(LINKED_FILES_MARKER));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                return futures.length;
+            });
+        }));
+    }
+
+    /**
+     * Gets whether the given world directory still contains files which were hard-linked by {@link #linkRegionFilesAsync(File, File)}.
+     *
+     * @param directory The world directory
+     * @return {@code true} if the files have to be {@link #materializeLinkedFiles(File) materialized} before the world is loaded, otherwise {@code false}
+     */
+    public static boolean hasLinkedFiles(@NotNull File directory) {
+        return new File(directory, LINKED_FILES_MARKER).exists();
+    }
+
+    /**
+     * Walks the source tree, creates all directories in the target tree and collects the files which still need to be copied.
+     *
+     * @param source The source file or directory
+     * @param target The target file or directory
+     * @return A list of all files which need to be copied
+     * @throws IOException If an I/O error occurs while walking the tree or creating a directory
+     */
+    private static List<CopyEntry> collectFiles(Path source, Path target) throws IOException {
+        List<CopyEntry> files = new ArrayList<>();
+        if (IGNORE_FILES.contains(source.getFileName().toString())) {
+            return files;
+        }
+
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(source) && IGNORE_FILES.contains(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!IGNORE_FILES.contains(file.getFileName().toString())) {
+                    Path targetFile = file.equals(source) ? target : target.resolve(source.relativize(file));
+                    files.add(new CopyEntry(file, targetFile, attrs.size()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
     /**
      * Copies a directory from source to target.
      *
@@ -86,18 +426,98 @@ public final class FileUtils {
 
     /**
      * Copies a file from the source to the target location.
+     * <p>
+     * Uses {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, which allows the operating system to copy the data without passing it through the
+     * JVM's heap.
      *
      * @param source The source file to be copied
      * @param target The target file where the source file will be copied to
      * @throws IOException If an I/O error occurs while copying the file
      */
-    private static void copyFile(@NotNull File source, @NotNull File target) throws IOException {
-        try (InputStream inputStream = Files.newInputStream(source.toPath());
-                OutputStream outputStream = Files.newOutputStream(target.toPath())) {
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = inputStream.read(buffer)) > 0) {
-                outputStream.write(buffer, 0, length);
+    private static void copyFile(@NotNull Path source, @NotNull Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    /**
+     * Gets the total size of all files in the given directory.
+     *
+     * @param directory The directory
+     * @return The size in bytes
+     * @throws IOException If an I/O error occurs
+     */
+    public static long getDirectorySize(@NotNull File directory) throws IOException {
+        try (Stream<Path> walk = Files.walk(directory.toPath())) {
+            return walk.filter(Files::isRegularFile)
+                    .mapToLong(path -> path.toFile().length())
+                    .sum();
+        }
+    }
+
+    /**
+     * Packs the contents of a directory into a compressed zip archive. The archive is written to a temporary file first and only moved to the given location once it is
+     * complete. Files listed in {@link #IGNORE_FILES} are skipped.
+     *
+     * @param directory The directory to pack
+     * @param archive   The archive to create
+     * @return The size of the created archive in bytes
+     * @throws IOException If an I/O error occurs
+     */
+    public static long zipDirectory(@NotNull File directory, @NotNull File archive) throws IOException {
+        Path source = directory.toPath();
+        Path temp = archive.toPath().resolveSibling(archive.getName() + ".tmp");
+        Files.createDirectories(temp.getParent());
+
+        try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+             Stream<Path> walk = Files.walk(source)) {
+            out.setLevel(Deflater.BEST_COMPRESSION);
+            for (Path path : (Iterable<Path>) walk::iterator) {
+                String fileName = path.getFileName().toString();
+                if (!Files.isRegularFile(path) || IGNORE_FILES.contains(fileName) || fileName.equals(LINKED_FILES_MARKER)) {
+                    continue;
+                }
+
+                out.putNextEntry(new ZipEntry(source.relativize(path).toString().replace(File.separatorChar, '/')));
+                Files.copy(path, out);
+                out.closeEntry();
+            }
+        }
+
+        Files.move(temp, archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(archive.toPath());
+    }
+
+    /**
+     * Extracts a zip archive created by {@link #zipDirectory(File, File)} into the given directory.
+     *
+     * @param archive   The archive to extract
+     * @param directory The directory to extract the archive into
+     * @throws IOException If an I/O error occurs, or if an entry would be extracted outside the directory
+     */
+    public static void unzip(@NotNull File archive, @NotNull File directory) throws IOException {
+        Path target = directory.toPath().normalize();
+        Files.createDirectories(target);
+
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(archive.toPath())))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                Path path = target.resolve(entry.getName()).normalize();
+                if (!path.startsWith(target)) {
+                    throw new IOException("Invalid entry in " + archive.getName() + ": " + entry.getName());
+                }
+
+                if (entry.isDirectory()) {
+                    Files.createDirectories(path);
+                } else {
+                    Files.createDirectories(path.getParent());
+                    Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                }
             }
         }
     }
@@ -134,4 +554,44 @@ public final class FileUtils {
         }
         return creation;
     }
-}
\ No newline at end of file
+
+    /**
+     * Listener which is notified about the progress of an asynchronous copy.
+     */
+    @FunctionalInterface
+    public interface CopyProgressListener {
+
+        /**
+         * Called every time a file has been copied.
+         *
+         * @param copiedBytes The amount of bytes which have been copied so far
+         * @param totalBytes  The total amount of bytes which are being copied
+         */
+        void onProgress(long copiedBytes, long totalBytes);
+    }
+
+    private static class CopyEntry {
+
+        private final Path source;
+        private final Path target;
+        private final long size;
+
+        private CopyEntry(Path source, Path target, long size) {
+            this.source = source;
+            this.target = target;
+            this.size = size;
+        }
+
+        public Path getSource() {
+            return source;
+        }
+
+        public Path getTarget() {
+            return target;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
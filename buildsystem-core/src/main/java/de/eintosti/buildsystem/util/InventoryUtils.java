@@ -45,6 +45,7 @@ import de.eintosti.buildsystem.world.modification.EditInventory;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -234,29 +235,14 @@ public class InventoryUtils {
             return;
         }
 
-        // Initially set default head
-        addItemStack(inventory, position, XMaterial.PLAYER_HEAD, displayName, lore);
-
-        // The try to set texture asynchronously
-        try {
-            XSkull.createItem()
-                    .profile(buildWorld.getData().privateWorld().get()
-                            ? buildWorld.asProfilable()
-                            : Profileable.username(buildWorld.getName())
-                    )
-                    .fallback(buildWorld.asProfilable())
-                    .lenient()
-                    .applyAsync()
-                    .thenAcceptAsync(itemStack -> {
-                        ItemMeta itemMeta = itemStack.getItemMeta();
-                        itemMeta.setDisplayName(displayName);
-                        itemMeta.setLore(lore);
-                        itemStack.setItemMeta(itemMeta);
-                        inventory.setItem(position, itemStack);
-                    });
-        } catch (Exception e) {
-            // Probably too many requests
+        // Textures are only taken from the cache, so the default head is used until the texture has been fetched
+        String texture = plugin.getSkullTextureCache().getTexture(buildWorld);
+        if (texture == null) {
+            addItemStack(inventory, position, XMaterial.PLAYER_HEAD, displayName, lore);
+            return;
         }
+
+        addSkull(inventory, position, displayName, Profileable.detect(texture), lore);
     }
 
     /**
@@ -371,8 +357,20 @@ public class InventoryUtils {
      * @return The list of sorted worlds
      */
     public List<BuildWorld> getDisplayOrder(WorldManager worldManager, Settings settings) {
+        return getDisplayOrder(worldManager.getBuildWorlds(), settings);
+    }
+
+    /**
+     * Gets the given worlds in the order they are to be displayed. First, the {@link WorldFilter} is applied. Then, the list of worlds is sorted using the
+     * {@link WorldSort}.
+     *
+     * @param worlds   The worlds to display
+     * @param settings The settings that provide the sorting method
+     * @return The list of sorted worlds
+     */
+    public List<BuildWorld> getDisplayOrder(Collection<BuildWorld> worlds, Settings settings) {
         WorldDisplay worldDisplay = settings.getWorldDisplay();
-        List<BuildWorld> buildWorlds = worldManager.getBuildWorlds().stream()
+        List<BuildWorld> buildWorlds = worlds.stream()
                 .filter(worldDisplay.getWorldFilter().apply())
                 .collect(Collectors.toList());
 
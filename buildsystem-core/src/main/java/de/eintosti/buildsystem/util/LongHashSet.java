@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+/**
+ * A set of primitive {@code long}s which uses open addressing with linear probing, so that neither lookups nor insertions of existing keys allocate.
+ * <p>
+ * Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Marks an empty slot. The key itself is tracked separately by {@link #containsEmptyKey}.
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Adds the given key to the set.
+     *
+     * @param key The key to add
+     * @return {@code true} if the key was not present before, otherwise {@code false}
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Gets whether the set contains the given key.
+     *
+     * @param key The key
+     * @return {@code true} if the key is present, otherwise {@code false}
+     */
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the given key from the set.
+     *
+     * @param key The key to remove
+     * @return {@code true} if the key was present, otherwise {@code false}
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = false;
+            size--;
+            return true;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the keys of the set into a new array.
+     *
+     * @return The keys, in no particular order
+     */
+    public long[] toArray() {
+        long[] array = new long[size];
+        int index = 0;
+        if (containsEmptyKey) {
+            array[index++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                array[index++] = key;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Fills the slot of a removed key by moving back the following keys of the same probe sequence, so that no tombstones are needed.
+     */
+    private void shiftKeys(int slot) {
+        int last = slot;
+        slot = (slot + 1) & mask;
+        while (keys[slot] != EMPTY) {
+            int home = slot(keys[slot]);
+            // Only move the key if its home slot does not lie cyclically within (last, slot]
+            if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) {
+                keys[last] = keys[slot];
+                last = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[last] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        return LongHashSet.mix(key) & mask;
+    }
+
+    static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    static int tableSize(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        return Math.max(capacity, 4);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A map from primitive {@code long} keys to objects which uses open addressing with linear probing, so that lookups do not box the key.
+ * <p>
+ * {@code null} values are not supported. Not thread-safe.
+ *
+ * @param <V> The type of the values
+ */
+public class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongHashSet.tableSize(expectedSize));
+    }
+
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @param key The key
+     * @return The value, or {@code null} if the key is not mapped
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Maps the given key to the given value.
+     *
+     * @param key   The key
+     * @param value The value, must not be {@code null}
+     * @return The previously mapped value, or {@code null} if there was none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @param key The key
+     * @return The removed value, or {@code null} if the key was not mapped
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftEntries(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the keys of the map into a new array.
+     *
+     * @return The keys, in no particular order
+     */
+    public long[] keys() {
+        long[] array = new long[size];
+        int index = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                array[index++] = keys[slot];
+            }
+        }
+        return array;
+    }
+
+    private void shiftEntries(int slot) {
+        int last = slot;
+        slot = (slot + 1) & mask;
+        while (values[slot] != null) {
+            int home = slot(keys[slot]);
+            if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) {
+                keys[last] = keys[slot];
+                values[last] = values[slot];
+                last = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[last] = 0L;
+        values[last] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        return LongHashSet.mix(key) & mask;
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import com.cryptomorin.xseries.XMaterial;
+import com.cryptomorin.xseries.profiles.exceptions.UnknownPlayerException;
+import com.cryptomorin.xseries.profiles.objects.Profileable;
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.world.BuildWorld;
+import de.eintosti.buildsystem.world.Builder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the skin textures used for the icons of worlds whose material is {@link XMaterial#PLAYER_HEAD}, so that icons can be rendered without requesting profiles.
+ * <p>
+ * Textures are stored by the uuid or name of the player they belong to, together with the time they were fetched, and are persisted to {@code skull-textures.cache}. The
+ * cache is refreshed in the background every few minutes: textures which are missing or older than {@value #TEXTURE_TTL_DAYS} days are fetched again, with at most
+ * {@value #MAX_CONCURRENT_REQUESTS} requests running at the same time. Profiles which do not exist are fetched again after {@value #MISSING_TEXTURE_TTL_DAYS} day.
+ */
+public class SkullTextureCache {
+
+    private static final long REFRESH_INTERVAL = 20L * 60 * 5;
+    private static final long TEXTURE_TTL_DAYS = 7;
+    private static final long MISSING_TEXTURE_TTL_DAYS = 1;
+    private static final int MAX_CONCURRENT_REQUESTS = 2;
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+    private final Logger logger;
+    private final TextureSource textureSource;
+    private final Supplier<Collection<Owner>> ownerSupplier;
+    private final ExecutorService refreshExecutor;
+
+    private final Map<String, Texture> textures;
+    private final Set<String> refreshing;
+    private final Object saveLock = new Object();
+
+    private volatile boolean changed;
+
+    public SkullTextureCache(BuildSystem plugin) {
+        this(
+                new File(plugin.getDataFolder(), "skull-textures.cache").toPath(),
+                plugin.getLogger(),
+                new ProfileTextureSource(),
+                () -> getOwners(plugin.getWorldManager().getBuildWorlds()),
+                (task, interval) -> Bukkit.getScheduler().runTaskTimer(plugin, task, interval, interval)
+        );
+    }
+
+    /**
+     * Creates a cache which fetches textures from the given source, e.g. a local stand-in instead of requesting profiles.
+     *
+     * @param file          The file the cache is persisted to
+     * @param logger        The logger to report failed requests to
+     * @param textureSource The source to fetch textures from
+     * @param ownerSupplier Supplies the owners whose textures are kept in the cache. Is called on the thread the refresh task is scheduled on
+     * @param scheduler     Schedules refreshing the cache periodically
+     */
+    public SkullTextureCache(Path file, Logger logger, TextureSource textureSource, Supplier<Collection<Owner>> ownerSupplier, RefreshScheduler scheduler) {
+        this.file = file;
+        this.logger = logger;
+        this.textureSource = textureSource;
+        this.ownerSupplier = ownerSupplier;
+        this.refreshExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS, runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-SkullRefresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.textures = new ConcurrentHashMap<>();
+        this.refreshing = ConcurrentHashMap.newKeySet();
+
+        load();
+        scheduler.schedule(this::refresh, REFRESH_INTERVAL);
+    }
+
+    /**
+     * Gets the cached texture to use for the icon of the given world. Never requests a profile.
+     *
+     * @param buildWorld The world
+     * @return The base64 encoded texture value, or {@code null} if no texture has been cached yet
+     */
+    @Nullable
+    public String getTexture(BuildWorld buildWorld) {
+        for (Owner owner : getOwners(buildWorld)) {
+            String texture = getTexture(owner);
+            if (texture != null) {
+                return texture;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the cached texture of the given owner. Never requests a profile.
+     *
+     * @param owner The owner of the texture
+     * @return The base64 encoded texture value, or {@code null} if no texture has been cached yet or the owner does not have one
+     */
+    @Nullable
+    public String getTexture(Owner owner) {
+        Texture texture = textures.get(owner.getKey());
+        return texture != null ? texture.value : null;
+    }
+
+    /**
+     * Fetches the textures of all owners which are missing or have expired. The textures are fetched in the background.
+     *
+     * @return A future which is completed once all textures have been fetched and the cache has been written to disk
+     */
+    public CompletableFuture<Void> refresh() {
+        long now = System.currentTimeMillis();
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (Owner owner : ownerSupplier.get()) {
+            String key = owner.getKey();
+            Texture texture = textures.get(key);
+            if ((texture == null || texture.isExpired(now)) && refreshing.add(key)) {
+                requests.add(CompletableFuture.runAsync(() -> refresh(owner), refreshExecutor));
+            }
+        }
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).thenRunAsync(this::save, refreshExecutor);
+    }
+
+    /**
+     * Stops refreshing textures and writes the cache to disk.
+     */
+    public void close() {
+        refreshExecutor.shutdownNow();
+        try {
+            refreshExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        save();
+    }
+
+    private void refresh(Owner owner) {
+        String key = owner.getKey();
+        try {
+            textures.put(key, new Texture(textureSource.fetch(owner), System.currentTimeMillis()));
+            this.changed = true;
+        } catch (UnknownProfileException e) {
+            // Requesting a profile which does not exist again would only count against the rate limit
+            textures.put(key, new Texture(null, System.currentTimeMillis()));
+            this.changed = true;
+        } catch (Exception e) {
+            // Probably too many requests, the texture is fetched again on the next refresh
+            logger.log(Level.FINE, "Unable to fetch skull texture of " + key, e);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Gets the owners of the textures to use for the icons of the given worlds, if their icon is a {@link XMaterial#PLAYER_HEAD player head}.
+     *
+     * @param buildWorlds The worlds
+     * @return The owners of the textures
+     */
+    private static Collection<Owner> getOwners(Collection<BuildWorld> buildWorlds) {
+        Set<Owner> owners = new LinkedHashSet<>();
+        for (BuildWorld buildWorld : buildWorlds) {
+            if (buildWorld.getData().material().get() == XMaterial.PLAYER_HEAD) {
+                owners.addAll(getOwners(buildWorld));
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Gets the owners of the textures to use for the icon of the given world, in the order they should be tried. Public worlds use the head of the player with the world's
+     * name, if there is one, and all worlds fall back to the head of their creator.
+     *
+     * @param buildWorld The world
+     * @return The owners of the textures
+     */
+    private static Set<Owner> getOwners(BuildWorld buildWorld) {
+        Set<Owner> owners = new LinkedHashSet<>(2);
+        if (!buildWorld.getData().privateWorld().get()) {
+            owners.add(Owner.named(buildWorld.getName()));
+        }
+
+        Builder creator = buildWorld.getCreator();
+        if (creator == null) {
+            owners.add(Owner.named(buildWorld.getName()));
+        } else if (creator.getUniqueId() != null) {
+            owners.add(Owner.of(creator.getUniqueId()));
+        } else {
+            owners.add(Owner.named(creator.getName()));
+        }
+        return owners;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(SEPARATOR, -1);
+                if (parts.length != 3) {
+                    continue;
+                }
+
+                try {
+                    textures.put(parts[0], new Texture(parts[2].isEmpty() ? null : parts[2], Long.parseLong(parts[1])));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void save() {
+        synchronized (saveLock) {
+            if (!changed) {
+                return;
+            }
+            this.changed = false;
+
+            List<String> lines = new ArrayList<>(textures.size());
+            textures.forEach((key, texture) -> lines.add(key + SEPARATOR + texture.fetchedAt + SEPARATOR + (texture.value != null ? texture.value : "")));
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                this.changed = true;
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * A source of skin textures.
+     */
+    @FunctionalInterface
+    public interface TextureSource {
+
+        /**
+         * Fetches the texture of the given owner. Is called asynchronously.
+         *
+         * @param owner The owner of the texture
+         * @return The base64 encoded texture value, or {@code null} if the profile has no texture
+         * @throws UnknownProfileException If the owner does not have a profile, in which case the texture is cached as missing
+         * @throws Exception               If the texture could not be fetched, in which case it is fetched again on the next refresh
+         */
+        @Nullable
+        String fetch(Owner owner) throws Exception;
+    }
+
+    /**
+     * Schedules refreshing the cache.
+     */
+    @FunctionalInterface
+    public interface RefreshScheduler {
+
+        /**
+         * Runs the given task periodically.
+         *
+         * @param task     The task
+         * @param interval The interval in ticks
+         */
+        void schedule(Runnable task, long interval);
+    }
+
+    /**
+     * Thrown by a {@link TextureSource} if the owner of a texture does not have a profile.
+     */
+    public static class UnknownProfileException extends Exception {
+
+        public UnknownProfileException(Owner owner, @Nullable Throwable cause) {
+            super("Unknown profile " + owner.getKey(), cause);
+        }
+    }
+
+    /**
+     * The player a texture belongs to, identified either by their uuid or their name.
+     */
+    public static final class Owner {
+
+        private static final String UUID_PREFIX = "uuid:";
+        private static final String NAME_PREFIX = "name:";
+
+        @Nullable
+        private final UUID uuid;
+        @Nullable
+        private final String name;
+
+        private Owner(@Nullable UUID uuid, @Nullable String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        public static Owner of(UUID uuid) {
+            return new Owner(uuid, null);
+        }
+
+        public static Owner named(String name) {
+            return new Owner(null, name);
+        }
+
+        /**
+         * Gets the uuid of the owner.
+         *
+         * @return The uuid, or {@code null} if the owner is identified by their name
+         */
+        @Nullable
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        /**
+         * Gets the name of the owner.
+         *
+         * @return The name, or {@code null} if the owner is identified by their uuid
+         */
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the key the texture is stored by. Names are case-insensitive.
+         *
+         * @return The key
+         */
+        private String getKey() {
+            return uuid != null ? UUID_PREFIX + uuid : NAME_PREFIX + name.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Owner && ((Owner) obj).getKey().equals(getKey());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode();
+        }
+    }
+
+    /**
+     * Fetches textures by requesting profiles.
+     */
+    private static class ProfileTextureSource implements TextureSource {
+
+        @Override
+        @Nullable
+        public String fetch(Owner owner) throws Exception {
+            Profileable profileable = owner.getUniqueId() != null ? Profileable.of(owner.getUniqueId()) : Profileable.username(owner.getName());
+            try {
+                return profileable.getProfileValue();
+            } catch (UnknownPlayerException e) {
+                throw new UnknownProfileException(owner, e);
+            }
+        }
+    }
+
+    private static class Texture {
+
+        @Nullable
+        private final String value;
+        private final long fetchedAt;
+
+        private Texture(@Nullable String value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private boolean isExpired(long now) {
+            long ttl = TimeUnit.DAYS.toMillis(value != null ? TEXTURE_TTL_DAYS : MISSING_TEXTURE_TTL_DAYS);
+            return now - fetchedAt > ttl;
+        }
+    }
+}
@@ -27,14 +27,19 @@ import de.eintosti.buildsystem.event.world.BuildWorldLoadEvent;
 import de.eintosti.buildsystem.event.world.BuildWorldPostLoadEvent;
 import de.eintosti.buildsystem.event.world.BuildWorldPostUnloadEvent;
 import de.eintosti.buildsystem.event.world.BuildWorldUnloadEvent;
+import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.InventoryUtils;
 import de.eintosti.buildsystem.world.data.WorldData;
 import de.eintosti.buildsystem.world.data.WorldType;
 import de.eintosti.buildsystem.world.generator.CustomGenerator;
+import java.io.File;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -46,9 +51,9 @@ import org.bukkit.World;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 public class BuildWorld implements ConfigurationSerializable {
 
@@ -58,12 +63,19 @@ public class BuildWorld implements ConfigurationSerializable {
     private final WorldData worldData;
     private final long creationDate;
     private final CustomGenerator customGenerator;
-    private final List<Builder> builders;
+    /**
+     * The builders by their uuid, in the order they were added. The map is never modified but replaced whenever a builder is added or removed, so it can be read from any
+     * thread without locking.
+     */
+    private volatile Map<UUID, Builder> builders;
+    /**
+     * The builders whose uuid has not been resolved yet, by their lower-cased name. Replaced like {@link #builders}.
+     */
+    private volatile Map<String, Builder> unresolvedBuilders;
     private String name;
     private Builder creator;
-    private long seconds;
     private boolean loaded;
-    private BukkitTask unloadTask;
+    private boolean dirty = true;
 
     public BuildWorld(
             String name,
@@ -86,7 +98,8 @@ public class BuildWorld implements ConfigurationSerializable {
         );
         this.customGenerator = customGenerator;
         this.creationDate = creationDate;
-        this.builders = new ArrayList<>();
+        this.builders = Collections.emptyMap();
+        this.unresolvedBuilders = Collections.emptyMap();
 
         InventoryUtils inventoryUtils = plugin.getInventoryUtil();
         XMaterial material;
@@ -121,6 +134,7 @@ public class BuildWorld implements ConfigurationSerializable {
             material = XMaterial.PLAYER_HEAD;
         }
         worldData.material().set(material);
+        worldData.setChangeListener(this::onDataChange);
 
         manageUnload();
     }
@@ -143,7 +157,21 @@ public class BuildWorld implements ConfigurationSerializable {
         this.worldData = worldData;
         this.creationDate = creationDate;
         this.customGenerator = customGenerator;
-        this.builders = builders;
+        Map<UUID, Builder> builderMap = new LinkedHashMap<>();
+        Map<String, Builder> unresolvedBuilderMap = new LinkedHashMap<>();
+        for (Builder builder : builders) {
+            if (builder == null) {
+                continue;
+            }
+            if (builder.getUniqueId() != null) {
+                builderMap.put(builder.getUniqueId(), builder);
+            } else {
+                unresolvedBuilderMap.put(getUnresolvedKey(builder.getName()), builder);
+            }
+        }
+        this.builders = Collections.unmodifiableMap(builderMap);
+        this.unresolvedBuilders = Collections.unmodifiableMap(unresolvedBuilderMap);
+        worldData.setChangeListener(this::onDataChange);
 
         manageUnload();
     }
@@ -174,12 +202,16 @@ public class BuildWorld implements ConfigurationSerializable {
     public void setName(String name) {
         this.name = name;
         this.worldData.setWorldName(name);
+        this.dirty = true;
     }
 
     public Profileable asProfilable() {
-        return hasCreator()
+        if (!hasCreator()) {
+            return Profileable.username(name);
+        }
+        return creator.getUniqueId() != null
                 ? Profileable.of(creator.getUniqueId())
-                : Profileable.username(name);
+                : Profileable.username(creator.getName());
     }
 
     /**
@@ -210,6 +242,9 @@ public class BuildWorld implements ConfigurationSerializable {
      */
     public void setCreator(@Nullable Builder creator) {
         this.creator = creator;
+        this.dirty = true;
+        getChangeJournal().recordSet(name, "creator", creator != null ? creator.toString() : null);
+        plugin.getWorldManager().getWorldIndex().update(this);
     }
 
     /**
@@ -306,8 +341,11 @@ public class BuildWorld implements ConfigurationSerializable {
      *
      * @return the list of all builders
      */
+    @Unmodifiable
     public List<Builder> getBuilders() {
-        return builders;
+        List<Builder> builders = new ArrayList<>(this.builders.values());
+        builders.addAll(this.unresolvedBuilders.values());
+        return Collections.unmodifiableList(builders);
     }
 
     /**
@@ -352,10 +390,7 @@ public class BuildWorld implements ConfigurationSerializable {
      */
     @Nullable
     public Builder getBuilder(UUID uuid) {
-        return this.builders.parallelStream()
-                .filter(builder -> builder.getUniqueId().equals(uuid))
-                .findFirst()
-                .orElse(null);
+        return this.builders.get(uuid);
     }
 
     /**
@@ -365,7 +400,7 @@ public class BuildWorld implements ConfigurationSerializable {
      * @return Whether the player is a builder
      */
     public boolean isBuilder(UUID uuid) {
-        return this.builders.parallelStream().anyMatch(builder -> builder.getUniqueId().equals(uuid));
+        return this.builders.containsKey(uuid);
     }
 
     /**
@@ -380,31 +415,78 @@ public class BuildWorld implements ConfigurationSerializable {
     }
 
     /**
-     * Add a {@link Builder} to the current list of builders
+     * Add a {@link Builder} to the current list of builders. If the builder's uuid is known, a builder with the same name whose uuid has not been resolved yet is replaced.
      *
      * @param builder The builder object
      */
-    public void addBuilder(Builder builder) {
-        this.builders.add(builder);
+    public synchronized void addBuilder(Builder builder) {
+        String unresolvedKey = getUnresolvedKey(builder.getName());
+        if (builder.getUniqueId() != null) {
+            Map<UUID, Builder> builders = new LinkedHashMap<>(this.builders);
+            builders.put(builder.getUniqueId(), builder);
+            this.builders = Collections.unmodifiableMap(builders);
+            if (this.unresolvedBuilders.containsKey(unresolvedKey)) {
+                Map<String, Builder> unresolvedBuilders = new LinkedHashMap<>(this.unresolvedBuilders);
+                unresolvedBuilders.remove(unresolvedKey);
+                this.unresolvedBuilders = Collections.unmodifiableMap(unresolvedBuilders);
+            }
+        } else {
+            Map<String, Builder> unresolvedBuilders = new LinkedHashMap<>(this.unresolvedBuilders);
+            unresolvedBuilders.put(unresolvedKey, builder);
+            this.unresolvedBuilders = Collections.unmodifiableMap(unresolvedBuilders);
+        }
+        onBuildersChange();
     }
 
     /**
      * Remove a {@link Builder} from the current list of builders
      *
-     * @param builder The builder object
+     * @param uuid The builder's unique ID
      */
-    private void removeBuilder(Builder builder) {
-        this.builders.remove(builder);
+    public synchronized void removeBuilder(UUID uuid) {
+        if (!this.builders.containsKey(uuid)) {
+            return;
+        }
+
+        Map<UUID, Builder> builders = new LinkedHashMap<>(this.builders);
+        builders.remove(uuid);
+        this.builders = Collections.unmodifiableMap(builders);
+        onBuildersChange();
     }
 
     /**
-     * Add a {@link Builder} to the current list of builders
+     * Remove a {@link Builder} from the current list of builders, even if their uuid has not been resolved yet.
      *
-     * @param uuid The builder's unique ID
-     * @see BuildWorld#removeBuilder(Builder)
+     * @param builder The builder object
      */
-    public void removeBuilder(UUID uuid) {
-        removeBuilder(getBuilder(uuid));
+    public synchronized void removeBuilder(Builder builder) {
+        if (builder.getUniqueId() != null) {
+            removeBuilder(builder.getUniqueId());
+            return;
+        }
+
+        String unresolvedKey = getUnresolvedKey(builder.getName());
+        if (!this.unresolvedBuilders.containsKey(unresolvedKey)) {
+            return;
+        }
+
+        Map<String, Builder> unresolvedBuilders = new LinkedHashMap<>(this.unresolvedBuilders);
+        unresolvedBuilders.remove(unresolvedKey);
+        this.unresolvedBuilders = Collections.unmodifiableMap(unresolvedBuilders);
+        onBuildersChange();
+    }
+
+    private void onBuildersChange() {
+        this.dirty = true;
+        getChangeJournal().recordSet(name, "builders", saveBuilders());
+        plugin.getWorldManager().getWorldIndex().update(this);
+    }
+
+    /**
+     * Builders whose uuid has not been resolved yet are keyed by their lower-cased name, so that they do not replace each other.
+     */
+    private static String getUnresolvedKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     /***
@@ -443,33 +525,27 @@ public class BuildWorld implements ConfigurationSerializable {
     }
 
     public void manageUnload() {
-        if (!configValues.isUnloadWorlds()) {
-            this.loaded = true;
-            return;
-        }
-
-        this.seconds = configValues.getTimeUntilUnload();
         this.loaded = (getWorld() != null);
-        startUnloadTask();
-    }
-
-    private void startUnloadTask() {
         if (!configValues.isUnloadWorlds()) {
+            plugin.getWorldManager().getUnloadScheduler().cancel(this);
             return;
         }
 
-        this.unloadTask = Bukkit.getScheduler().runTaskLater(plugin, this::unload, 20L * seconds);
+        resetUnloadTask();
     }
 
     public void resetUnloadTask() {
-        if (this.unloadTask != null) {
-            this.unloadTask.cancel();
+        if (!configValues.isUnloadWorlds()) {
+            return;
         }
 
-        startUnloadTask();
+        plugin.getWorldManager().getUnloadScheduler().schedule(this);
     }
 
-    private void unload() {
+    /**
+     * Unloads the world if it is empty and not excluded from being unloaded. Called by the {@link WorldUnloadScheduler} once the world is due.
+     */
+    void unload() {
         World bukkitWorld = getWorld();
         if (bukkitWorld == null) {
             return;
@@ -480,13 +556,23 @@ public class BuildWorld implements ConfigurationSerializable {
             return;
         }
 
-        if (configValues.getBlackListedWorldsToUnload().contains(name) || isSpawnWorld(bukkitWorld)) {
+        if (isExcludedFromUnload(bukkitWorld)) {
             return;
         }
 
         forceUnload(true);
     }
 
+    /**
+     * Gets whether the world must never be unloaded automatically, because it is blacklisted or contains the spawn.
+     *
+     * @param bukkitWorld The world linked to this object
+     * @return {@code true} if the world must stay loaded, otherwise {@code false}
+     */
+    boolean isExcludedFromUnload(World bukkitWorld) {
+        return configValues.getBlackListedWorldsToUnload().contains(name) || isSpawnWorld(bukkitWorld);
+    }
+
     public void forceUnload(boolean save) {
         World bukkitWorld = getWorld();
         if (bukkitWorld == null) {
@@ -511,11 +597,13 @@ public class BuildWorld implements ConfigurationSerializable {
 
         this.worldData.lastUnloaded().set(System.currentTimeMillis());
         this.loaded = false;
-        this.unloadTask = null;
+        plugin.getWorldManager().getUnloadScheduler().cancel(this);
 
         Bukkit.getServer().getPluginManager().callEvent(new BuildWorldPostUnloadEvent(this));
 
         plugin.getLogger().info("*** Unloaded world \"" + name + "\" ***");
+        plugin.getWorldManager().getSnapshotStore().snapshotOnUnload(this);
+        plugin.getWorldManager().getRegionCompactor().compact(this);
     }
 
     private boolean isSpawnWorld(World bukkitWorld) {
@@ -540,11 +628,34 @@ public class BuildWorld implements ConfigurationSerializable {
         load();
     }
 
+    /**
+     * Loads the world. If the world is in {@link WorldColdStorage cold storage}, it is restored asynchronously first, in which case the world is loaded later.
+     */
     public void load() {
         if (isLoaded()) {
             return;
         }
 
+        plugin.getWorldManager().getColdStorage().whenAvailable(this, () -> {
+            if (!FileUtils.hasLinkedFiles(new File(Bukkit.getWorldContainer(), name))) {
+                loadBukkitWorld();
+                return;
+            }
+
+            // Region files shared with a template are copied on the I/O pool before the world is loaded
+            new BuildWorldCreator(plugin, this).materializeLinkedFilesAsync().thenAccept(success -> {
+                if (success) {
+                    Bukkit.getScheduler().runTask(plugin, this::loadBukkitWorld);
+                }
+            });
+        });
+    }
+
+    private void loadBukkitWorld() {
+        if (isLoaded()) {
+            return;
+        }
+
         BuildWorldLoadEvent loadEvent = new BuildWorldLoadEvent(this);
         Bukkit.getServer().getPluginManager().callEvent(loadEvent);
         if (loadEvent.isCancelled()) {
@@ -565,6 +676,58 @@ public class BuildWorld implements ConfigurationSerializable {
         resetUnloadTask();
     }
 
+    /**
+     * Gets whether the world or its {@link WorldData} has been changed since it was last saved to {@code worlds.yml}. Worlds are dirty when they are created or loaded, so
+     * they are serialized at least once.
+     *
+     * @return {@code true} if the world has to be saved, otherwise {@code false}
+     */
+    public boolean isDirty() {
+        return dirty || worldData.isDirty();
+    }
+
+    /**
+     * Marks the world as saved, i.e. not dirty.
+     */
+    public void markSaved() {
+        this.dirty = false;
+        this.worldData.markSaved();
+    }
+
+    /**
+     * Marks the world as dirty, e.g. because saving it failed, so that it is saved again.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    private WorldChangeJournal getChangeJournal() {
+        return plugin.getWorldManager().getChangeJournal();
+    }
+
+    private void onDataChange(String key, @Nullable Object value) {
+        getChangeJournal().recordSet(name, "data." + key, value);
+        switch (key) {
+            case "status":
+            case "private":
+            case "project":
+                plugin.getWorldManager().getWorldIndex().update(this);
+                break;
+        }
+        switch (key) {
+            case "status":
+            case "physics":
+            case "explosions":
+            case "mob-ai":
+            case "block-breaking":
+            case "block-placement":
+            case "block-interactions":
+            case "builders-enabled":
+                plugin.getWorldManager().getPolicyRegistry().update(this);
+                break;
+        }
+    }
+
     @Override
     public @NotNull Map<String, Object> serialize() {
         Map<String, Object> world = new HashMap<>();
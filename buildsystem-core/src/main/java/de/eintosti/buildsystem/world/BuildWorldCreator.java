@@ -20,6 +20,7 @@ package de.eintosti.buildsystem.world;
 import de.eintosti.buildsystem.BuildSystem;
 import de.eintosti.buildsystem.Messages;
 import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.util.DataVersionReader;
 import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.version.util.MinecraftVersion;
 import de.eintosti.buildsystem.world.data.WorldType;
@@ -34,6 +35,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Difficulty;
@@ -167,7 +170,13 @@ public class BuildWorldCreator {
                 new AbstractMap.SimpleEntry<>("%world%", worldName),
                 new AbstractMap.SimpleEntry<>("%type%", worldType.getName(player))
         );
-        finishPreparationsAndGenerate(buildWorld);
+
+        WorldPool worldPool = worldManager.getWorldPool();
+        if (worldPool.isPooled(worldType, customGenerator != null)) {
+            worldPool.claim(worldType, worldName);
+        }
+
+        finishPreparationsAndGenerate();
         teleportAfterCreation(player);
         Messages.sendMessage(player, "worlds_creation_finished");
     }
@@ -181,7 +190,7 @@ public class BuildWorldCreator {
     public void importWorld(Player player, boolean teleport) {
         BuildWorld buildWorld = createBuildWorldObject(player);
         worldManager.addBuildWorld(buildWorld);
-        finishPreparationsAndGenerate(buildWorld);
+        finishPreparationsAndGenerate();
         if (teleport) {
             teleportAfterCreation(player);
         }
@@ -204,31 +213,60 @@ public class BuildWorldCreator {
             return;
         }
 
-        BuildWorld buildWorld = createBuildWorldObject(player);
-        worldManager.addBuildWorld(buildWorld);
-
         Messages.sendMessage(player, "worlds_template_creation_started",
                 new AbstractMap.SimpleEntry<>("%world%", worldName),
                 new AbstractMap.SimpleEntry<>("%template%", template)
         );
-        FileUtils.copy(templateFile, worldFile);
-        Bukkit.createWorld(WorldCreator.name(worldName)
-                .type(org.bukkit.WorldType.FLAT)
-                .generateStructures(false));
-        teleportAfterCreation(player);
-        Messages.sendMessage(player, "worlds_creation_finished");
+        // The name is reserved until the world is registered, so no other world can be created in the same directory in the meantime
+        worldManager.reserveName(worldName);
+
+        ConfigValues configValues = plugin.getConfigValues();
+        // Linked files have to be copied before the world is loaded, so linking only saves anything if the world stays unloaded after its creation
+        boolean loadImmediately = !configValues.isUnloadWorlds() || configValues.isTeleportAfterCreation();
+        boolean linkRegionFiles = configValues.isTemplateLinkRegionFiles() && !loadImmediately;
+        CompletableFuture<Void> transfer = linkRegionFiles
+                ? FileUtils.linkRegionFilesAsync(templateFile, worldFile)
+                : FileUtils.copyAsync(templateFile, worldFile);
+
+        // The world is only registered once the copy has completed, so it cannot be loaded while it is incomplete
+        transfer.whenComplete((result, throwable) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    worldManager.releaseName(worldName);
+                    if (throwable != null) {
+                        plugin.getLogger().log(Level.SEVERE, "Unable to copy template \"" + template + "\" to \"" + worldName + "\"", throwable);
+                        FileUtils.deleteDirectory(worldFile);
+                        Messages.sendMessage(player, "worlds_template_creation_failed");
+                        return;
+                    }
+
+                    BuildWorld buildWorld = createBuildWorldObject(player);
+                    worldManager.addBuildWorld(buildWorld);
+
+                    // Linked worlds are loaded lazily, as loading a world requires its region files to be copied
+                    if (linkRegionFiles) {
+                        Messages.sendMessage(player, "worlds_creation_finished");
+                        return;
+                    }
+
+                    Bukkit.createWorld(WorldCreator.name(worldName)
+                            .type(org.bukkit.WorldType.FLAT)
+                            .generateStructures(false));
+                    teleportAfterCreation(player);
+                    Messages.sendMessage(player, "worlds_creation_finished");
+                })
+        );
     }
 
     /**
      * Certain {@link WorldType}s require modifications to the world after its generation.
      *
-     * @param buildWorld The build world object
+     * @return The generated world, or {@code null} if the world could not be generated
      */
-    private void finishPreparationsAndGenerate(BuildWorld buildWorld) {
-        WorldType worldType = buildWorld.getType();
+    @Nullable
+    World finishPreparationsAndGenerate() {
         World bukkitWorld = generateBukkitWorld();
         if (bukkitWorld == null) {
-            return;
+            return null;
         }
 
         switch (worldType) {
@@ -245,6 +283,7 @@ public class BuildWorldCreator {
             default:
                 break;
         }
+        return bukkitWorld;
     }
 
     @Nullable
@@ -269,6 +308,16 @@ public class BuildWorldCreator {
             return null;
         }
 
+        if (worldManager.getColdStorage().hasArchive(worldName)) {
+            plugin.getLogger().warning(String.format(Locale.ROOT, "\"%s\" is in cold storage and has to be restored before it can be loaded. Skipping...", worldName));
+            return null;
+        }
+
+        // Callers copy linked files on the I/O pool beforehand, so this only blocks if a world is loaded in a way which does not
+        if (!materializeLinkedFiles()) {
+            return null;
+        }
+
         WorldCreator worldCreator = new WorldCreator(worldName);
         org.bukkit.WorldType bukkitWorldType;
 
@@ -332,6 +381,46 @@ public class BuildWorldCreator {
         return bukkitWorld;
     }
 
+    /**
+     * Replaces the region files which the world shares with its template with private copies without blocking the calling thread.
+     *
+     * @return A future which is completed with {@code true} once the world can safely be loaded, or {@code false} if the files could not be copied
+     * @see #materializeLinkedFiles()
+     */
+    CompletableFuture<Boolean> materializeLinkedFilesAsync() {
+        return FileUtils.materializeLinkedFilesAsync(new File(Bukkit.getWorldContainer(), worldName)).handle((materialized, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to copy linked region files of \"" + worldName + "\"", throwable);
+                return false;
+            }
+
+            if (materialized > 0) {
+                plugin.getLogger().info("Copied " + materialized + " linked region files of \"" + worldName + "\"");
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Worlds created from a template may share their region files with the template. Before such a world is loaded, the shared files have to be replaced with private
+     * copies, as the server would otherwise write to the template as well.
+     *
+     * @return {@code true} if the world can safely be loaded, otherwise {@code false}
+     * @see FileUtils#linkRegionFilesAsync(File, File)
+     */
+    private boolean materializeLinkedFiles() {
+        try {
+            int materialized = FileUtils.materializeLinkedFiles(new File(Bukkit.getWorldContainer(), worldName));
+            if (materialized > 0) {
+                plugin.getLogger().info("Copied " + materialized + " linked region files of \"" + worldName + "\"");
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to copy linked region files of \"" + worldName + "\"", e);
+            return false;
+        }
+    }
+
     /**
      * Once a chunk has been loaded in a newer version of Minecraft, then it cannot be loaded in an older version again. Paper allows the server admin to bypass this check with
      * {@code }, so we do as well.
@@ -350,24 +439,10 @@ public class BuildWorldCreator {
      *
      * @return The world's data version if found, otherwise -1 if unable to parse
      * @see <a href="https://minecraft.wiki/wiki/Data_version">Data version</a>
+     * @see DataVersionReader
      */
     public int parseDataVersion() {
-        File levelFile = new File(Bukkit.getWorldContainer() + File.separator + worldName, "level.dat");
-        if (!levelFile.exists()) {
-            return -1;
-        }
-
-        try {
-            CompoundTag level = new Nbt().fromFile(levelFile);
-            CompoundTag data = level.get("Data");
-            IntTag dataVersion = data.getInt("DataVersion");
-
-            return dataVersion != null ? dataVersion.getValue() : -1;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return -1;
+        return DataVersionReader.getDataVersion(new File(Bukkit.getWorldContainer() + File.separator + worldName, "level.dat"));
     }
 
     /**
@@ -376,7 +451,9 @@ public class BuildWorldCreator {
      */
     private void updateDataVersion() {
         File levelFile = new File(Bukkit.getWorldContainer() + File.separator + worldName, "level.dat");
-        if (!levelFile.exists()) {
+        int serverVersion = plugin.getCraftBukkitVersion().getDataVersion();
+        int dataVersion = DataVersionReader.getDataVersion(levelFile);
+        if (dataVersion == -1 || dataVersion >= serverVersion) {
             return;
         }
 
@@ -384,16 +461,13 @@ public class BuildWorldCreator {
             Nbt nbt = new Nbt();
             CompoundTag level = nbt.fromFile(levelFile);
             CompoundTag data = level.get("Data");
-            IntTag dataVersion = data.getInt("DataVersion");
-            if (dataVersion == null) {
+            IntTag dataVersionTag = data.getInt("DataVersion");
+            if (dataVersionTag == null) {
                 return;
             }
 
-            int serverVersion = plugin.getCraftBukkitVersion().getDataVersion();
-            if (dataVersion.getValue() < serverVersion) {
-                dataVersion.setValue(serverVersion);
-                nbt.toFile(level, levelFile, CompressionType.GZIP);
-            }
+            dataVersionTag.setValue(serverVersion);
+            nbt.toFile(level, levelFile, CompressionType.GZIP);
         } catch (IOException e) {
             e.printStackTrace();
         }
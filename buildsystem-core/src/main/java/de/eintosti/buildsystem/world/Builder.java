@@ -17,6 +17,7 @@
  */
 package de.eintosti.buildsystem.world;
 
+import java.util.Objects;
 import java.util.UUID;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
@@ -34,11 +35,11 @@ public class Builder {
     /**
      * Creates a new {@link Builder} instance with the given uuid and name.
      *
-     * @param uuid The uuid
+     * @param uuid The uuid, or {@code null} if it has not been resolved yet
      * @param name The name
      * @return The builder
      */
-    public static Builder of(UUID uuid, String name) {
+    public static Builder of(@Nullable UUID uuid, String name) {
         return new Builder(uuid, name);
     }
 
@@ -55,7 +56,7 @@ public class Builder {
     /**
      * Creates a new {@link Builder} instance using a serialized string.
      * <p>
-     * The format of the string must be {@code <uuid>,<name>}.
+     * The format of the string must be {@code <uuid>,<name>}, where the uuid is {@code null} if it has not been resolved yet.
      *
      * @param serialized The serialized builder
      * @return The builder if all the input is valid, otherwise {@code null}
@@ -71,9 +72,17 @@ public class Builder {
             return null;
         }
 
-        return Builder.of(UUID.fromString(parts[0]), parts[1]);
+        return Builder.of(parts[0].equals("null") ? null : UUID.fromString(parts[0]), parts[1]);
     }
 
+    /**
+     * Gets the uuid of the builder.
+     * <p>
+     * Builders from legacy records only have a name until their uuid has been resolved by the {@link de.eintosti.buildsystem.player.ProfileResolver}.
+     *
+     * @return The uuid, or {@code null} if it has not been resolved yet
+     */
+    @Nullable
     public UUID getUniqueId() {
         return uuid;
     }
@@ -88,7 +97,7 @@ public class Builder {
 
     @Override
     public String toString() {
-        return uuid.toString() + "," + name;
+        return uuid + "," + name;
     }
 
     @Override
@@ -98,6 +107,6 @@ public class Builder {
         }
 
         Builder other = (Builder) obj;
-        return other.getUniqueId().equals(this.uuid) && other.getName().equals(this.name);
+        return Objects.equals(other.getUniqueId(), this.uuid) && other.getName().equals(this.name);
     }
 }
\ No newline at end of file
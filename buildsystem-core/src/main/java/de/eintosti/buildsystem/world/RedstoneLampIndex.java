@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.util.LongHashSet;
+import de.eintosti.buildsystem.util.LongObjectHashMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps track of the redstone lamps which have been placed as powered custom blocks, so that they stay lit.
+ * <p>
+ * The positions are packed into {@code long}s and kept in primitive hash sets, one for each chunk containing such a lamp, which makes lookups from physics events
+ * allocation-free. The lamps of a world are stored in a file inside its directory, which is read when the world is loaded and written when it is saved or unloaded.
+ * <p>
+ * Lamps can be replaced without a {@link org.bukkit.event.block.BlockBreakEvent}, e.g. by WorldEdit, explosions or pistons. Positions which no longer hold a redstone lamp
+ * are therefore dropped once they are looked up, and positions in loaded chunks are checked before the lamps are written.
+ * <p>
+ * Must only be used on the main thread.
+ */
+public class RedstoneLampIndex implements Listener {
+
+    private static final String FILE_NAME = "buildsystem-lamps.dat";
+    private static final int MAGIC = 0x424C4D50;
+    private static final int VERSION = 1;
+
+    private final BuildSystem plugin;
+    private final Map<World, WorldLamps> worlds;
+
+    public RedstoneLampIndex(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.worlds = new IdentityHashMap<>();
+
+        Bukkit.getWorlds().forEach(this::load);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets whether the given block has been placed as a powered redstone lamp. If the block has been replaced by anything but a redstone lamp since, it is removed.
+     *
+     * @param block The block
+     * @return {@code true} if the block is a custom redstone lamp, otherwise {@code false}
+     */
+    public boolean contains(Block block) {
+        WorldLamps lamps = worlds.get(block.getWorld());
+        if (lamps == null) {
+            return false;
+        }
+
+        int x = block.getX();
+        int z = block.getZ();
+        LongHashSet chunk = lamps.chunks.get(chunkKey(x >> 4, z >> 4));
+        if (chunk == null || !chunk.contains(blockKey(x, block.getY(), z))) {
+            return false;
+        }
+
+        if (!isRedstoneLamp(block.getType())) {
+            remove(block);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Marks the given block as a powered redstone lamp.
+     *
+     * @param block The block
+     */
+    public void add(Block block) {
+        WorldLamps lamps = worlds.computeIfAbsent(block.getWorld(), world -> new WorldLamps());
+        int x = block.getX();
+        int z = block.getZ();
+        long chunkKey = chunkKey(x >> 4, z >> 4);
+        LongHashSet chunk = lamps.chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new LongHashSet();
+            lamps.chunks.put(chunkKey, chunk);
+        }
+
+        if (chunk.add(blockKey(x, block.getY(), z))) {
+            lamps.dirty = true;
+        }
+    }
+
+    /**
+     * Removes the given block from the powered redstone lamps, e.g. because it has been broken.
+     *
+     * @param block The block
+     */
+    public void remove(Block block) {
+        WorldLamps lamps = worlds.get(block.getWorld());
+        if (lamps == null) {
+            return;
+        }
+
+        int x = block.getX();
+        int z = block.getZ();
+        long chunkKey = chunkKey(x >> 4, z >> 4);
+        LongHashSet chunk = lamps.chunks.get(chunkKey);
+        if (chunk == null || !chunk.remove(blockKey(x, block.getY(), z))) {
+            return;
+        }
+
+        if (chunk.isEmpty()) {
+            lamps.chunks.remove(chunkKey);
+        }
+        lamps.dirty = true;
+    }
+
+    /**
+     * Writes the lamps of all worlds which have changed.
+     */
+    public void close() {
+        worlds.forEach(this::save);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        load(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        WorldLamps lamps = worlds.get(event.getWorld());
+        if (lamps != null) {
+            save(event.getWorld(), lamps);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WorldLamps lamps = worlds.remove(event.getWorld());
+        if (lamps != null) {
+            save(event.getWorld(), lamps);
+        }
+    }
+
+    private void load(World world) {
+        File file = new File(world.getWorldFolder(), FILE_NAME);
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                plugin.getLogger().warning("Ignoring redstone lamps of \"" + world.getName() + "\" which were written in an unknown format");
+                return;
+            }
+
+            int chunkCount = in.readInt();
+            WorldLamps lamps = new WorldLamps();
+            for (int i = 0; i < chunkCount; i++) {
+                long chunkKey = in.readLong();
+                int lampCount = in.readInt();
+                LongHashSet chunk = new LongHashSet(lampCount);
+                for (int j = 0; j < lampCount; j++) {
+                    chunk.add(in.readLong());
+                }
+                lamps.chunks.put(chunkKey, chunk);
+            }
+            worlds.put(world, lamps);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to load redstone lamps of \"" + world.getName() + "\"", e);
+        }
+    }
+
+    private void save(World world, WorldLamps lamps) {
+        prune(world, lamps);
+        if (!lamps.dirty) {
+            return;
+        }
+
+        File file = new File(world.getWorldFolder(), FILE_NAME);
+        try {
+            if (lamps.chunks.isEmpty()) {
+                Files.deleteIfExists(file.toPath());
+                lamps.dirty = false;
+                return;
+            }
+
+            File tempFile = new File(world.getWorldFolder(), FILE_NAME + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(lamps.chunks.size());
+                for (long chunkKey : lamps.chunks.keys()) {
+                    long[] blockKeys = lamps.chunks.get(chunkKey).toArray();
+                    out.writeLong(chunkKey);
+                    out.writeInt(blockKeys.length);
+                    for (long blockKey : blockKeys) {
+                        out.writeLong(blockKey);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lamps.dirty = false;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to save redstone lamps of \"" + world.getName() + "\"", e);
+        }
+    }
+
+    /**
+     * Removes all positions in loaded chunks which no longer hold a redstone lamp. Positions in unloaded chunks are only checked once they are looked up, as loading the
+     * chunks would be too expensive.
+     */
+    private void prune(World world, WorldLamps lamps) {
+        for (long chunkKey : lamps.chunks.keys()) {
+            if (!world.isChunkLoaded((int) (chunkKey >> 32), (int) chunkKey)) {
+                continue;
+            }
+
+            LongHashSet chunk = lamps.chunks.get(chunkKey);
+            for (long blockKey : chunk.toArray()) {
+                Block block = world.getBlockAt(blockX(blockKey), blockY(blockKey), blockZ(blockKey));
+                if (!isRedstoneLamp(block.getType())) {
+                    chunk.remove(blockKey);
+                    lamps.dirty = true;
+                }
+            }
+
+            if (chunk.isEmpty()) {
+                lamps.chunks.remove(chunkKey);
+            }
+        }
+    }
+
+    /**
+     * Gets whether the given material is a redstone lamp, including the lit and unlit lamps of legacy versions.
+     */
+    private static boolean isRedstoneLamp(Material material) {
+        return material.name().startsWith("REDSTONE_LAMP");
+    }
+
+    /**
+     * Packs the given chunk coordinates into a single {@code long}.
+     */
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the given block coordinates into a single {@code long}, using 26 bits for x and z and 12 bits for y.
+     */
+    private static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int blockX(long blockKey) {
+        return (int) (blockKey >> 38);
+    }
+
+    private static int blockY(long blockKey) {
+        return (int) (blockKey << 52 >> 52);
+    }
+
+    private static int blockZ(long blockKey) {
+        return (int) (blockKey << 26 >> 38);
+    }
+
+    private static class WorldLamps {
+
+        private final LongObjectHashMap<LongHashSet> chunks = new LongObjectHashMap<>();
+        private boolean dirty;
+    }
+}
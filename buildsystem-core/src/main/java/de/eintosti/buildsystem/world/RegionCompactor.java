@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import com.google.common.collect.ImmutableSet;
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.world.data.WorldType;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.bukkit.Bukkit;
+
+/**
+ * Removes chunks from the region files of unloaded {@link WorldType#VOID void} and {@link WorldType#FLAT flat} worlds which are identical to what the world's generator
+ * would produce, and rewrites the region files without any unused sectors.
+ * <p>
+ * A chunk is only removed if its block sections are identical to the most common sections of the world, it only contains blocks the generator places and it does not
+ * contain any block entities, entities or scheduled ticks. Removed chunks are generated again once they are loaded.
+ *
+ * @see <a href="https://minecraft.wiki/w/Region_file_format">Region file format</a>
+ */
+public class RegionCompactor {
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+
+    private static final Set<String> SECTION_TAGS = ImmutableSet.of("sections", "Sections");
+    private static final Set<String> PALETTE_TAGS = ImmutableSet.of("palette", "Palette");
+    private static final Set<String> MODIFICATION_TAGS = ImmutableSet.of(
+            "block_entities", "TileEntities", "Entities", "block_ticks", "fluid_ticks", "TileTicks", "LiquidTicks"
+    );
+
+    private static final Set<String> VOID_BLOCKS = ImmutableSet.of("minecraft:air", "minecraft:cave_air", "minecraft:void_air");
+    private static final Set<String> FLAT_BLOCKS = ImmutableSet.<String>builder()
+            .addAll(VOID_BLOCKS)
+            .add("minecraft:bedrock", "minecraft:dirt", "minecraft:grass_block")
+            .build();
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final WorldFileQueue fileQueue;
+    private final ExecutorService compactExecutor;
+
+    public RegionCompactor(BuildSystem plugin, WorldFileQueue fileQueue) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.fileQueue = fileQueue;
+        this.compactExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-Compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Compacts the region files of the given world in the background, if compaction is enabled and the world's generator is known. The world cannot be loaded until the
+     * compaction has finished.
+     *
+     * @param buildWorld The world to compact, which must be unloaded
+     */
+    public void compact(BuildWorld buildWorld) {
+        if (!configValues.isCompactionEnabled() || buildWorld.getWorld() != null) {
+            return;
+        }
+
+        Set<String> generatedBlocks = getGeneratedBlocks(buildWorld.getType());
+        if (generatedBlocks == null) {
+            return;
+        }
+
+        String worldName = buildWorld.getName();
+        File regionDirectory = new File(Bukkit.getWorldContainer(), worldName + File.separator + "region");
+        fileQueue.submit(buildWorld, () -> {
+            try {
+                compact(worldName, regionDirectory, generatedBlocks);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to compact the region files of \"" + worldName + "\"", e);
+                throw new CompletionException(e);
+            }
+        }, compactExecutor);
+    }
+
+    private Set<String> getGeneratedBlocks(WorldType worldType) {
+        switch (worldType) {
+            case VOID:
+                return VOID_BLOCKS;
+            case FLAT:
+                return FLAT_BLOCKS;
+            default:
+                return null;
+        }
+    }
+
+    private void compact(String worldName, File regionDirectory, Set<String> generatedBlocks) throws IOException {
+        File[] regionFiles = regionDirectory.listFiles((dir, name) -> name.endsWith(".mca"));
+        if (regionFiles == null || regionFiles.length == 0) {
+            return;
+        }
+
+        // Find the sections which most chunks have in common, which are the sections produced by the generator
+        Map<File, ChunkInfo[]> regions = new HashMap<>();
+        Map<String, Integer> sectionCounts = new HashMap<>();
+        for (File regionFile : regionFiles) {
+            ChunkInfo[] chunks = readRegion(regionFile);
+            if (chunks == null) {
+                plugin.getLogger().warning("Skipping malformed region file " + regionFile.getName() + " of \"" + worldName + "\"");
+                continue;
+            }
+            regions.put(regionFile, chunks);
+            for (ChunkInfo chunk : chunks) {
+                if (chunk != null && chunk.sectionHash != null) {
+                    sectionCounts.merge(chunk.sectionHash, 1, Integer::sum);
+                }
+            }
+        }
+
+        String generatedSections = sectionCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        if (generatedSections == null) {
+            return;
+        }
+
+        long reclaimedBytes = 0;
+        int removedChunks = 0;
+        for (Map.Entry<File, ChunkInfo[]> entry : regions.entrySet()) {
+            File regionFile = entry.getKey();
+            ChunkInfo[] chunks = entry.getValue();
+
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                ChunkInfo chunk = chunks[i];
+                if (chunk != null && chunk.isGenerated(generatedSections, generatedBlocks)) {
+                    chunks[i] = null;
+                    removedChunks++;
+                }
+            }
+
+            long oldSize = regionFile.length();
+            reclaimedBytes += oldSize - rewriteRegion(regionFile, chunks);
+        }
+
+        plugin.getLogger().info(String.format(Locale.ROOT,
+                "Compacted region files of \"%s\": removed %d chunk(s), reclaimed %d KiB", worldName, removedChunks, reclaimedBytes / 1024
+        ));
+    }
+
+    /**
+     * Reads the header of a region file and inspects every chunk stored in it.
+     *
+     * @param regionFile The region file
+     * @return The chunks of the region, with {@code null} for chunks which have not been generated, or {@code null} if the region file is malformed and must not be
+     *         rewritten
+     */
+    private ChunkInfo[] readRegion(File regionFile) throws IOException {
+        ChunkInfo[] chunks = new ChunkInfo[CHUNKS_PER_REGION];
+        try (RandomAccessFile file = new RandomAccessFile(regionFile, "r")) {
+            if (file.length() < HEADER_SIZE) {
+                return chunks;
+            }
+
+            byte[] header = new byte[HEADER_SIZE];
+            file.readFully(header);
+            ByteBuffer buffer = ByteBuffer.wrap(header);
+
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                int location = buffer.getInt(i * 4);
+                int timestamp = buffer.getInt(SECTOR_SIZE + i * 4);
+                int offset = location >>> 8;
+                int sectors = location & 0xFF;
+                if (location == 0) {
+                    continue;
+                }
+
+                if (offset < 2 || sectors == 0 || (long) offset * SECTOR_SIZE + 4 > file.length()) {
+                    return null;
+                }
+
+                file.seek((long) offset * SECTOR_SIZE);
+                int length = file.readInt();
+                if (length <= 0 || length + 4 > sectors * SECTOR_SIZE || (long) offset * SECTOR_SIZE + 4 + length > file.length()) {
+                    return null;
+                }
+
+                byte[] data = new byte[length];
+                file.readFully(data);
+                chunks[i] = inspectChunk(data, offset, timestamp);
+            }
+        }
+        return chunks;
+    }
+
+    private ChunkInfo inspectChunk(byte[] data, int offset, int timestamp) {
+        ChunkInfo chunk = new ChunkInfo(offset, data.length + 4, timestamp);
+        int compression = data[0];
+        InputStream in = new ByteArrayInputStream(data, 1, data.length - 1);
+        try {
+            switch (compression) {
+                case COMPRESSION_GZIP:
+                    in = new GZIPInputStream(in);
+                    break;
+                case COMPRESSION_ZLIB:
+                    in = new InflaterInputStream(in);
+                    break;
+                case COMPRESSION_NONE:
+                    break;
+                default:
+                    // Chunks which are stored externally or use another compression are always kept
+                    return chunk;
+            }
+
+            new ChunkReader(in, chunk).read();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // Chunks which cannot be read are kept as they are
+            chunk.modified = true;
+        }
+        return chunk;
+    }
+
+    /**
+     * Writes the given chunks into the region file without leaving any unused sectors in between. If no chunks are left, the region file is deleted.
+     *
+     * @param regionFile The region file
+     * @param chunks     The chunks to keep
+     * @return The new size of the region file
+     */
+    private long rewriteRegion(File regionFile, ChunkInfo[] chunks) throws IOException {
+        boolean empty = true;
+        for (ChunkInfo chunk : chunks) {
+            if (chunk != null) {
+                empty = false;
+                break;
+            }
+        }
+
+        if (empty) {
+            Files.delete(regionFile.toPath());
+            return 0;
+        }
+
+        File tempFile = new File(regionFile.getParentFile(), regionFile.getName() + ".tmp");
+        long size;
+        try (RandomAccessFile source = new RandomAccessFile(regionFile, "r"); RandomAccessFile file = new RandomAccessFile(tempFile, "rw")) {
+            file.setLength(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int offset = 2;
+
+            file.seek(HEADER_SIZE);
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                ChunkInfo chunk = chunks[i];
+                if (chunk == null) {
+                    continue;
+                }
+
+                int sectors = (chunk.length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+                byte[] data = new byte[sectors * SECTOR_SIZE];
+                source.seek((long) chunk.offset * SECTOR_SIZE);
+                source.readFully(data, 0, chunk.length);
+                file.write(data);
+
+                header.putInt(i * 4, (offset << 8) | sectors);
+                header.putInt(SECTOR_SIZE + i * 4, chunk.timestamp);
+                offset += sectors;
+            }
+
+            file.seek(0);
+            file.write(header.array());
+            size = file.length();
+        }
+
+        Files.move(tempFile.toPath(), regionFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    /**
+     * The location of a chunk in its region file and the result of inspecting its data.
+     */
+    private static class ChunkInfo {
+
+        /**
+         * The sector the chunk starts at.
+         */
+        private final int offset;
+        /**
+         * The length of the chunk in bytes, including the length and compression prefix.
+         */
+        private final int length;
+        private final int timestamp;
+        private final Set<String> blocks;
+
+        private String sectionHash;
+        private boolean modified;
+
+        private ChunkInfo(int offset, int length, int timestamp) {
+            this.offset = offset;
+            this.length = length;
+            this.timestamp = timestamp;
+            this.blocks = new HashSet<>();
+        }
+
+        private boolean isGenerated(String generatedSections, Set<String> generatedBlocks) {
+            return !modified && generatedSections.equals(sectionHash) && generatedBlocks.containsAll(blocks);
+        }
+    }
+
+    /**
+     * Streams the NBT data of a chunk, hashing its block sections and collecting the names of the blocks in its palettes.
+     */
+    private static class ChunkReader {
+
+        private static final int TAG_END = 0;
+        private static final int TAG_BYTE_ARRAY = 7;
+        private static final int TAG_STRING = 8;
+        private static final int TAG_LIST = 9;
+        private static final int TAG_COMPOUND = 10;
+
+        private final DigestInputStream digestStream;
+        private final DataInputStream in;
+        private final ChunkInfo chunk;
+        private final byte[] buffer = new byte[8192];
+
+        private boolean hashing;
+
+        private ChunkReader(InputStream in, ChunkInfo chunk) throws NoSuchAlgorithmException {
+            this.digestStream = new DigestInputStream(in, MessageDigest.getInstance("SHA-1"));
+            this.digestStream.on(false);
+            this.in = new DataInputStream(digestStream);
+            this.chunk = chunk;
+        }
+
+        private void read() throws IOException {
+            if (in.readByte() != TAG_COMPOUND) {
+                throw new IOException("Chunk is not a compound");
+            }
+            in.skipBytes(in.readUnsignedShort());
+            readPayload(TAG_COMPOUND, false);
+        }
+
+        private void readPayload(int tagType, boolean inPalette) throws IOException {
+            switch (tagType) {
+                case 1: // Byte
+                    readFully(1);
+                    break;
+                case 2: // Short
+                    readFully(2);
+                    break;
+                case 3: // Int
+                case 5: // Float
+                    readFully(4);
+                    break;
+                case 4: // Long
+                case 6: // Double
+                    readFully(8);
+                    break;
+                case TAG_BYTE_ARRAY:
+                    readFully(in.readInt());
+                    break;
+                case TAG_STRING:
+                    readFully(in.readUnsignedShort());
+                    break;
+                case TAG_LIST: {
+                    int elementType = in.readByte();
+                    int length = in.readInt();
+                    for (int i = 0; i < length; i++) {
+                        readPayload(elementType, inPalette);
+                    }
+                    break;
+                }
+                case TAG_COMPOUND:
+                    readCompound(inPalette);
+                    break;
+                case 11: // Int array
+                    readFully(in.readInt() * 4L);
+                    break;
+                case 12: // Long array
+                    readFully(in.readInt() * 8L);
+                    break;
+                default:
+                    throw new IOException("Unknown NBT tag type " + tagType);
+            }
+        }
+
+        private void readCompound(boolean isPaletteEntry) throws IOException {
+            int entryType;
+            while ((entryType = in.readByte()) != TAG_END) {
+                String name = in.readUTF();
+
+                if (isPaletteEntry && entryType == TAG_STRING && name.equals("Name")) {
+                    chunk.blocks.add(in.readUTF());
+                    continue;
+                }
+
+                // Legacy chunks store their blocks as ids without a palette, so they cannot be checked
+                if (entryType == TAG_BYTE_ARRAY && name.equals("Blocks")) {
+                    chunk.modified = true;
+                }
+
+                if (entryType == TAG_LIST && MODIFICATION_TAGS.contains(name)) {
+                    int elementType = in.readByte();
+                    int length = in.readInt();
+                    if (length > 0) {
+                        chunk.modified = true;
+                    }
+                    for (int i = 0; i < length; i++) {
+                        readPayload(elementType, false);
+                    }
+                    continue;
+                }
+
+                if (entryType == TAG_LIST && SECTION_TAGS.contains(name) && !hashing) {
+                    this.hashing = true;
+                    digestStream.on(true);
+                    readPayload(entryType, false);
+                    digestStream.on(false);
+                    this.hashing = false;
+                    chunk.sectionHash = toHex(digestStream.getMessageDigest().digest());
+                    continue;
+                }
+
+                readPayload(entryType, entryType == TAG_LIST && PALETTE_TAGS.contains(name));
+            }
+        }
+
+        private void readFully(long bytes) throws IOException {
+            while (bytes > 0) {
+                int length = (int) Math.min(bytes, buffer.length);
+                in.readFully(buffer, 0, length);
+                bytes -= length;
+            }
+        }
+
+        private static String toHex(byte[] bytes) {
+            StringBuilder builder = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                builder.append(String.format(Locale.ROOT, "%02x", b));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records world renames which have been started but whose changes to {@code worlds.yml} and {@code spawn.yml} have not been written yet.
+ * <p>
+ * If the server stops in the middle of a rename, the entries are used to either complete or roll back the rename the next time the plugin is enabled. A rename whose directory
+ * had to be copied is marked as {@link #markCopied(String, String) copied} once the copy is complete, so that it is completed rather than rolled back, even if the old
+ * directory still exists.
+ *
+ * @see WorldManager#renameWorld(org.bukkit.entity.Player, BuildWorld, String)
+ */
+class RenameJournal {
+
+    private static final String SEPARATOR = "\t";
+    private static final String COPIED = "copied";
+
+    private final Path file;
+
+    RenameJournal(BuildSystem plugin) {
+        this.file = new File(plugin.getDataFolder(), "rename.journal").toPath();
+    }
+
+    /**
+     * Records that the world with the given name is about to be renamed. The entry is synced to disk before this method returns.
+     *
+     * @param oldName The current name of the world
+     * @param newName The name the world is renamed to
+     * @throws IOException If the entry could not be written
+     */
+    synchronized void begin(String oldName, String newName) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file,
+                Collections.singletonList(oldName + SEPARATOR + newName),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC
+        );
+    }
+
+    /**
+     * Records that the directory of a renamed world has been completely copied to its new name, so the old directory can be deleted. The entry is synced to disk before this
+     * method returns.
+     *
+     * @param oldName The previous name of the world
+     * @param newName The new name of the world
+     * @throws IOException If the entry could not be written
+     */
+    synchronized void markCopied(String oldName, String newName) throws IOException {
+        List<Rename> renames = read();
+        for (Rename rename : renames) {
+            if (rename.matches(oldName, newName)) {
+                rename.copied = true;
+            }
+        }
+        write(renames, true);
+    }
+
+    /**
+     * Removes the entry of a rename whose changes have been fully written or rolled back.
+     *
+     * @param oldName The previous name of the world
+     * @param newName The new name of the world
+     */
+    synchronized void end(String oldName, String newName) {
+        List<Rename> renames = read();
+        renames.removeIf(rename -> rename.matches(oldName, newName));
+
+        try {
+            write(renames, false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets all renames which have been started but not ended, in the order they were started.
+     *
+     * @return The renames
+     */
+    synchronized List<Rename> read() {
+        List<Rename> renames = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return renames;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(SEPARATOR);
+                if (parts.length >= 2) {
+                    renames.add(new Rename(parts[0], parts[1], parts.length > 2 && parts[2].equals(COPIED)));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return renames;
+    }
+
+    private void write(List<Rename> renames, boolean sync) throws IOException {
+        if (renames.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (Rename rename : renames) {
+            lines.add(rename.oldName + SEPARATOR + rename.newName + (rename.copied ? SEPARATOR + COPIED : ""));
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (sync) {
+            Files.write(temp, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        } else {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static class Rename {
+
+        private final String oldName;
+        private final String newName;
+        private boolean copied;
+
+        private Rename(String oldName, String newName, boolean copied) {
+            this.oldName = oldName;
+            this.newName = newName;
+            this.copied = copied;
+        }
+
+        String getOldName() {
+            return oldName;
+        }
+
+        String getNewName() {
+            return newName;
+        }
+
+        /**
+         * Gets whether the world's directory has been completely copied to the new name.
+         *
+         * @return {@code true} if the rename must be completed, otherwise {@code false}
+         */
+        boolean isCopied() {
+            return copied;
+        }
+
+        private boolean matches(String oldName, String newName) {
+            return this.oldName.equals(oldName) && this.newName.equals(newName);
+        }
+    }
+}
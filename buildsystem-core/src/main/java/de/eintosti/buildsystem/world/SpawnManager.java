@@ -20,27 +20,30 @@ package de.eintosti.buildsystem.world;
 import com.cryptomorin.xseries.XSound;
 import com.cryptomorin.xseries.messages.Titles;
 import de.eintosti.buildsystem.BuildSystem;
-import de.eintosti.buildsystem.config.SpawnConfig;
+import de.eintosti.buildsystem.storage.StorageBackend;
+import de.eintosti.buildsystem.storage.StorageManager;
 import io.papermc.lib.PaperLib;
+import java.util.concurrent.CompletionException;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 public class SpawnManager {
 
     private final BuildSystem plugin;
     private final WorldManager worldManager;
-    private final SpawnConfig spawnConfig;
+    private final StorageManager storageManager;
 
     private String spawnName;
     private Location spawn;
+    private boolean changed;
 
     public SpawnManager(BuildSystem plugin) {
         this.plugin = plugin;
         this.worldManager = plugin.getWorldManager();
-        this.spawnConfig = new SpawnConfig(plugin);
+        this.storageManager = plugin.getStorageManager();
     }
 
     public boolean teleport(Player player) {
@@ -82,19 +85,70 @@ public class SpawnManager {
     public void set(Location location, String worldName) {
         this.spawn = location;
         this.spawnName = worldName;
+        this.changed = true;
     }
 
     public void remove() {
         this.spawn = null;
+        this.changed = true;
     }
 
+    /**
+     * Moves the spawn to the world with the new name, if the spawn is located in the world which has been renamed.
+     * <p>
+     * The stored spawn is updated and saved as well, so this can be called before the spawn has been {@link #load() loaded}.
+     *
+     * @param oldName The previous name of the world
+     * @param newName The new name of the world
+     */
+    public void renameWorld(String oldName, String newName) {
+        if (spawn != null && oldName.equals(spawnName)) {
+            this.spawnName = newName;
+            this.spawn = new Location(Bukkit.getWorld(newName), spawn.getX(), spawn.getY(), spawn.getZ(), spawn.getYaw(), spawn.getPitch());
+        }
+
+        storageManager.submit(backend -> {
+            String string = backend.loadSpawn();
+            if (string != null && string.startsWith(oldName + ":")) {
+                backend.saveSpawn(newName + string.substring(oldName.length()));
+            }
+        });
+    }
+
+    /**
+     * Saves the spawn, if it has been set or removed since it was last saved.
+     */
     public void save() {
-        spawnConfig.saveSpawn(spawn);
+        if (!changed) {
+            return;
+        }
+
+        String string = serializeSpawn();
+        storageManager.submit(backend -> backend.saveSpawn(string));
+        this.changed = false;
+    }
+
+    @Nullable
+    private String serializeSpawn() {
+        if (spawn == null) {
+            return null;
+        }
+
+        return spawnName + ":"
+                + spawn.getX() + ":"
+                + spawn.getY() + ":"
+                + spawn.getZ() + ":"
+                + spawn.getYaw() + ":"
+                + spawn.getPitch();
     }
 
     public void load() {
-        FileConfiguration configuration = spawnConfig.getFile();
-        String string = configuration.getString("spawn");
+        String string;
+        try {
+            string = storageManager.supply(StorageBackend::loadSpawn).join();
+        } catch (CompletionException e) {
+            return;
+        }
 
         if (string == null || string.trim().equals("")) {
             return;
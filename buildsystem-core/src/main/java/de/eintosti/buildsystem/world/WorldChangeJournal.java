@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An append-only journal of all changes made to worlds since they were last saved, so that no changes are lost if the server crashes between two saves.
+ * <p>
+ * Every change is recorded as a small binary record with a sequence number. Records are buffered and written to the current segment file, which is synced to disk every
+ * {@value #FLUSH_INTERVAL} milliseconds. When worlds are saved, a new segment is started and the previous ones are deleted once the save has been written. On startup, all
+ * remaining segments are replayed over the stored worlds.
+ */
+public class WorldChangeJournal {
+
+    private static final long FLUSH_INTERVAL = 250;
+    private static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024;
+    private static final String SEGMENT_EXTENSION = ".journal";
+
+    private static final byte SET = 0;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte BOOLEAN_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte INTEGER_VALUE = 4;
+
+    private final BuildSystem plugin;
+    private final File directory;
+    private final ScheduledExecutorService journalExecutor;
+    private final Queue<Record> pendingRecords;
+    private final AtomicLong sequence;
+
+    /**
+     * Segments which have been closed, but whose changes have not been saved yet. Only accessed by the journal thread.
+     */
+    private final List<File> closedSegments;
+    private FileChannel segment;
+    private File segmentFile;
+
+    public WorldChangeJournal(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "journal");
+        this.journalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pendingRecords = new ConcurrentLinkedQueue<>();
+        this.sequence = new AtomicLong();
+        this.closedSegments = new ArrayList<>();
+    }
+
+    /**
+     * Records that a single value of a world has been changed.
+     *
+     * @param worldName The name of the world
+     * @param path      The path of the value, relative to the world's serialized form
+     * @param value     The new value in its serialized form, or {@code null} if the value was removed
+     */
+    void recordSet(String worldName, String path, @Nullable Object value) {
+        pendingRecords.add(new Record(sequence.incrementAndGet(), SET, worldName, path, value));
+    }
+
+    /**
+     * Records that a world has been added or replaced as a whole.
+     *
+     * @param buildWorld The world
+     */
+    void recordPut(BuildWorld buildWorld) {
+        YamlConfiguration world = new YamlConfiguration();
+        buildWorld.serialize().forEach(world::set);
+        pendingRecords.add(new Record(sequence.incrementAndGet(), PUT, buildWorld.getName(), null, world.saveToString()));
+    }
+
+    /**
+     * Records that a world has been removed.
+     *
+     * @param worldName The name of the world
+     */
+    void recordRemove(String worldName) {
+        pendingRecords.add(new Record(sequence.incrementAndGet(), REMOVE, worldName, null, null));
+    }
+
+    /**
+     * Gets whether there are records left over from before the last shutdown, which have to be {@link #replay replayed}.
+     *
+     * @return {@code true} if there are segments on disk, otherwise {@code false}
+     */
+    boolean hasSegments() {
+        File[] segments = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION));
+        return segments != null && segments.length > 0;
+    }
+
+    /**
+     * Applies all records which are left over from before the last shutdown to the given configuration. Must be called before the journal is {@link #start() started}.
+     *
+     * @param configuration The configuration containing all worlds at {@code worlds.<name>}
+     * @param changedWorlds The names of all worlds which have been changed by the journal are added to this set
+     * @param removedWorlds The names of all worlds which have been removed by the journal are added to this set
+     */
+    void replay(ConfigurationSection configuration, Set<String> changedWorlds, Set<String> removedWorlds) {
+        File[] segments = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION));
+        if (segments != null && segments.length > 0) {
+            Arrays.sort(segments);
+            int records = 0;
+            for (File segment : segments) {
+                records += replaySegment(segment, configuration, changedWorlds, removedWorlds);
+            }
+            // The records stay on disk until the replayed changes have been saved
+            closedSegments.addAll(Arrays.asList(segments));
+            plugin.getLogger().info(String.format(Locale.ROOT, "Replayed %d unsaved changes to %d worlds", records, changedWorlds.size() + removedWorlds.size()));
+        }
+    }
+
+    /**
+     * Starts writing records periodically. Must be called before any records are added.
+     */
+    void start() {
+        journalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                write(drainPendingRecords());
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to write world journal", e);
+            }
+        }, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private int replaySegment(File segment, ConfigurationSection configuration, Set<String> changedWorlds, Set<String> removedWorlds) {
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.toPath())))) {
+            Record record;
+            while ((record = readRecord(in)) != null) {
+                sequence.set(Math.max(sequence.get(), record.sequence));
+                String worldPath = "worlds." + record.worldName;
+                switch (record.operation) {
+                    case SET:
+                        // Worlds which have not been saved or put yet cannot be restored from a single value
+                        if (!configuration.isConfigurationSection(worldPath)) {
+                            continue;
+                        }
+                        configuration.set(worldPath + "." + record.path, record.value);
+                        break;
+                    case PUT:
+                        YamlConfiguration world = new YamlConfiguration();
+                        world.loadFromString((String) record.value);
+                        configuration.set(worldPath, null);
+                        configuration.createSection(worldPath, world.getValues(false));
+                        removedWorlds.remove(record.worldName);
+                        break;
+                    case REMOVE:
+                        configuration.set(worldPath, null);
+                        changedWorlds.remove(record.worldName);
+                        removedWorlds.add(record.worldName);
+                        records++;
+                        continue;
+                    default:
+                        throw new IOException("Unknown operation " + record.operation);
+                }
+                changedWorlds.add(record.worldName);
+                records++;
+            }
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to replay world journal " + segment.getName(), e);
+        }
+        return records;
+    }
+
+    /**
+     * Starts a new segment. Records which have been added before this method was called are written to the previous segment.
+     * <p>
+     * Once the worlds have been saved, the returned segments should be {@link #delete(List) deleted}. If saving fails, the segments should be {@link #restore(List) restored}, so
+     * that they are kept until a later save succeeds or replayed on the next startup.
+     *
+     * @return A future which is completed with all segments that contain changes up to now
+     */
+    CompletableFuture<List<File>> rotate() {
+        long lastSequence = sequence.get();
+        CompletableFuture<List<File>> future = new CompletableFuture<>();
+        journalExecutor.execute(() -> {
+            try {
+                List<Record> records = drainPendingRecords();
+                int split = 0;
+                while (split < records.size() && records.get(split).sequence <= lastSequence) {
+                    split++;
+                }
+
+                write(records.subList(0, split));
+                closeSegment();
+                List<File> segments = new ArrayList<>(closedSegments);
+                closedSegments.clear();
+                write(records.subList(split, records.size()));
+                future.complete(segments);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to write world journal", e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Keeps segments whose changes could not be saved, so that they are returned by the next {@link #rotate()} and only deleted once a later save has succeeded.
+     *
+     * @param segments The segments to keep
+     */
+    void restore(List<File> segments) {
+        journalExecutor.execute(() -> closedSegments.addAll(segments));
+    }
+
+    /**
+     * Deletes segments whose changes have been saved.
+     *
+     * @param segments The segments to delete
+     */
+    void delete(List<File> segments) {
+        journalExecutor.execute(() -> segments.forEach(segment -> {
+            try {
+                Files.deleteIfExists(segment.toPath());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+    }
+
+    /**
+     * Writes all pending records and waits for all submitted operations to finish.
+     */
+    public void close() {
+        journalExecutor.execute(() -> {
+            try {
+                write(drainPendingRecords());
+                closeSegment();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to write world journal", e);
+            }
+        });
+        journalExecutor.shutdown();
+        try {
+            journalExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Removes all pending records from the queue, ordered by their sequence number.
+     */
+    private List<Record> drainPendingRecords() {
+        List<Record> records = new ArrayList<>();
+        Record record;
+        while ((record = pendingRecords.poll()) != null) {
+            records.add(record);
+        }
+        // Records are usually, but not necessarily, added in order
+        records.sort((first, second) -> Long.compare(first.sequence, second.sequence));
+        return records;
+    }
+
+    /**
+     * Appends the given records to the current segment and syncs it to disk.
+     */
+    private void write(List<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        if (segment == null) {
+            Files.createDirectories(directory.toPath());
+            this.segmentFile = new File(directory, String.format(Locale.ROOT, "%019d", records.get(0).sequence) + SEGMENT_EXTENSION);
+            this.segment = FileChannel.open(segmentFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Record record : records) {
+            writeRecord(out, record);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        segment.force(false);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment == null) {
+            return;
+        }
+
+        segment.close();
+        closedSegments.add(segmentFile);
+        this.segment = null;
+        this.segmentFile = null;
+    }
+
+    /**
+     * Writes a record, prefixed by its length and followed by a checksum, so that a record which was only partially written can be detected.
+     */
+    private void writeRecord(DataOutputStream out, Record record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bytes);
+        body.writeLong(record.sequence);
+        body.writeByte(record.operation);
+        writeString(body, record.worldName);
+        switch (record.operation) {
+            case SET:
+                writeString(body, record.path);
+                writeValue(body, record.value);
+                break;
+            case PUT:
+                writeString(body, (String) record.value);
+                break;
+            default:
+                break;
+        }
+
+        byte[] data = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(data);
+        out.writeLong(crc.getValue());
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The record, or {@code null} if the end of the segment, or a record which was only partially written, has been reached
+     */
+    @Nullable
+    private Record readRecord(DataInputStream in) throws IOException {
+        byte[] data;
+        long checksum;
+        try {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_RECORD_LENGTH) {
+                return null;
+            }
+            data = readFully(in, length);
+            checksum = in.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if (crc.getValue() != checksum) {
+            return null;
+        }
+
+        DataInputStream body = new DataInputStream(new ByteArrayInputStream(data));
+        long sequence = body.readLong();
+        byte operation = body.readByte();
+        String worldName = readString(body);
+        switch (operation) {
+            case SET:
+                return new Record(sequence, operation, worldName, readString(body), readValue(body));
+            case PUT:
+                return new Record(sequence, operation, worldName, null, readString(body));
+            default:
+                return new Record(sequence, operation, worldName, null, null);
+        }
+    }
+
+    private byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] data = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int count = in.read(data, read, length - read);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            read += count;
+        }
+        return data;
+    }
+
+    private void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER_VALUE);
+            out.writeInt((Integer) value);
+        } else {
+            out.writeByte(STRING_VALUE);
+            writeString(out, String.valueOf(value));
+        }
+    }
+
+    @Nullable
+    private Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case BOOLEAN_VALUE:
+                return in.readBoolean();
+            case LONG_VALUE:
+                return in.readLong();
+            case INTEGER_VALUE:
+                return in.readInt();
+            case STRING_VALUE:
+                return readString(in);
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return new String(readFully(in, in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static class Record {
+
+        private final long sequence;
+        private final byte operation;
+        private final String worldName;
+        private final String path;
+        private final Object value;
+
+        private Record(long sequence, byte operation, String worldName, @Nullable String path, @Nullable Object value) {
+            this.sequence = sequence;
+            this.operation = operation;
+            this.worldName = worldName;
+            this.path = path;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.world.data.WorldStatus;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.bukkit.Bukkit;
+
+/**
+ * Moves {@link WorldStatus#ARCHIVE archived} worlds which have not been loaded for a while into cold storage.
+ * <p>
+ * A stored world is packed into a single compressed archive in the {@code archive-storage} directory, after which its directory is removed from the world container. When
+ * the world is needed again, the archive is extracted asynchronously before the world is loaded.
+ */
+public class WorldColdStorage {
+
+    private static final long CHECK_INTERVAL = 20L * 60 * 10;
+    private static final String ARCHIVE_EXTENSION = ".zip";
+    /**
+     * Written into a world's directory once its archive is complete, before the directory is deleted. A directory containing the marker is a leftover of a world which was
+     * moved to cold storage, whereas any other directory of the same name cannot be told apart from the world's data and is never deleted.
+     */
+    private static final String PACKED_MARKER = ".buildsystem-packed";
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final File storageDirectory;
+    private final ExecutorService packExecutor;
+    private final WorldFileQueue fileQueue;
+
+    public WorldColdStorage(BuildSystem plugin, WorldFileQueue fileQueue) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.storageDirectory = new File(plugin.getDataFolder(), "archive-storage");
+        this.packExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-ColdStorage");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fileQueue = fileQueue;
+
+        Bukkit.getScheduler().runTaskTimer(plugin, this::storeIdleWorlds, CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    /**
+     * Gets whether the given world is in cold storage or whether an operation on its directory is pending. The world's directory must not be accessed in that case.
+     *
+     * @param buildWorld The world
+     * @return {@code true} if the world is not available in the world container, otherwise {@code false}
+     * @see WorldFileQueue#isBusy(BuildWorld)
+     */
+    public boolean isStored(BuildWorld buildWorld) {
+        return fileQueue.isBusy(buildWorld) || hasArchive(buildWorld.getName());
+    }
+
+    /**
+     * Gets whether an archive of the world with the given name exists, in which case the world must not be generated until it has been restored, as the generated world
+     * would replace the world's data.
+     *
+     * @param worldName The name of the world
+     * @return {@code true} if the world has been moved to cold storage, otherwise {@code false}
+     */
+    public boolean hasArchive(String worldName) {
+        return getArchive(worldName).exists();
+    }
+
+    /**
+     * Runs the given action once the world is available in the world container. If the world is in cold storage or busy, it is restored or waited for first and the action
+     * is run on the main thread afterward.
+     *
+     * @param buildWorld The world
+     * @param action     The action to run
+     */
+    public void whenAvailable(BuildWorld buildWorld, Runnable action) {
+        if (!isStored(buildWorld)) {
+            action.run();
+            return;
+        }
+
+        restore(buildWorld).whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (throwable == null) {
+                action.run();
+            }
+        }));
+    }
+
+    /**
+     * Extracts the archive of the given world back into the world container.
+     *
+     * @param buildWorld The world to restore
+     * @return A future which is completed once the world has been restored
+     */
+    public CompletableFuture<Void> restore(BuildWorld buildWorld) {
+        String worldName = buildWorld.getName();
+        return fileQueue.submit(buildWorld, () -> {
+            File archive = getArchive(worldName);
+            if (!archive.exists()) {
+                return;
+            }
+
+            File worldDirectory = new File(Bukkit.getWorldContainer(), worldName);
+            File tempDirectory = new File(Bukkit.getWorldContainer(), ".restoring-" + worldName);
+            try {
+                if (worldDirectory.exists()) {
+                    if (!new File(worldDirectory, PACKED_MARKER).exists()) {
+                        // Either the server stopped before the marker was written, or the directory was created by someone else. Both are kept.
+                        File conflict = new File(storageDirectory, worldName + ".conflict-" + System.currentTimeMillis() + ARCHIVE_EXTENSION);
+                        Files.move(archive.toPath(), conflict.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                        plugin.getLogger().severe(String.format(Locale.ROOT,
+                                "\"%s\" exists in both the world container and cold storage. The archive has been kept as %s, please check which one to keep",
+                                worldName, conflict.getName()
+                        ));
+                        return;
+                    }
+
+                    // The server stopped after the archive was written, but before the directory was deleted completely
+                    FileUtils.deleteDirectory(worldDirectory);
+                }
+
+                long start = System.currentTimeMillis();
+                FileUtils.unzip(archive, tempDirectory);
+                Files.move(tempDirectory.toPath(), worldDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                Files.delete(archive.toPath());
+                plugin.getLogger().info(String.format(Locale.ROOT,
+                        "Restored \"%s\" from cold storage in %dms", worldName, System.currentTimeMillis() - start
+                ));
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to restore \"" + worldName + "\" from cold storage", e);
+                FileUtils.deleteDirectory(tempDirectory);
+                throw new CompletionException(e);
+            }
+        }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Deletes the archive of a world which is in cold storage, as well as its directory if it has been restored in the meantime.
+     *
+     * @param buildWorld The world whose archive should be deleted
+     */
+    public void delete(BuildWorld buildWorld) {
+        File worldDirectory = new File(Bukkit.getWorldContainer(), buildWorld.getName());
+        fileQueue.submit(buildWorld, () -> {
+            try {
+                Files.deleteIfExists(getArchive(buildWorld.getName()).toPath());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+
+            if (worldDirectory.exists()) {
+                FileUtils.deleteDirectory(worldDirectory);
+            }
+        }, ForkJoinPool.commonPool());
+    }
+
+    private void storeIdleWorlds() {
+        if (!configValues.isColdStorageEnabled()) {
+            return;
+        }
+
+        long idleTime = TimeUnit.DAYS.toMillis(configValues.getColdStorageIdleDays());
+        long now = System.currentTimeMillis();
+        for (BuildWorld buildWorld : plugin.getWorldManager().getBuildWorlds()) {
+            if (buildWorld.getData().status().get() != WorldStatus.ARCHIVE || buildWorld.getWorld() != null || isStored(buildWorld)) {
+                continue;
+            }
+
+            long lastActive = Math.max(buildWorld.getData().lastLoaded().get(), buildWorld.getData().lastUnloaded().get());
+            if (now - lastActive < idleTime) {
+                continue;
+            }
+
+            store(buildWorld);
+        }
+    }
+
+    private void store(BuildWorld buildWorld) {
+        String worldName = buildWorld.getName();
+        File worldDirectory = new File(Bukkit.getWorldContainer(), worldName);
+        if (!worldDirectory.isDirectory()) {
+            return;
+        }
+
+        fileQueue.submit(buildWorld, () -> {
+            try {
+                long size = FileUtils.getDirectorySize(worldDirectory);
+                long archiveSize = FileUtils.zipDirectory(worldDirectory, getArchive(worldName));
+                Files.createFile(new File(worldDirectory, PACKED_MARKER).toPath());
+                FileUtils.deleteDirectory(worldDirectory);
+                plugin.getLogger().info(String.format(Locale.ROOT,
+                        "Moved \"%s\" to cold storage (%d KiB -> %d KiB)", worldName, size / 1024, archiveSize / 1024
+                ));
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to move \"" + worldName + "\" to cold storage", e);
+                throw new CompletionException(e);
+            }
+        }, packExecutor);
+    }
+
+    private File getArchive(String worldName) {
+        return new File(storageDirectory, worldName + ARCHIVE_EXTENSION);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Deletes world directories in the background.
+ * <p>
+ * A world which is deleted is first moved into the {@code .trash} directory inside the world container, so that its name can be reused immediately. The files are then
+ * removed asynchronously, with at most {@link de.eintosti.buildsystem.config.ConfigValues#getDeletionFilesPerSecond()} files being deleted per second in order to not
+ * saturate the disk.
+ */
+public class WorldDeletionQueue {
+
+    private static final String TRASH_DIRECTORY = ".trash";
+
+    private final BuildSystem plugin;
+    private final File trashDirectory;
+    private final Deque<File> pending;
+
+    private BukkitTask deletionTask;
+
+    private volatile String currentWorld;
+    private volatile int deletedFiles;
+    private volatile int totalFiles;
+    private List<Path> currentFiles;
+
+    public WorldDeletionQueue(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.trashDirectory = new File(Bukkit.getWorldContainer(), TRASH_DIRECTORY);
+        this.pending = new ConcurrentLinkedDeque<>();
+    }
+
+    /**
+     * Moves the given world directory into the trash and queues it for deletion.
+     *
+     * @param worldDirectory The directory of the world to delete
+     * @return {@code true} if the directory was moved into the trash, otherwise {@code false}
+     */
+    public boolean delete(File worldDirectory) {
+        File trashedDirectory = new File(trashDirectory, worldDirectory.getName() + "-" + System.currentTimeMillis());
+        try {
+            Files.createDirectories(trashDirectory.toPath());
+            Files.move(worldDirectory.toPath(), trashedDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to move \"" + worldDirectory.getName() + "\" to the trash", e);
+            return false;
+        }
+
+        pending.add(trashedDirectory);
+        startDeletion();
+        return true;
+    }
+
+    /**
+     * Queues all directories which are still in the trash, e.g. because the server was stopped before they were fully deleted.
+     */
+    public void purgeTrash() {
+        File[] trashedDirectories = trashDirectory.listFiles();
+        if (trashedDirectories == null || trashedDirectories.length == 0) {
+            return;
+        }
+
+        plugin.getLogger().info("Deleting " + trashedDirectories.length + " world(s) left in the trash");
+        for (File trashedDirectory : trashedDirectories) {
+            pending.add(trashedDirectory);
+        }
+        startDeletion();
+    }
+
+    private synchronized void startDeletion() {
+        if (deletionTask != null) {
+            return;
+        }
+
+        this.deletionTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::deleteFiles, 1L, 1L);
+    }
+
+    /**
+     * Deletes the next batch of files. Files are deleted before the directory containing them, so that a directory is always empty when it is deleted.
+     */
+    private synchronized void deleteFiles() {
+        int budget = Math.max(1, plugin.getConfigValues().getDeletionFilesPerSecond() / 20);
+
+        while (budget > 0) {
+            if (currentFiles == null && !nextDirectory()) {
+                deletionTask.cancel();
+                this.deletionTask = null;
+                return;
+            }
+
+            while (budget > 0 && deletedFiles < totalFiles) {
+                try {
+                    Files.deleteIfExists(currentFiles.get(deletedFiles));
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Unable to delete " + currentFiles.get(deletedFiles), e);
+                }
+                deletedFiles++;
+                budget--;
+            }
+
+            if (deletedFiles >= totalFiles) {
+                this.currentFiles = null;
+                this.currentWorld = null;
+            }
+        }
+    }
+
+    private boolean nextDirectory() {
+        File directory = pending.poll();
+        if (directory == null) {
+            return false;
+        }
+
+        try (Stream<Path> walk = Files.walk(directory.toPath())) {
+            this.currentFiles = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to read " + directory, e);
+            return nextDirectory();
+        }
+
+        String name = directory.getName();
+        this.currentWorld = name.contains("-") ? name.substring(0, name.lastIndexOf('-')) : name;
+        this.deletedFiles = 0;
+        this.totalFiles = currentFiles.size();
+        return true;
+    }
+
+    /**
+     * Gets the name of the world which is currently being deleted.
+     *
+     * @return The name of the world, or {@code null} if no world is being deleted
+     */
+    @Nullable
+    public String getCurrentWorld() {
+        return currentWorld;
+    }
+
+    public int getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    /**
+     * Gets the amount of worlds which are waiting to be deleted, not including the world which is currently being deleted.
+     *
+     * @return The amount of queued worlds
+     */
+    public int getQueuedWorlds() {
+        return pending.size();
+    }
+}
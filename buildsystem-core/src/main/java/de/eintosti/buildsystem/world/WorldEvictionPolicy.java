@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Unloads empty {@link BuildWorld}s before their unload time has passed when the server is running low on memory.
+ * <p>
+ * Every five seconds, the heap usage and the amount of loaded chunks are compared to the configured watermarks. If either is exceeded, empty worlds are unloaded, starting
+ * with the world which has been used least recently. Worlds which must not be unloaded, like the spawn world, are never evicted.
+ * <p>
+ * The heap usage is measured as the usage of the tenured pool right after the last garbage collection, since the current usage includes garbage which has not been
+ * collected yet and regularly comes close to the maximum on a healthy server.
+ */
+public class WorldEvictionPolicy {
+
+    private static final long CHECK_INTERVAL = 100L;
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final Logger logger;
+    private final MemoryMXBean memoryBean;
+    @Nullable
+    private final MemoryPoolMXBean tenuredPool;
+    /**
+     * The amount of garbage collections of the tenured pool when worlds were last evicted because of the heap usage. The usage after a collection only reflects evicted worlds
+     * once another collection has run.
+     */
+    private long collectionsAtEviction = -1;
+    /**
+     * Whether a watermark was exceeded during the last check while no world could be unloaded. Used to only warn once until the situation changes.
+     */
+    private boolean stuck;
+    @Nullable
+    private BukkitTask checkTask;
+
+    public WorldEvictionPolicy(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.logger = plugin.getLogger();
+        this.memoryBean = ManagementFactory.getMemoryMXBean();
+        this.tenuredPool = findTenuredPool();
+    }
+
+    /**
+     * Starts checking the heap usage and the amount of loaded chunks periodically.
+     */
+    public void start() {
+        if (checkTask != null) {
+            return;
+        }
+        this.checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::check, CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    /**
+     * Stops checking the heap usage and the amount of loaded chunks.
+     */
+    public void stop() {
+        if (checkTask == null) {
+            return;
+        }
+        checkTask.cancel();
+        this.checkTask = null;
+    }
+
+    private void check() {
+        // Worlds are assumed to always be loaded if unloading is disabled
+        if (!configValues.isUnloadWorlds()) {
+            return;
+        }
+
+        int heapWatermark = configValues.getEvictionHeapUsage();
+        int chunkWatermark = configValues.getEvictionLoadedChunks();
+        int heapUsage = getHeapUsage();
+        int loadedChunks = getLoadedChunks();
+
+        long collections = getCollectionCount();
+        boolean heapExceeded = heapWatermark > 0 && heapUsage >= heapWatermark && (tenuredPool == null || collections != collectionsAtEviction);
+        boolean chunksExceeded = chunkWatermark > 0 && loadedChunks >= chunkWatermark;
+        if (!heapExceeded && !chunksExceeded) {
+            stuck = false;
+            return;
+        }
+
+        List<BuildWorld> candidates = getCandidates();
+        if (candidates.isEmpty()) {
+            if (!stuck) {
+                logger.warning(String.format(Locale.ROOT,
+                        "Heap usage is %d%% and %d chunks are loaded, but no world can be unloaded", heapUsage, loadedChunks
+                ));
+                stuck = true;
+            }
+            return;
+        }
+        stuck = false;
+
+        // Memory is only released once the garbage collector has run, so the heap usage is checked again the next time
+        int evictions = 0;
+        for (BuildWorld buildWorld : candidates) {
+            if (evictions >= configValues.getEvictionsPerCheck()) {
+                break;
+            }
+
+            World bukkitWorld = buildWorld.getWorld();
+            int worldChunks = bukkitWorld.getLoadedChunks().length;
+            logger.info(String.format(Locale.ROOT,
+                    "Evicting world \"%s\" (%d chunks): heap usage %d%% (watermark %d%%), %d loaded chunks (watermark %d)",
+                    buildWorld.getName(), worldChunks, heapUsage, heapWatermark, loadedChunks, chunkWatermark
+            ));
+
+            buildWorld.forceUnload(true);
+            if (buildWorld.isLoaded()) {
+                continue;
+            }
+
+            evictions++;
+            if (heapExceeded) {
+                collectionsAtEviction = collections;
+            }
+            loadedChunks -= worldChunks;
+            if (!heapExceeded && loadedChunks < chunkWatermark) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets all worlds which could be unloaded right now, ordered by the time they were last used, starting with the least recently used.
+     *
+     * @return The list of worlds
+     */
+    private List<BuildWorld> getCandidates() {
+        WorldUnloadScheduler unloadScheduler = plugin.getWorldManager().getUnloadScheduler();
+        return plugin.getWorldManager().getBuildWorlds().stream()
+                .filter(buildWorld -> {
+                    World bukkitWorld = buildWorld.getWorld();
+                    return bukkitWorld != null && bukkitWorld.getPlayers().isEmpty() && !buildWorld.isExcludedFromUnload(bukkitWorld);
+                })
+                .sorted(Comparator.comparingLong(unloadScheduler::getSecondsUntilUnload)
+                        .thenComparingLong(buildWorld -> buildWorld.getData().lastLoaded().get()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the pool which holds long-lived objects, e.g. {@code G1 Old Gen}, {@code PS Old Gen} or {@code Tenured Gen}. Collectors with a single generation only have one
+     * heap pool which supports measuring its usage after a collection, which is used instead.
+     *
+     * @return The pool, or {@code null} if no heap pool reports its usage after a collection
+     */
+    @Nullable
+    private MemoryPoolMXBean findTenuredPool() {
+        MemoryPoolMXBean fallback = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+
+            String name = pool.getName().toLowerCase(Locale.ROOT);
+            if (name.contains("old") || name.contains("tenured")) {
+                return pool;
+            }
+            if (fallback == null || pool.getUsage().getMax() > fallback.getUsage().getMax()) {
+                fallback = pool;
+            }
+        }
+        return fallback;
+    }
+
+    private int getHeapUsage() {
+        // Without a suitable pool, which no standard collector lacks, the current heap usage is the only signal left
+        MemoryUsage usage = tenuredPool != null ? tenuredPool.getCollectionUsage() : memoryBean.getHeapMemoryUsage();
+        if (usage == null) {
+            return 0;
+        }
+
+        long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+        return max > 0 ? (int) (usage.getUsed() * 100 / max) : 0;
+    }
+
+    private long getCollectionCount() {
+        if (tenuredPool == null) {
+            return 0;
+        }
+
+        long collections = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (Arrays.asList(collector.getMemoryPoolNames()).contains(tenuredPool.getName())) {
+                collections += Math.max(0, collector.getCollectionCount());
+            }
+        }
+        return collections;
+    }
+
+    private int getLoadedChunks() {
+        int loadedChunks = 0;
+        for (World world : Bukkit.getWorlds()) {
+            loadedChunks += world.getLoadedChunks().length;
+        }
+        return loadedChunks;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.bukkit.Bukkit;
+
+/**
+ * Runs background operations on the directory of an unloaded {@link BuildWorld}, like moving it into cold storage or compacting its region files.
+ * <p>
+ * Operations on the same world are run one after another. While an operation is pending, the world is considered busy and must neither be loaded nor be modified in any
+ * other way. This class must only be accessed from the main thread.
+ */
+public class WorldFileQueue {
+
+    private final BuildSystem plugin;
+
+    /**
+     * The last operation which was submitted for a world.
+     */
+    private final Map<BuildWorld, CompletableFuture<?>> operations;
+
+    public WorldFileQueue(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.operations = new HashMap<>();
+    }
+
+    /**
+     * Gets whether an operation is pending for the given world.
+     *
+     * @param buildWorld The world
+     * @return {@code true} if an operation is pending, otherwise {@code false}
+     */
+    public boolean isBusy(BuildWorld buildWorld) {
+        return operations.containsKey(buildWorld);
+    }
+
+    /**
+     * Runs the given task using the given executor once all previous operations of the world have completed.
+     *
+     * @param buildWorld The world the task operates on
+     * @param task       The task to run
+     * @param executor   The executor to run the task with
+     * @return A future which is completed once the task has run and the world is no longer busy, unless another operation was submitted in the meantime
+     */
+    public CompletableFuture<Void> submit(BuildWorld buildWorld, Runnable task, Executor executor) {
+        return supply(buildWorld, () -> {
+            task.run();
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Runs the given task using the given executor once all previous operations of the world have completed.
+     *
+     * @param buildWorld The world the task operates on
+     * @param task       The task to run
+     * @param executor   The executor to run the task with
+     * @param <T>        The type of the task's result
+     * @return A future which is completed with the task's result once the world is no longer busy, unless another operation was submitted in the meantime
+     */
+    public <T> CompletableFuture<T> supply(BuildWorld buildWorld, Supplier<T> task, Executor executor) {
+        CompletableFuture<?> previous = operations.getOrDefault(buildWorld, CompletableFuture.completedFuture(null));
+        CompletableFuture<T> operation = previous
+                .handle((result, throwable) -> null)
+                .thenApplyAsync(ignored -> task.get(), executor);
+        operations.put(buildWorld, operation);
+
+        // Callers are notified after the operation has been removed, so the world is no longer considered to be busy
+        return operation.whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> operations.remove(buildWorld, operation)));
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.Messages;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.world.data.WorldType;
+import de.eintosti.buildsystem.world.generator.CustomGenerator;
+import de.eintosti.buildsystem.world.generator.Generator;
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Imports a list of worlds in two stages.
+ * <p>
+ * The name, generator, {@code DataVersion} and creation date of each world are checked asynchronously. Worlds which passed the checks are then imported on the main thread, with at
+ * most {@link ConfigValues#getImportTickBudget()} milliseconds being spent per tick.
+ *
+ * @see WorldManager#importWorlds(Player, String[], Generator, Builder)
+ */
+public class WorldImportPipeline {
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final Player player;
+    private final String[] worldList;
+    private final Generator generator;
+    private final Builder creator;
+    private final Queue<ImportCandidate> validated;
+
+    private BukkitTask importTask;
+    private volatile boolean validationFinished;
+    private boolean paused;
+    private long startTime;
+    private long pausedTime;
+    private long pauseStart;
+    private int processedWorlds;
+
+    public WorldImportPipeline(BuildSystem plugin, Player player, String[] worldList, Generator generator, @Nullable Builder creator) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.player = player;
+        this.worldList = worldList;
+        this.generator = generator;
+        this.creator = creator;
+        this.validated = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Starts validating the worlds asynchronously and importing them on the main thread.
+     */
+    public void start() {
+        this.startTime = System.currentTimeMillis();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::validate);
+        this.importTask = Bukkit.getScheduler().runTaskTimer(plugin, this::importWorlds, 1L, 1L);
+    }
+
+    private void validate() {
+        for (String worldName : worldList) {
+            // A custom generator requires its name, which cannot be specified when importing all worlds
+            if (generator == Generator.CUSTOM) {
+                validated.add(new ImportCandidate(worldName, null, "worlds_import_unknown_generator", null));
+                continue;
+            }
+
+            String invalidChar = Arrays.stream(worldName.split(""))
+                    .filter(c -> c.matches("[^A-Za-z\\d/_-]") || c.matches(configValues.getInvalidNameCharacters()))
+                    .findFirst()
+                    .orElse(null);
+            if (invalidChar != null) {
+                validated.add(new ImportCandidate(worldName, null, "worlds_importall_invalid_character", invalidChar));
+                continue;
+            }
+
+            BuildWorldCreator worldCreator = new BuildWorldCreator(plugin, worldName)
+                    .setType(WorldType.IMPORTED)
+                    .setCreator(creator)
+                    .setCustomGenerator(new CustomGenerator(null, null))
+                    .setPrivate(false)
+                    .setCreationDate(FileUtils.getDirectoryCreation(new File(Bukkit.getWorldContainer(), worldName)));
+            if (worldCreator.isHigherVersion()) {
+                validated.add(new ImportCandidate(worldName, null, "worlds_importall_newer_version", null));
+                continue;
+            }
+
+            validated.add(new ImportCandidate(worldName, worldCreator, null, null));
+        }
+        this.validationFinished = true;
+    }
+
+    private void importWorlds() {
+        if (paused) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configValues.getImportTickBudget());
+        do {
+            ImportCandidate candidate = validated.poll();
+            if (candidate == null) {
+                if (validationFinished && validated.isEmpty()) {
+                    finish();
+                }
+                return;
+            }
+
+            importWorld(candidate);
+            processedWorlds++;
+        } while (System.nanoTime() < deadline);
+    }
+
+    private void importWorld(ImportCandidate candidate) {
+        String worldName = candidate.worldName;
+        if (candidate.worldCreator == null) {
+            Messages.sendMessage(player, candidate.error,
+                    new AbstractMap.SimpleEntry<>("%world%", worldName),
+                    new AbstractMap.SimpleEntry<>("%char%", candidate.invalidChar)
+            );
+            return;
+        }
+
+        if (plugin.getWorldManager().getBuildWorld(worldName) != null || plugin.getWorldManager().isReserved(worldName)) {
+            Messages.sendMessage(player, "worlds_importall_world_already_imported",
+                    new AbstractMap.SimpleEntry<>("%world%", worldName)
+            );
+            return;
+        }
+
+        candidate.worldCreator.importWorld(player, false);
+        Messages.sendMessage(player, "worlds_importall_world_imported", new AbstractMap.SimpleEntry<>("%world%", worldName));
+    }
+
+    private void finish() {
+        importTask.cancel();
+        Messages.sendMessage(player, "worlds_importall_finished",
+                new AbstractMap.SimpleEntry<>("%seconds%", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(getElapsedTime())))
+        );
+        plugin.getWorldManager().finishImport();
+    }
+
+    /**
+     * Pauses or resumes importing worlds. Worlds continue to be validated while the import is paused.
+     *
+     * @param paused Whether the import should be paused
+     */
+    public void setPaused(boolean paused) {
+        if (this.paused == paused) {
+            return;
+        }
+
+        if (paused) {
+            this.pauseStart = System.currentTimeMillis();
+        } else {
+            this.pausedTime += System.currentTimeMillis() - pauseStart;
+        }
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getProcessedWorlds() {
+        return processedWorlds;
+    }
+
+    public int getTotalWorlds() {
+        return worldList.length;
+    }
+
+    /**
+     * Gets the amount of worlds which have been processed per second, not counting the time the import was paused.
+     *
+     * @return The throughput in worlds per second
+     */
+    public double getThroughput() {
+        long elapsedTime = getElapsedTime();
+        if (elapsedTime <= 0) {
+            return 0;
+        }
+        return processedWorlds * 1000D / elapsedTime;
+    }
+
+    /**
+     * Gets the estimated amount of seconds until all worlds have been processed, based on the current throughput.
+     *
+     * @return The estimated amount of seconds, or {@code -1} if it cannot be estimated yet
+     */
+    public long getEstimatedSeconds() {
+        double throughput = getThroughput();
+        if (throughput <= 0) {
+            return -1;
+        }
+        return Math.round((worldList.length - processedWorlds) / throughput);
+    }
+
+    private long getElapsedTime() {
+        long pausedTime = this.pausedTime;
+        if (paused) {
+            pausedTime += System.currentTimeMillis() - pauseStart;
+        }
+        return System.currentTimeMillis() - startTime - pausedTime;
+    }
+
+    /**
+     * The result of validating a world. If the world cannot be imported, {@link #worldCreator} is {@code null} and {@link #error} contains the key of the message
+     * explaining why.
+     */
+    private static class ImportCandidate {
+
+        private final String worldName;
+        private final BuildWorldCreator worldCreator;
+        private final String error;
+        private final String invalidChar;
+
+        private ImportCandidate(String worldName, @Nullable BuildWorldCreator worldCreator, @Nullable String error, @Nullable String invalidChar) {
+            this.worldName = worldName;
+            this.worldCreator = worldCreator;
+            this.error = error;
+            this.invalidChar = invalidChar;
+        }
+    }
+}
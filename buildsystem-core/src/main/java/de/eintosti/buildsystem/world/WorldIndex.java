@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.navigator.inventory.FilteredWorldsInventory.Visibility;
+import de.eintosti.buildsystem.world.data.WorldData;
+import de.eintosti.buildsystem.world.data.WorldStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * Secondary indexes over all {@link BuildWorld}s known to the {@link WorldManager}, so that worlds can be looked up by creator, builder, {@link WorldStatus}, visibility
+ * and project without iterating over every world.
+ * <p>
+ * The indexes are updated whenever a world is added or removed, and whenever one of the indexed values of a world changes.
+ */
+public class WorldIndex {
+
+    private final Map<BuildWorld, Entry> entries;
+    private final Map<UUID, Set<BuildWorld>> byCreator;
+    private final Map<UUID, Set<BuildWorld>> byBuilder;
+    private final Map<WorldStatus, Set<BuildWorld>> byStatus;
+    private final Map<Boolean, Set<BuildWorld>> byVisibility;
+    private final Map<String, Set<BuildWorld>> byProject;
+
+    WorldIndex() {
+        this.entries = new IdentityHashMap<>();
+        this.byCreator = new HashMap<>();
+        this.byBuilder = new HashMap<>();
+        this.byStatus = new EnumMap<>(WorldStatus.class);
+        this.byVisibility = new HashMap<>();
+        this.byProject = new HashMap<>();
+    }
+
+    /**
+     * Adds the given world to the indexes.
+     *
+     * @param buildWorld The world to add
+     */
+    void add(BuildWorld buildWorld) {
+        remove(buildWorld);
+        Entry entry = new Entry(buildWorld);
+        entries.put(buildWorld, entry);
+        entry.index();
+    }
+
+    /**
+     * Removes the given world from the indexes.
+     *
+     * @param buildWorld The world to remove
+     */
+    void remove(BuildWorld buildWorld) {
+        Entry entry = entries.remove(buildWorld);
+        if (entry != null) {
+            entry.unindex();
+        }
+    }
+
+    /**
+     * Updates the indexed values of the given world. Does nothing if the world has not been {@link #add(BuildWorld) added}.
+     *
+     * @param buildWorld The world which has changed
+     */
+    void update(BuildWorld buildWorld) {
+        if (entries.containsKey(buildWorld)) {
+            add(buildWorld);
+        }
+    }
+
+    /**
+     * Gets all worlds whose creator has the given uuid.
+     *
+     * @param uuid The uuid of the creator
+     * @return The worlds
+     */
+    @Unmodifiable
+    public Set<BuildWorld> getWorldsByCreator(UUID uuid) {
+        return get(byCreator, uuid);
+    }
+
+    /**
+     * Gets all worlds the player with the given uuid has been added to as a builder.
+     *
+     * @param uuid The uuid of the builder
+     * @return The worlds
+     */
+    @Unmodifiable
+    public Set<BuildWorld> getWorldsByBuilder(UUID uuid) {
+        return get(byBuilder, uuid);
+    }
+
+    /**
+     * Gets all worlds with the given status.
+     *
+     * @param status The status
+     * @return The worlds
+     */
+    @Unmodifiable
+    public Set<BuildWorld> getWorldsByStatus(WorldStatus status) {
+        return get(byStatus, status);
+    }
+
+    /**
+     * Gets all worlds with the given visibility.
+     *
+     * @param visibility The visibility, where {@link Visibility#IGNORE} matches all worlds
+     * @return The worlds
+     */
+    @Unmodifiable
+    public Set<BuildWorld> getWorldsByVisibility(Visibility visibility) {
+        switch (visibility) {
+            case PRIVATE:
+                return get(byVisibility, true);
+            case PUBLIC:
+                return get(byVisibility, false);
+            default:
+                return Collections.unmodifiableSet(entries.keySet());
+        }
+    }
+
+    /**
+     * Gets all worlds which belong to the given project. Projects are matched case-insensitively.
+     *
+     * @param project The project
+     * @return The worlds
+     */
+    @Unmodifiable
+    public Set<BuildWorld> getWorldsByProject(String project) {
+        return get(byProject, project.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets all worlds with the given visibility and one of the given statuses. Only the worlds of the smaller of both indexes are checked.
+     *
+     * @param visibility The visibility
+     * @param statuses   The statuses
+     * @return The worlds
+     */
+    public List<BuildWorld> getWorlds(Visibility visibility, Set<WorldStatus> statuses) {
+        Set<BuildWorld> visibleWorlds = getWorldsByVisibility(visibility);
+        int statusCount = 0;
+        for (WorldStatus status : statuses) {
+            statusCount += getWorldsByStatus(status).size();
+        }
+
+        List<BuildWorld> worlds = new ArrayList<>(Math.min(statusCount, visibleWorlds.size()));
+        if (statusCount <= visibleWorlds.size()) {
+            for (WorldStatus status : statuses) {
+                for (BuildWorld buildWorld : getWorldsByStatus(status)) {
+                    if (visibleWorlds.contains(buildWorld)) {
+                        worlds.add(buildWorld);
+                    }
+                }
+            }
+        } else {
+            for (BuildWorld buildWorld : visibleWorlds) {
+                if (statuses.contains(entries.get(buildWorld).status)) {
+                    worlds.add(buildWorld);
+                }
+            }
+        }
+        return worlds;
+    }
+
+    private <K> Set<BuildWorld> get(Map<K, Set<BuildWorld>> index, K key) {
+        Set<BuildWorld> worlds = index.get(key);
+        return worlds != null ? Collections.unmodifiableSet(worlds) : Collections.emptySet();
+    }
+
+    private <K> void put(Map<K, Set<BuildWorld>> index, @Nullable K key, BuildWorld buildWorld) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(buildWorld);
+        }
+    }
+
+    private <K> void remove(Map<K, Set<BuildWorld>> index, @Nullable K key, BuildWorld buildWorld) {
+        if (key == null) {
+            return;
+        }
+
+        Set<BuildWorld> worlds = index.get(key);
+        if (worlds != null && worlds.remove(buildWorld) && worlds.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * The values a world was indexed by, which are needed to remove it from the indexes once they have changed.
+     */
+    private class Entry {
+
+        private final BuildWorld buildWorld;
+        private final UUID creator;
+        private final List<UUID> builders;
+        private final WorldStatus status;
+        private final boolean privateWorld;
+        private final String project;
+
+        private Entry(BuildWorld buildWorld) {
+            WorldData worldData = buildWorld.getData();
+            Builder creator = buildWorld.getCreator();
+            this.buildWorld = buildWorld;
+            this.creator = creator != null ? creator.getUniqueId() : null;
+            this.builders = new ArrayList<>(buildWorld.getBuilders().size());
+            buildWorld.getBuilders().forEach(builder -> builders.add(builder.getUniqueId()));
+            this.status = worldData.status().get();
+            this.privateWorld = worldData.privateWorld().get();
+            this.project = worldData.project().get() != null ? worldData.project().get().toLowerCase(Locale.ROOT) : null;
+        }
+
+        private void index() {
+            put(byCreator, creator, buildWorld);
+            builders.forEach(builder -> put(byBuilder, builder, buildWorld));
+            put(byStatus, status, buildWorld);
+            put(byVisibility, privateWorld, buildWorld);
+            put(byProject, project, buildWorld);
+        }
+
+        private void unindex() {
+            remove(byCreator, creator, buildWorld);
+            builders.forEach(builder -> remove(byBuilder, builder, buildWorld));
+            remove(byStatus, status, buildWorld);
+            remove(byVisibility, privateWorld, buildWorld);
+            remove(byProject, project, buildWorld);
+        }
+    }
+}
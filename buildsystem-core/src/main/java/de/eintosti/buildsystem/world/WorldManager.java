@@ -20,15 +20,15 @@ package de.eintosti.buildsystem.world;
 import com.cryptomorin.xseries.XMaterial;
 import com.cryptomorin.xseries.XSound;
 import com.cryptomorin.xseries.messages.Titles;
-import com.cryptomorin.xseries.profiles.objects.Profileable;
 import de.eintosti.buildsystem.BuildSystem;
 import de.eintosti.buildsystem.Messages;
 import de.eintosti.buildsystem.config.ConfigValues;
-import de.eintosti.buildsystem.config.WorldConfig;
 import de.eintosti.buildsystem.navigator.inventory.FilteredWorldsInventory.Visibility;
+import de.eintosti.buildsystem.player.ProfileResolver;
+import de.eintosti.buildsystem.storage.StorageBackend;
+import de.eintosti.buildsystem.storage.StorageManager;
 import de.eintosti.buildsystem.util.FileUtils;
 import de.eintosti.buildsystem.util.PlayerChatInput;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.data.WorldData;
 import de.eintosti.buildsystem.world.data.WorldStatus;
 import de.eintosti.buildsystem.world.data.WorldType;
@@ -36,12 +36,18 @@ import de.eintosti.buildsystem.world.generator.CustomGenerator;
 import de.eintosti.buildsystem.world.generator.Generator;
 import io.papermc.lib.PaperLib;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -49,7 +55,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -61,28 +69,70 @@ import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 public class WorldManager {
 
-    private static boolean importingAllWorlds = false;
     private final BuildSystem plugin;
     private final ConfigValues configValues;
-    private final WorldConfig worldConfig;
+    private final StorageManager storageManager;
+    private final RenameJournal renameJournal;
+    private final WorldDeletionQueue deletionQueue;
+    private final WorldPool worldPool;
+    private final WorldUnloadScheduler unloadScheduler;
+    private final WorldEvictionPolicy evictionPolicy;
+    private final WorldStartupLoader startupLoader;
+    private final WorldFileQueue fileQueue;
+    private final WorldColdStorage coldStorage;
+    private final RegionCompactor regionCompactor;
+    private final WorldSnapshotStore snapshotStore;
+    private final WorldChangeJournal changeJournal;
+    private final WorldRegistrySnapshot registrySnapshot;
     private final Map<String, BuildWorld> buildWorlds;
+    private final WorldIndex worldIndex;
+    private final WorldPolicyRegistry policyRegistry;
+    /**
+     * The names of worlds which have been unimported or renamed and have to be removed from storage the next time worlds are saved.
+     */
+    private final Set<String> removedWorlds;
+    /**
+     * The lower-cased names of worlds whose directories are currently being created, copied or moved, and which therefore must not be claimed by another world.
+     */
+    private final Set<String> reservedNames;
+    /**
+     * Whether a world has been removed from the list of worlds without being removed from storage, or the stored worlds could not be loaded at all, in which case no
+     * {@link WorldRegistrySnapshot} may be written.
+     */
+    private boolean registryIncomplete;
+
+    private WorldImportPipeline currentImport;
 
     public WorldManager(BuildSystem plugin) {
         this.plugin = plugin;
         this.configValues = plugin.getConfigValues();
-        this.worldConfig = new WorldConfig(plugin);
+        this.storageManager = plugin.getStorageManager();
+        this.renameJournal = new RenameJournal(plugin);
+        this.deletionQueue = new WorldDeletionQueue(plugin);
+        this.worldPool = new WorldPool(plugin);
+        this.unloadScheduler = new WorldUnloadScheduler(plugin);
+        this.startupLoader = new WorldStartupLoader(plugin);
+        this.fileQueue = new WorldFileQueue(plugin);
+        this.coldStorage = new WorldColdStorage(plugin, fileQueue);
+        this.regionCompactor = new RegionCompactor(plugin, fileQueue);
+        this.snapshotStore = new WorldSnapshotStore(plugin, fileQueue);
+        this.changeJournal = new WorldChangeJournal(plugin);
+        this.registrySnapshot = new WorldRegistrySnapshot(plugin, this);
 
         this.buildWorlds = new HashMap<>();
+        this.worldIndex = new WorldIndex();
+        this.policyRegistry = new WorldPolicyRegistry(plugin, this);
+        this.removedWorlds = new HashSet<>();
+        this.reservedNames = new HashSet<>();
+        this.evictionPolicy = new WorldEvictionPolicy(plugin);
     }
 
     /**
@@ -112,6 +162,9 @@ public class WorldManager {
      */
     public void addBuildWorld(BuildWorld buildWorld) {
         this.buildWorlds.put(buildWorld.getName(), buildWorld);
+        this.worldIndex.add(buildWorld);
+        this.policyRegistry.update(buildWorld);
+        this.changeJournal.recordPut(buildWorld);
     }
 
     /**
@@ -121,6 +174,10 @@ public class WorldManager {
      */
     public void removeBuildWorld(BuildWorld buildWorld) {
         this.buildWorlds.remove(buildWorld.getName());
+        this.worldIndex.remove(buildWorld);
+        this.policyRegistry.remove(buildWorld);
+        this.unloadScheduler.cancel(buildWorld);
+        this.registryIncomplete = true;
     }
 
     /**
@@ -140,7 +197,7 @@ public class WorldManager {
      * @return A list of all worlds created by the given player.
      */
     public List<BuildWorld> getBuildWorldsCreatedByPlayer(Player player) {
-        return getBuildWorlds().stream()
+        return worldIndex.getWorldsByCreator(player.getUniqueId()).stream()
                 .filter(buildWorld -> buildWorld.isCreator(player))
                 .collect(Collectors.toList());
     }
@@ -251,7 +308,7 @@ public class WorldManager {
      * @return Whether if a world with the given name already exists
      */
     public boolean worldExists(Player player, String worldName) {
-        boolean worldExists = getBuildWorld(worldName) != null;
+        boolean worldExists = getBuildWorld(worldName) != null || isReserved(worldName);
         File worldFile = new File(Bukkit.getWorldContainer(), worldName);
         if (worldExists || worldFile.exists()) {
             Messages.sendMessage(player, "worlds_world_exists");
@@ -261,6 +318,30 @@ public class WorldManager {
         return false;
     }
 
+    /**
+     * Gets whether the given name is reserved by a world whose directory is currently being created, copied or moved.
+     *
+     * @param worldName The name of the world
+     * @return {@code true} if the name must not be used by another world, otherwise {@code false}
+     */
+    public boolean isReserved(String worldName) {
+        return reservedNames.contains(worldName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Reserves the given name until {@link #releaseName(String)} is called.
+     *
+     * @param worldName The name of the world
+     * @return {@code true} if the name was reserved, {@code false} if it was already reserved
+     */
+    boolean reserveName(String worldName) {
+        return reservedNames.add(worldName.toLowerCase(Locale.ROOT));
+    }
+
+    void releaseName(String worldName) {
+        reservedNames.remove(worldName.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Gets the {@link ChunkGenerator} for the generation of a {@link BuildWorld} with {@link WorldType#CUSTOM}
      *
@@ -334,61 +415,36 @@ public class WorldManager {
      * @param player    The player who is creating the world
      * @param creator   The player who should be set as the creator of the world
      * @param worldList The list of world to be imported
+     * @see WorldImportPipeline
      */
     public void importWorlds(Player player, String[] worldList, Generator generator, @Nullable Builder creator) {
-        int worlds = worldList.length;
-        int delay = configValues.getImportDelay();
-
         Messages.sendMessage(player, "worlds_importall_started",
-                new AbstractMap.SimpleEntry<>("%amount%", String.valueOf(worlds))
-        );
-        Messages.sendMessage(player, "worlds_importall_delay",
-                new AbstractMap.SimpleEntry<>("%delay%", String.valueOf(delay))
+                new AbstractMap.SimpleEntry<>("%amount%", String.valueOf(worldList.length))
         );
-        importingAllWorlds = true;
-
-        AtomicInteger worldsImported = new AtomicInteger(0);
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                int i = worldsImported.getAndIncrement();
-                if (i >= worlds) {
-                    this.cancel();
-                    importingAllWorlds = false;
-                    Messages.sendMessage(player, "worlds_importall_finished");
-                    return;
-                }
 
-                String worldName = worldList[i];
-                if (getBuildWorld(worldName) != null) {
-                    Messages.sendMessage(player, "worlds_importall_world_already_imported",
-                            new AbstractMap.SimpleEntry<>("%world%", worldName)
-                    );
-                    return;
-                }
-
-                String invalidChar = Arrays.stream(worldName.split(""))
-                        .filter(c -> c.matches("[^A-Za-z\\d/_-]") || c.matches(plugin.getConfigValues()
-                                .getInvalidNameCharacters()))
-                        .findFirst()
-                        .orElse(null);
-                if (invalidChar != null) {
-                    Messages.sendMessage(player, "worlds_importall_invalid_character",
-                            new AbstractMap.SimpleEntry<>("%world%", worldName),
-                            new AbstractMap.SimpleEntry<>("%char%", invalidChar)
-                    );
-                    return;
-                }
+        this.currentImport = new WorldImportPipeline(plugin, player, worldList, generator, creator);
+        currentImport.start();
+    }
 
-                if (importWorld(player, worldName, creator, WorldType.IMPORTED, generator, null, false)) {
-                    Messages.sendMessage(player, "worlds_importall_world_imported", new AbstractMap.SimpleEntry<>("%world%", worldName));
-                }
-            }
-        }.runTaskTimer(plugin, 0, 20L * delay);
+    /**
+     * Called by the {@link WorldImportPipeline} once all worlds have been imported.
+     */
+    void finishImport() {
+        this.currentImport = null;
     }
 
     public boolean isImportingAllWorlds() {
-        return importingAllWorlds;
+        return currentImport != null;
+    }
+
+    /**
+     * Gets the import which is currently running.
+     *
+     * @return The import if worlds are being imported, otherwise {@code null}
+     */
+    @Nullable
+    public WorldImportPipeline getCurrentImport() {
+        return currentImport;
     }
 
     /**
@@ -404,6 +460,13 @@ public class WorldManager {
         }
 
         String worldName = buildWorld.getName();
+        if (coldStorage.isStored(buildWorld)) {
+            coldStorage.delete(buildWorld);
+            unimportWorld(player, buildWorld, false);
+            Messages.sendMessage(player, "worlds_delete_finished");
+            return;
+        }
+
         File deleteFolder = new File(Bukkit.getWorldContainer(), worldName);
         if (!deleteFolder.exists()) {
             Messages.sendMessage(player, "worlds_delete_unknown_directory");
@@ -414,11 +477,108 @@ public class WorldManager {
         removePlayersFromWorld(worldName, Messages.getString("worlds_delete_players_world", player));
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             unimportWorld(player, buildWorld, false);
-            FileUtils.deleteDirectory(deleteFolder);
+            if (!deletionQueue.delete(deleteFolder)) {
+                Messages.sendMessage(player, "worlds_delete_error");
+                return;
+            }
             Messages.sendMessage(player, "worlds_delete_finished");
         }, 20L);
     }
 
+    /**
+     * Gets the queue which deletes the directories of deleted worlds in the background.
+     *
+     * @return The deletion queue
+     */
+    public WorldDeletionQueue getDeletionQueue() {
+        return deletionQueue;
+    }
+
+    /**
+     * Gets the pool of pre-generated worlds which are used when creating a void or flat world.
+     *
+     * @return The world pool
+     */
+    public WorldPool getWorldPool() {
+        return worldPool;
+    }
+
+    /**
+     * Gets the scheduler which unloads worlds after they have not been used for a while.
+     *
+     * @return The unload scheduler
+     */
+    public WorldUnloadScheduler getUnloadScheduler() {
+        return unloadScheduler;
+    }
+
+    /**
+     * Gets the policy which unloads empty worlds early when the server is running low on memory.
+     *
+     * @return The eviction policy
+     */
+    public WorldEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Gets the loader which loads worlds across multiple ticks when the plugin is enabled.
+     *
+     * @return The startup loader
+     */
+    public WorldStartupLoader getStartupLoader() {
+        return startupLoader;
+    }
+
+    /**
+     * Gets the cold storage which archived worlds are moved into after they have not been used for a while.
+     *
+     * @return The cold storage
+     */
+    public WorldColdStorage getColdStorage() {
+        return coldStorage;
+    }
+
+    /**
+     * Gets the compactor which removes unmodified chunks from the region files of unloaded worlds.
+     *
+     * @return The region compactor
+     */
+    public RegionCompactor getRegionCompactor() {
+        return regionCompactor;
+    }
+
+    /**
+     * Gets the store which holds the snapshots of all worlds.
+     *
+     * @return The snapshot store
+     */
+    public WorldSnapshotStore getSnapshotStore() {
+        return snapshotStore;
+    }
+
+    /**
+     * Gets the indexes which allow looking up worlds by creator, builder, status, visibility and project.
+     *
+     * @return The world index
+     */
+    public WorldIndex getWorldIndex() {
+        return worldIndex;
+    }
+
+    /**
+     * Gets the {@link WorldPolicyRegistry} which holds the settings of all loaded worlds which are checked by frequently called listeners.
+     *
+     * @return The policy registry
+     */
+    public WorldPolicyRegistry getPolicyRegistry() {
+        return policyRegistry;
+    }
+
+    public WorldChangeJournal getChangeJournal() {
+        return changeJournal;
+    }
+
     /**
      * Unimport an existing {@link BuildWorld}. In comparison to {@link #deleteWorld(Player, BuildWorld)}, unimporting a world does not delete the world's directory.
      *
@@ -427,13 +587,20 @@ public class WorldManager {
      * @param save       Should the world be saved before unimporting
      */
     public void unimportWorld(Player player, BuildWorld buildWorld, boolean save) {
+        // Unimported worlds must be available in the world container, so they can be imported again
+        if (coldStorage.isStored(buildWorld)) {
+            coldStorage.restore(buildWorld);
+        }
+
         buildWorld.forceUnload(save);
         this.buildWorlds.remove(buildWorld.getName());
+        this.worldIndex.remove(buildWorld);
+        this.policyRegistry.remove(buildWorld);
+        this.unloadScheduler.cancel(buildWorld);
         removePlayersFromWorld(buildWorld.getName(), Messages.getString("worlds_unimport_players_world", player));
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            this.worldConfig.getFile().set("worlds." + buildWorld.getName(), null);
-            this.worldConfig.saveFile();
-        });
+        this.removedWorlds.add(buildWorld.getName());
+        this.changeJournal.recordRemove(buildWorld.getName());
+        save();
     }
 
     /**
@@ -487,6 +654,11 @@ public class WorldManager {
      */
     public void renameWorld(Player player, BuildWorld buildWorld, String newName) {
         player.closeInventory();
+        if (coldStorage.isStored(buildWorld)) {
+            coldStorage.whenAvailable(buildWorld, () -> renameWorld(player, buildWorld, newName));
+            return;
+        }
+
         if (worldExists(player, newName)) {
             return;
         }
@@ -512,65 +684,175 @@ public class WorldManager {
             return;
         }
 
-        if (Bukkit.getWorld(oldName) == null && !buildWorld.isLoaded()) {
-            buildWorld.load();
-        }
-
-        World oldWorld = Bukkit.getWorld(oldName);
-        if (oldWorld == null) {
+        File oldWorldFile = new File(Bukkit.getWorldContainer(), oldName);
+        File newWorldFile = new File(Bukkit.getWorldContainer(), parsedNewName);
+        if (!oldWorldFile.exists()) {
             Messages.sendMessage(player, "worlds_rename_unknown_world");
             return;
         }
 
-        List<Player> removedPlayers = removePlayersFromWorld(oldName, Messages.getString("worlds_rename_players_world", player));
-        for (Chunk chunk : oldWorld.getLoadedChunks()) {
-            chunk.unload(true);
+        // Only loaded worlds have to be unloaded (and loaded again afterwards)
+        World oldWorld = Bukkit.getWorld(oldName);
+        List<Player> removedPlayers = new ArrayList<>();
+        Location spawnLocation = null;
+        if (oldWorld != null) {
+            spawnLocation = oldWorld.getSpawnLocation();
+            removedPlayers = removePlayersFromWorld(oldName, Messages.getString("worlds_rename_players_world", player));
+            for (Chunk chunk : oldWorld.getLoadedChunks()) {
+                chunk.unload(true);
+            }
+            Bukkit.unloadWorld(oldWorld, true);
+            Bukkit.getWorlds().remove(oldWorld);
         }
-        Bukkit.unloadWorld(oldWorld, true);
-        Bukkit.getWorlds().remove(oldWorld);
         this.buildWorlds.remove(oldName);
+        this.worldIndex.remove(buildWorld);
+        this.policyRegistry.remove(buildWorld);
+        // Neither name may be claimed by another world while the directory is moved or copied
+        reserveName(oldName);
+        reserveName(parsedNewName);
+
+        try {
+            renameJournal.begin(oldName, parsedNewName);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to rename \"" + oldName + "\"", e);
+            abortRename(player, buildWorld, oldName, parsedNewName, oldWorld != null);
+            return;
+        }
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            FileConfiguration worldFile = worldConfig.getFile();
-            worldFile.set("worlds." + parsedNewName, worldFile.getConfigurationSection("worlds." + oldName));
-            worldFile.set("worlds." + oldName, null);
-        });
+        Location finalSpawnLocation = spawnLocation;
+        List<Player> finalRemovedPlayers = removedPlayers;
+        try {
+            Files.move(oldWorldFile.toPath(), newWorldFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // The world container spans multiple file systems, so the world has to be copied instead
+            FileUtils.copyAsync(oldWorldFile, newWorldFile)
+                    .thenRun(() -> {
+                        // Once the copy is recorded as complete, an interrupted rename is completed rather than rolled back
+                        try {
+                            renameJournal.markCopied(oldName, parsedNewName);
+                        } catch (IOException ex) {
+                            throw new CompletionException(ex);
+                        }
+                    })
+                    .whenComplete((result, throwable) -> {
+                        if (throwable == null) {
+                            FileUtils.deleteDirectory(oldWorldFile);
+                        }
+                        Bukkit.getScheduler().runTask(plugin, () -> {
+                            if (throwable != null) {
+                                plugin.getLogger().log(Level.SEVERE, "Unable to copy \"" + oldName + "\" to \"" + parsedNewName + "\"", throwable);
+                                FileUtils.deleteDirectory(newWorldFile);
+                                abortRename(player, buildWorld, oldName, parsedNewName, finalSpawnLocation != null);
+                                return;
+                            }
+                            completeRename(player, buildWorld, oldName, parsedNewName, finalSpawnLocation, finalRemovedPlayers);
+                        });
+                    });
+            return;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to move \"" + oldName + "\" to \"" + parsedNewName + "\"", e);
+            abortRename(player, buildWorld, oldName, parsedNewName, oldWorld != null);
+            return;
+        }
 
-        File oldWorldFile = new File(Bukkit.getWorldContainer(), oldName);
-        File newWorldFile = new File(Bukkit.getWorldContainer(), parsedNewName);
-        FileUtils.copy(oldWorldFile, newWorldFile);
-        FileUtils.deleteDirectory(oldWorldFile);
+        completeRename(player, buildWorld, oldName, parsedNewName, finalSpawnLocation, finalRemovedPlayers);
+    }
 
-        buildWorld.setName(parsedNewName);
+    /**
+     * Completes a rename once the world's directory has been moved. The world is loaded again, if it was loaded before, and the world's entry in {@code worlds.yml} as well as
+     * the spawn are moved in one step, before the rename is removed from the {@link RenameJournal}.
+     *
+     * @param player         The player who issued the world rename
+     * @param buildWorld     The build world object
+     * @param oldName        The previous name of the world
+     * @param newName        The new name of the world
+     * @param spawnLocation  The spawn location of the world, if it was loaded, otherwise {@code null}
+     * @param removedPlayers The players who were removed from the world
+     */
+    private void completeRename(Player player, BuildWorld buildWorld, String oldName, String newName, @Nullable Location spawnLocation, List<Player> removedPlayers) {
+        releaseName(oldName);
+        releaseName(newName);
+        buildWorld.setName(newName);
         this.addBuildWorld(buildWorld);
-        World newWorld = new BuildWorldCreator(plugin, buildWorld).generateBukkitWorld(false);
-        Location spawnLocation = oldWorld.getSpawnLocation();
-        spawnLocation.setWorld(newWorld);
-
-        removedPlayers.stream()
-                .filter(Objects::nonNull)
-                .forEach(pl -> PaperLib.teleportAsync(pl, spawnLocation.add(0.5, 0, 0.5)));
 
-        SpawnManager spawnManager = plugin.getSpawnManager();
-        if (spawnManager.spawnExists() && Objects.equals(spawnManager.getSpawnWorld(), oldWorld)) {
-            Location oldSpawn = spawnManager.getSpawn();
-            Location newSpawn = new Location(
-                    spawnLocation.getWorld(),
-                    oldSpawn.getX(),
-                    oldSpawn.getY(),
-                    oldSpawn.getZ(),
-                    oldSpawn.getYaw(),
-                    oldSpawn.getPitch()
-            );
-            spawnManager.set(newSpawn, newSpawn.getWorld().getName());
+        if (spawnLocation != null) {
+            World newWorld = new BuildWorldCreator(plugin, buildWorld).generateBukkitWorld(false);
+            Location newLocation = spawnLocation.clone().add(0.5, 0, 0.5);
+            newLocation.setWorld(newWorld);
+            removedPlayers.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(pl -> PaperLib.teleportAsync(pl, newLocation));
         }
 
+        removedWorlds.add(oldName);
+        changeJournal.recordRemove(oldName);
+        changeJournal.recordPut(buildWorld);
+        plugin.getSpawnManager().renameWorld(oldName, newName);
+        snapshotStore.renameWorld(oldName, newName);
+        save().thenRun(() -> renameJournal.end(oldName, newName));
+
         Messages.sendMessage(player, "worlds_rename_set",
                 new AbstractMap.SimpleEntry<>("%oldName%", oldName),
-                new AbstractMap.SimpleEntry<>("%newName%", parsedNewName)
+                new AbstractMap.SimpleEntry<>("%newName%", newName)
         );
     }
 
+    private void abortRename(Player player, BuildWorld buildWorld, String oldName, String newName, boolean wasLoaded) {
+        renameJournal.end(oldName, newName);
+        releaseName(oldName);
+        releaseName(newName);
+        this.addBuildWorld(buildWorld);
+        if (wasLoaded) {
+            new BuildWorldCreator(plugin, buildWorld).generateBukkitWorld(false);
+        }
+        Messages.sendMessage(player, "worlds_rename_error");
+    }
+
+    /**
+     * Completes or rolls back all renames which were interrupted, e.g. by a crash, before their changes were saved.
+     *
+     * @param configuration The configuration containing all worlds
+     */
+    private void recoverRenames(ConfigurationSection configuration) {
+        List<RenameJournal.Rename> renames = renameJournal.read();
+        Map<String, Object> renamedWorlds = new LinkedHashMap<>();
+        Set<String> previousNames = new HashSet<>();
+        for (RenameJournal.Rename rename : renames) {
+            String oldName = rename.getOldName();
+            String newName = rename.getNewName();
+            File oldWorldFile = new File(Bukkit.getWorldContainer(), oldName);
+            File newWorldFile = new File(Bukkit.getWorldContainer(), newName);
+
+            if (rename.isCopied() && oldWorldFile.exists()) {
+                // The copy is complete, but the old directory was not (completely) deleted
+                FileUtils.deleteDirectory(oldWorldFile);
+            }
+
+            if (!rename.isCopied() && oldWorldFile.exists()) {
+                // The directory was never moved, or the copy was interrupted
+                if (newWorldFile.exists()) {
+                    FileUtils.deleteDirectory(newWorldFile);
+                }
+                plugin.getLogger().warning("Rolled back interrupted rename of \"" + oldName + "\" to \"" + newName + "\"");
+            } else if (newWorldFile.exists()) {
+                ConfigurationSection section = configuration.getConfigurationSection("worlds." + oldName);
+                if (section != null) {
+                    configuration.set("worlds." + newName, section);
+                    configuration.set("worlds." + oldName, null);
+                    renamedWorlds.put(newName, section);
+                    previousNames.add(oldName);
+                }
+                plugin.getSpawnManager().renameWorld(oldName, newName);
+                plugin.getLogger().warning("Completed interrupted rename of \"" + oldName + "\" to \"" + newName + "\"");
+            }
+        }
+
+        if (!renames.isEmpty()) {
+            storageManager.submit(backend -> backend.saveWorlds(renamedWorlds, previousNames))
+                    .thenRun(() -> renames.forEach(rename -> renameJournal.end(rename.getOldName(), rename.getNewName())));
+        }
+    }
+
     /**
      * Teleport a player to a {@link BuildWorld}.
      *
@@ -578,8 +860,15 @@ public class WorldManager {
      * @param buildWorld The build world object
      */
     public void teleport(Player player, BuildWorld buildWorld) {
+        if (coldStorage.isStored(buildWorld)) {
+            player.closeInventory();
+            Messages.sendMessage(player, "worlds_tp_restoring", new AbstractMap.SimpleEntry<>("%world%", buildWorld.getName()));
+            coldStorage.whenAvailable(buildWorld, () -> teleport(player, buildWorld));
+            return;
+        }
+
         boolean hadToLoad = false;
-        if (configValues.isUnloadWorlds() && !buildWorld.isLoaded()) {
+        if (!buildWorld.isLoaded()) {
             buildWorld.load(player);
             hadToLoad = true;
         }
@@ -752,44 +1041,173 @@ public class WorldManager {
         return player.hasPermission(permission + ".other");
     }
 
-    public void save() {
-        worldConfig.saveWorlds(getBuildWorlds());
+    /**
+     * Saves all worlds which have changed since they were last saved and removes all unimported worlds from storage. The worlds are written asynchronously.
+     * <p>
+     * Once the worlds have been saved, the {@link WorldChangeJournal} no longer needs to keep the changes up to now. If saving fails, the worlds are saved again the next time.
+     *
+     * @return A future which is completed once all worlds have been saved
+     */
+    public CompletableFuture<Void> save() {
+        CompletableFuture<List<File>> journalSegments = changeJournal.rotate();
+        Map<String, Object> changedWorlds = new LinkedHashMap<>();
+        List<BuildWorld> savedWorlds = new ArrayList<>();
+        for (BuildWorld buildWorld : getBuildWorlds()) {
+            if (buildWorld.isDirty()) {
+                changedWorlds.put(buildWorld.getName(), buildWorld.serialize());
+                savedWorlds.add(buildWorld);
+                buildWorld.markSaved();
+            }
+        }
+
+        Set<String> removed = new HashSet<>(removedWorlds);
+        removedWorlds.clear();
+        CompletableFuture<Void> saved = changedWorlds.isEmpty() && removed.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : storageManager.submit(backend -> backend.saveWorlds(changedWorlds, removed));
+        saved.whenComplete((result, throwable) -> {
+            journalSegments.thenAccept(throwable == null ? changeJournal::delete : changeJournal::restore);
+            if (throwable != null && plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> restoreUnsaved(savedWorlds, removed));
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Marks worlds whose changes could not be saved as dirty again, so that they are included in the next save.
+     */
+    private void restoreUnsaved(List<BuildWorld> savedWorlds, Set<String> removed) {
+        for (BuildWorld buildWorld : savedWorlds) {
+            if (getBuildWorld(buildWorld.getName()) == buildWorld) {
+                buildWorld.markDirty();
+            }
+        }
+        for (String worldName : removed) {
+            if (getBuildWorld(worldName) == null) {
+                removedWorlds.add(worldName);
+            }
+        }
     }
 
     public void load() {
-        FileConfiguration configuration = worldConfig.getFile();
-        if (configuration == null) {
-            return;
+        deletionQueue.purgeTrash();
+        worldPool.start();
+        evictionPolicy.start();
+
+        if (!loadRegistrySnapshot()) {
+            ConfigurationSection configuration;
+            try {
+                configuration = storageManager.supply(StorageBackend::loadWorlds).join();
+            } catch (CompletionException e) {
+                // None of the stored worlds have been loaded, so a snapshot written on shutdown would hide them on the next startup
+                this.registryIncomplete = true;
+                changeJournal.start();
+                return;
+            }
+
+            recoverRenames(configuration);
+            Set<String> replayedWorlds = new HashSet<>();
+            changeJournal.replay(configuration, replayedWorlds, removedWorlds);
+
+            ConfigurationSection configurationSection = configuration.getConfigurationSection("worlds");
+            if (configurationSection != null) {
+                configurationSection.getKeys(false).forEach(worldName -> loadWorld(configuration, worldName, replayedWorlds.contains(worldName)));
+            }
         }
+        changeJournal.start();
+        // Worlds which were loaded before the plugin was enabled do not cause a load event
+        policyRegistry.updateAll();
 
-        ConfigurationSection configurationSection = configuration.getConfigurationSection("worlds");
-        if (configurationSection == null) {
+        if (buildWorlds.isEmpty()) {
             return;
         }
 
-        Set<String> worlds = configurationSection.getKeys(false);
-        if (worlds.isEmpty()) {
-            return;
+        resolveCreators();
+        startupLoader.start();
+        plugin.getSkullTextureCache().refresh();
+    }
+
+    /**
+     * Loads all worlds from the {@link WorldRegistrySnapshot} written on the last shutdown, as long as no changes have been made to the stored worlds since then.
+     *
+     * @return {@code true} if the worlds have been loaded, otherwise {@code false}
+     */
+    private boolean loadRegistrySnapshot() {
+        // Interrupted renames and unsaved changes are only applied when loading from storage
+        if (!renameJournal.read().isEmpty() || changeJournal.hasSegments()) {
+            return false;
+        }
+
+        String fingerprint;
+        try {
+            fingerprint = storageManager.supply(StorageBackend::getWorldsFingerprint).join();
+        } catch (CompletionException e) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        List<BuildWorld> snapshotWorlds = registrySnapshot.read(fingerprint);
+        if (snapshotWorlds == null) {
+            return false;
         }
 
-        worlds.forEach(this::loadWorld);
-        worldConfig.loadWorlds(this);
+        snapshotWorlds.forEach(buildWorld -> {
+            this.buildWorlds.put(buildWorld.getName(), buildWorld);
+            this.worldIndex.add(buildWorld);
+        });
+        plugin.getLogger().info(String.format(Locale.ROOT, "Loaded %d worlds from snapshot in %dms", snapshotWorlds.size(), System.currentTimeMillis() - start));
+        return true;
+    }
 
-        // Cache player heads
-        Profileable.prepare(getBuildWorlds().stream()
-                        .filter(buildWorld -> buildWorld.getData().material().get() == XMaterial.PLAYER_HEAD)
-                        .map(BuildWorld::asProfilable)
-                        .collect(Collectors.toList())
-                )
-                .thenAcceptAsync(profiles -> plugin.getLogger().info("Cached " + profiles.size() + " profiles"));
+    /**
+     * Resolves the uuids of creators which have been stored without one in a legacy format. Once a uuid has been resolved, the creator is set again, so that the world is
+     * rewritten the next time worlds are saved.
+     */
+    private void resolveCreators() {
+        ProfileResolver profileResolver = plugin.getProfileResolver();
+        for (BuildWorld buildWorld : getBuildWorlds()) {
+            Builder creator = buildWorld.getCreator();
+            if (creator == null || creator.getUniqueId() != null) {
+                continue;
+            }
+
+            profileResolver.resolveUniqueId(creator.getName()).thenAccept(uuid -> {
+                if (uuid == null) {
+                    return;
+                }
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    // The creator might have been changed in the meantime
+                    if (buildWorld.getCreator() == creator) {
+                        buildWorld.setCreator(Builder.of(uuid, creator.getName()));
+                    }
+                });
+            });
+        }
     }
 
-    public void loadWorld(String worldName) {
-        FileConfiguration configuration = worldConfig.getFile();
-        if (configuration == null) {
+    /**
+     * Writes a {@link WorldRegistrySnapshot} of all worlds, which is used to load the worlds on the next startup. Must be called on shutdown, after the worlds have been
+     * {@link #save() saved}.
+     */
+    public void writeRegistrySnapshot() {
+        if (registryIncomplete) {
+            storageManager.submit(backend -> registrySnapshot.delete());
             return;
         }
 
+        byte[] worlds;
+        try {
+            worlds = registrySnapshot.serialize(getBuildWorlds());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        // The fingerprint has to be taken after the worlds have been saved, which happens on the same thread
+        storageManager.submit(backend -> registrySnapshot.write(worlds, backend.getWorldsFingerprint()));
+    }
+
+    private void loadWorld(ConfigurationSection configuration, String worldName, boolean replayed) {
         Builder creator = parseCreator(configuration, worldName);
         WorldType worldType = configuration.isString("worlds." + worldName + ".type")
                 ? WorldType.valueOf(configuration.getString("worlds." + worldName + ".type"))
@@ -800,9 +1218,9 @@ public class WorldManager {
                 : -1;
         List<Builder> builders = parseBuilders(configuration, worldName);
         String generatorName = configuration.getString("worlds." + worldName + ".chunk-generator");
-        CustomGenerator customGenerator = new CustomGenerator(generatorName, parseChunkGenerator(worldName, generatorName));
+        CustomGenerator customGenerator = createCustomGenerator(worldName, generatorName);
 
-        this.addBuildWorld(new BuildWorld(
+        BuildWorld buildWorld = new BuildWorld(
                 worldName,
                 creator,
                 worldType,
@@ -810,10 +1228,16 @@ public class WorldManager {
                 creationDate,
                 customGenerator,
                 builders
-        ));
+        );
+        // Worlds which were stored in a legacy format or changed by the journal are saved again
+        if (!replayed && configuration.isConfigurationSection("worlds." + worldName + ".data") && !configuration.isSet("worlds." + worldName + ".creator-id")) {
+            buildWorld.markSaved();
+        }
+        this.buildWorlds.put(worldName, buildWorld);
+        this.worldIndex.add(buildWorld);
     }
 
-    private WorldData parseWorldData(FileConfiguration configuration, String worldName) {
+    private WorldData parseWorldData(ConfigurationSection configuration, String worldName) {
         final String path = "worlds." + worldName + ".data";
         // Load legacy configurations
         if (configuration.getString(path) == null) {
@@ -880,7 +1304,7 @@ public class WorldManager {
         );
     }
 
-    private XMaterial parseMaterial(FileConfiguration configuration, String path, String worldName) {
+    private XMaterial parseMaterial(ConfigurationSection configuration, String path, String worldName) {
         String itemString = configuration.getString(path);
         if (itemString == null) {
             itemString = XMaterial.BEDROCK.name();
@@ -897,7 +1321,7 @@ public class WorldManager {
         }
     }
 
-    private Builder parseCreator(FileConfiguration configuration, String worldName) {
+    private Builder parseCreator(ConfigurationSection configuration, String worldName) {
         final String creator = configuration.getString("worlds." + worldName + ".creator");
         final String oldCreatorIdPath = "worlds." + worldName + ".creator-id";
         final String oldCreatorId = configuration.isString(oldCreatorIdPath)
@@ -914,13 +1338,14 @@ public class WorldManager {
                 return Builder.of(UUID.fromString(oldCreatorId), creator);
             }
 
-            return Builder.of(UUIDFetcher.getUUID(creator), creator);
+            // Looking up the uuid could block, so it is only taken from the cache and otherwise resolved once all worlds have been loaded
+            return Builder.of(plugin.getProfileResolver().getCachedUniqueId(creator), creator);
         }
 
         return Builder.deserialize(creator);
     }
 
-    private List<Builder> parseBuilders(FileConfiguration configuration, String worldName) {
+    private List<Builder> parseBuilders(ConfigurationSection configuration, String worldName) {
         List<Builder> builders = new ArrayList<>();
 
         if (configuration.isString("worlds." + worldName + ".builders")) {
@@ -936,6 +1361,10 @@ public class WorldManager {
         return builders;
     }
 
+    CustomGenerator createCustomGenerator(String worldName, @Nullable String generatorName) {
+        return new CustomGenerator(generatorName, parseChunkGenerator(worldName, generatorName));
+    }
+
     /**
      * @author Ein_Jojo, einTosti
      */
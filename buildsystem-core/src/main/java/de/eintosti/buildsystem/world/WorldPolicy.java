@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.world.data.WorldData;
+import de.eintosti.buildsystem.world.data.WorldStatus;
+
+/**
+ * An immutable snapshot of the settings of a {@link BuildWorld} which are checked by frequently called listeners, packed into a single bitmask.
+ * <p>
+ * A new policy is created whenever one of the settings changes, so a policy never has to be invalidated.
+ *
+ * @see WorldPolicyRegistry
+ */
+public final class WorldPolicy {
+
+    public static final int PHYSICS = 1;
+    public static final int EXPLOSIONS = 1 << 1;
+    public static final int MOB_AI = 1 << 2;
+    public static final int BLOCK_BREAKING = 1 << 3;
+    public static final int BLOCK_PLACEMENT = 1 << 4;
+    public static final int BLOCK_INTERACTIONS = 1 << 5;
+    public static final int BUILDERS_ENABLED = 1 << 6;
+    public static final int ARCHIVE = 1 << 7;
+
+    private final BuildWorld buildWorld;
+    private final int flags;
+
+    private WorldPolicy(BuildWorld buildWorld, int flags) {
+        this.buildWorld = buildWorld;
+        this.flags = flags;
+    }
+
+    /**
+     * Creates a policy from the current settings of the given world.
+     *
+     * @param buildWorld The world
+     * @return The policy
+     */
+    static WorldPolicy of(BuildWorld buildWorld) {
+        WorldData worldData = buildWorld.getData();
+        int flags = 0;
+        if (worldData.physics().get()) {
+            flags |= PHYSICS;
+        }
+        if (worldData.explosions().get()) {
+            flags |= EXPLOSIONS;
+        }
+        if (worldData.mobAi().get()) {
+            flags |= MOB_AI;
+        }
+        if (worldData.blockBreaking().get()) {
+            flags |= BLOCK_BREAKING;
+        }
+        if (worldData.blockPlacement().get()) {
+            flags |= BLOCK_PLACEMENT;
+        }
+        if (worldData.blockInteractions().get()) {
+            flags |= BLOCK_INTERACTIONS;
+        }
+        if (worldData.buildersEnabled().get()) {
+            flags |= BUILDERS_ENABLED;
+        }
+        if (worldData.status().get() == WorldStatus.ARCHIVE) {
+            flags |= ARCHIVE;
+        }
+        return new WorldPolicy(buildWorld, flags);
+    }
+
+    /**
+     * Gets the world the policy belongs to.
+     *
+     * @return The world
+     */
+    public BuildWorld getBuildWorld() {
+        return buildWorld;
+    }
+
+    /**
+     * Gets whether the given flag is set.
+     *
+     * @param flag One of the flags defined in this class
+     * @return {@code true} if the flag is set, otherwise {@code false}
+     */
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the {@link WorldPolicy} of every loaded {@link BuildWorld}, keyed by the identity of its {@link World}, so that listeners can get the policy of an event's world
+ * with a single lookup.
+ * <p>
+ * The map is never modified but replaced whenever a world is loaded or unloaded, or a policy changes, so it can be read from any thread without locking.
+ */
+public class WorldPolicyRegistry implements Listener {
+
+    private final WorldManager worldManager;
+    private final List<Watcher> watchers;
+
+    private volatile Map<World, WorldPolicy> policies;
+
+    WorldPolicyRegistry(BuildSystem plugin, WorldManager worldManager) {
+        this.worldManager = worldManager;
+        this.watchers = new ArrayList<>();
+        this.policies = Collections.emptyMap();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets the policy of the given world.
+     *
+     * @param world The world
+     * @return The policy, or {@code null} if the world is not a {@link BuildWorld}
+     */
+    @Nullable
+    public WorldPolicy get(World world) {
+        return policies.get(world);
+    }
+
+    /**
+     * Gets whether the given world is a {@link BuildWorld} which does not have the given flag set, i.e. whether the setting should be enforced.
+     *
+     * @param world The world
+     * @param flag  One of the flags defined in {@link WorldPolicy}
+     * @return {@code true} if the world is a build world without the flag, otherwise {@code false}
+     */
+    public boolean denies(World world, int flag) {
+        WorldPolicy policy = policies.get(world);
+        return policy != null && !policy.has(flag);
+    }
+
+    /**
+     * Watches whether any loaded world {@link #denies(World, int) denies} the given flag. The callback is run immediately with the current state and again whenever it
+     * changes, which allows listeners to only be registered while they are needed.
+     *
+     * @param flag     One of the flags defined in {@link WorldPolicy}
+     * @param callback The callback which accepts whether any loaded world denies the flag
+     */
+    public synchronized void watch(int flag, Consumer<Boolean> callback) {
+        Watcher watcher = new Watcher(flag, callback);
+        watchers.add(watcher);
+        watcher.update(policies);
+    }
+
+    /**
+     * Creates a new policy for the given world, if it is loaded.
+     *
+     * @param buildWorld The world whose settings have changed
+     */
+    void update(BuildWorld buildWorld) {
+        World world = buildWorld.getWorld();
+        if (world != null) {
+            put(world, WorldPolicy.of(buildWorld));
+        }
+    }
+
+    /**
+     * Creates the policies of all loaded worlds.
+     */
+    void updateAll() {
+        for (World world : Bukkit.getWorlds()) {
+            BuildWorld buildWorld = worldManager.getBuildWorld(world);
+            if (buildWorld != null) {
+                put(world, WorldPolicy.of(buildWorld));
+            }
+        }
+    }
+
+    /**
+     * Removes the policy of the given world, e.g. because it is no longer a {@link BuildWorld}.
+     *
+     * @param buildWorld The world
+     */
+    synchronized void remove(BuildWorld buildWorld) {
+        Map<World, WorldPolicy> policies = new IdentityHashMap<>(this.policies);
+        if (policies.values().removeIf(policy -> policy.getBuildWorld() == buildWorld)) {
+            setPolicies(policies);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        BuildWorld buildWorld = worldManager.getBuildWorld(event.getWorld());
+        if (buildWorld != null) {
+            put(event.getWorld(), WorldPolicy.of(buildWorld));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        remove(event.getWorld());
+    }
+
+    private synchronized void put(World world, WorldPolicy policy) {
+        Map<World, WorldPolicy> policies = new IdentityHashMap<>(this.policies);
+        policies.put(world, policy);
+        setPolicies(policies);
+    }
+
+    private synchronized void remove(World world) {
+        if (!policies.containsKey(world)) {
+            return;
+        }
+
+        Map<World, WorldPolicy> policies = new IdentityHashMap<>(this.policies);
+        policies.remove(world);
+        setPolicies(policies);
+    }
+
+    private void setPolicies(Map<World, WorldPolicy> policies) {
+        this.policies = Collections.unmodifiableMap(policies);
+        watchers.forEach(watcher -> watcher.update(policies));
+    }
+
+    private static class Watcher {
+
+        private final int flag;
+        private final Consumer<Boolean> callback;
+        private Boolean denied;
+
+        private Watcher(int flag, Consumer<Boolean> callback) {
+            this.flag = flag;
+            this.callback = callback;
+        }
+
+        private void update(Map<World, WorldPolicy> policies) {
+            boolean denied = policies.values().stream().anyMatch(policy -> !policy.has(flag));
+            if (this.denied == null || this.denied != denied) {
+                this.denied = denied;
+                callback.accept(denied);
+            }
+        }
+    }
+}
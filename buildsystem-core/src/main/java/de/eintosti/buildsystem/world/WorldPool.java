@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.util.FileUtils;
+import de.eintosti.buildsystem.world.data.WorldType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps a number of pre-generated, unloaded {@link WorldType#VOID} and {@link WorldType#FLAT} worlds, so that creating such a world only requires moving a directory.
+ * <p>
+ * Pooled worlds are stored in the {@code .pool} directory inside the world container. The pool is refilled one world at a time, and only while the server is keeping up
+ * with its tick rate.
+ */
+public class WorldPool {
+
+    private static final String POOL_DIRECTORY = ".pool";
+    private static final WorldType[] POOLED_TYPES = {WorldType.VOID, WorldType.FLAT};
+
+    /**
+     * The maximum time, in milliseconds, 20 ticks may take for the server to be considered idle.
+     */
+    private static final long IDLE_THRESHOLD = 1050L;
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final File poolDirectory;
+    private final Map<WorldType, Deque<File>> pooledWorlds;
+
+    private BukkitTask refillTask;
+    private long lastCheck;
+
+    public WorldPool(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.poolDirectory = new File(Bukkit.getWorldContainer(), POOL_DIRECTORY);
+        this.pooledWorlds = new EnumMap<>(WorldType.class);
+        for (WorldType worldType : POOLED_TYPES) {
+            pooledWorlds.put(worldType, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Registers all worlds which are already in the pool and starts refilling the pool, if enabled.
+     */
+    public void start() {
+        File[] directories = poolDirectory.listFiles(File::isDirectory);
+        if (directories != null) {
+            for (File directory : directories) {
+                WorldType worldType = parseType(directory.getName());
+                if (worldType == null || !new File(directory, "level.dat").exists()) {
+                    // Generation was interrupted
+                    FileUtils.deleteDirectory(directory);
+                    continue;
+                }
+                pooledWorlds.get(worldType).add(directory);
+            }
+        }
+
+        if (!configValues.isWorldPoolEnabled() || refillTask != null) {
+            return;
+        }
+
+        this.lastCheck = System.currentTimeMillis();
+        this.refillTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refill, 20L, 20L);
+    }
+
+    /**
+     * Gets whether a pre-generated world can be used for the given world type.
+     *
+     * @param worldType       The type of the world which is being created
+     * @param customGenerator Whether the world uses a custom generator
+     * @return {@code true} if the world type is pooled, otherwise {@code false}
+     */
+    public boolean isPooled(WorldType worldType, boolean customGenerator) {
+        return configValues.isWorldPoolEnabled() && !customGenerator && pooledWorlds.containsKey(worldType);
+    }
+
+    /**
+     * Moves a pre-generated world of the given type into the world container under the given name.
+     *
+     * @param worldType The type of the world
+     * @param worldName The name the world should have
+     * @return {@code true} if a pooled world was used, otherwise {@code false}, in which case the world has to be generated
+     */
+    public boolean claim(WorldType worldType, String worldName) {
+        Deque<File> available = pooledWorlds.get(worldType);
+        if (available == null) {
+            return false;
+        }
+
+        File target = new File(Bukkit.getWorldContainer(), worldName);
+        File pooledWorld;
+        while ((pooledWorld = available.poll()) != null) {
+            try {
+                Files.deleteIfExists(new File(pooledWorld, "uid.dat").toPath());
+                Files.move(pooledWorld.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Unable to use pooled world \"" + pooledWorld.getName() + "\"", e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generates a single world for the first pool which has not been filled yet, if the server is idle.
+     */
+    private void refill() {
+        long now = System.currentTimeMillis();
+        boolean idle = now - lastCheck <= IDLE_THRESHOLD;
+        this.lastCheck = now;
+        if (!idle) {
+            return;
+        }
+
+        for (WorldType worldType : POOLED_TYPES) {
+            Deque<File> available = pooledWorlds.get(worldType);
+            if (available.size() >= configValues.getWorldPoolSize()) {
+                continue;
+            }
+
+            File pooledWorld = generate(worldType);
+            if (pooledWorld != null) {
+                available.add(pooledWorld);
+            }
+
+            // Generating a world takes a while, so don't measure this tick
+            this.lastCheck = System.currentTimeMillis();
+            return;
+        }
+    }
+
+    @Nullable
+    private File generate(WorldType worldType) {
+        String name = worldType.name().toLowerCase(Locale.ROOT) + "-" + System.currentTimeMillis();
+        String worldName = POOL_DIRECTORY + "/" + name;
+
+        World world = new BuildWorldCreator(plugin, worldName)
+                .setType(worldType)
+                .finishPreparationsAndGenerate();
+        if (world == null) {
+            return null;
+        }
+
+        world.setKeepSpawnInMemory(false);
+        Bukkit.unloadWorld(world, true);
+        return new File(poolDirectory, name);
+    }
+
+    @Nullable
+    private WorldType parseType(String directoryName) {
+        int separator = directoryName.indexOf('-');
+        if (separator == -1) {
+            return null;
+        }
+
+        String type = directoryName.substring(0, separator).toUpperCase(Locale.ROOT);
+        for (WorldType worldType : POOLED_TYPES) {
+            if (worldType.name().equals(type)) {
+                return worldType;
+            }
+        }
+        return null;
+    }
+}
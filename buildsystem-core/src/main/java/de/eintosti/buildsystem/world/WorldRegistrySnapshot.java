@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import com.cryptomorin.xseries.XMaterial;
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.world.data.WorldData;
+import de.eintosti.buildsystem.world.data.WorldStatus;
+import de.eintosti.buildsystem.world.data.WorldType;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import org.bukkit.Difficulty;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compact binary copy of all worlds, written on shutdown, so that the worlds do not have to be parsed from storage on the next startup.
+ * <p>
+ * The snapshot contains a fingerprint of the stored worlds. It is only used if the fingerprint still matches, i.e. the worlds have not been saved since the snapshot was
+ * written.
+ */
+class WorldRegistrySnapshot {
+
+    private static final int MAGIC = 0x42535752;
+    private static final int VERSION = 1;
+
+    private final BuildSystem plugin;
+    private final WorldManager worldManager;
+    private final File file;
+
+    WorldRegistrySnapshot(BuildSystem plugin, WorldManager worldManager) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.file = new File(plugin.getDataFolder(), "worlds.snapshot");
+    }
+
+    /**
+     * Serializes the given worlds. Must be called from the main thread.
+     *
+     * @param buildWorlds The worlds
+     * @return The serialized worlds, which can be {@link #write(byte[], String) written} asynchronously
+     */
+    byte[] serialize(Collection<BuildWorld> buildWorlds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(buildWorlds.size());
+        for (BuildWorld buildWorld : buildWorlds) {
+            WorldData worldData = buildWorld.getData();
+            out.writeUTF(buildWorld.getName());
+            writeBuilder(out, buildWorld.getCreator());
+            out.writeUTF(buildWorld.getType().name());
+            out.writeLong(buildWorld.getCreationDate());
+            writeNullableString(out, buildWorld.getCustomGenerator() != null ? buildWorld.getCustomGenerator().getName() : null);
+
+            writeNullableString(out, worldData.customSpawn().get());
+            writeNullableString(out, worldData.permission().get());
+            writeNullableString(out, worldData.project().get());
+            out.writeUTF(worldData.difficulty().get().name());
+            out.writeUTF(worldData.material().get().name());
+            out.writeUTF(worldData.status().get().name());
+            out.writeBoolean(worldData.blockBreaking().get());
+            out.writeBoolean(worldData.blockInteractions().get());
+            out.writeBoolean(worldData.blockPlacement().get());
+            out.writeBoolean(worldData.buildersEnabled().get());
+            out.writeBoolean(worldData.explosions().get());
+            out.writeBoolean(worldData.mobAi().get());
+            out.writeBoolean(worldData.physics().get());
+            out.writeBoolean(worldData.privateWorld().get());
+            out.writeLong(worldData.lastLoaded().get());
+            out.writeLong(worldData.lastUnloaded().get());
+            out.writeLong(worldData.lastEdited().get());
+
+            List<Builder> builders = buildWorld.getBuilders();
+            out.writeInt(builders.size());
+            for (Builder builder : builders) {
+                writeBuilder(out, builder);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the serialized worlds to disk, replacing any previous snapshot.
+     *
+     * @param worlds      The serialized worlds
+     * @param fingerprint The fingerprint of the stored worlds the snapshot corresponds to
+     */
+    void write(byte[] worlds, String fingerprint) {
+        File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(fingerprint);
+            out.write(worlds);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to write world snapshot", e);
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to write world snapshot", e);
+        }
+    }
+
+    /**
+     * Deletes the snapshot, e.g. because it does not contain all stored worlds.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads all worlds from the snapshot. The whole snapshot is decoded before any world is created, as creating a world has side effects, e.g. scheduling its unload.
+     *
+     * @param fingerprint The fingerprint of the stored worlds
+     * @return The worlds, or {@code null} if there is no snapshot or it does not match the stored worlds
+     */
+    @Nullable
+    List<BuildWorld> read(String fingerprint) {
+        List<Entry> entries = decode(fingerprint);
+        if (entries == null) {
+            return null;
+        }
+
+        List<BuildWorld> buildWorlds = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            BuildWorld buildWorld = new BuildWorld(
+                    entry.worldName,
+                    entry.creator,
+                    entry.worldType,
+                    entry.worldData,
+                    entry.creationDate,
+                    worldManager.createCustomGenerator(entry.worldName, entry.generatorName),
+                    entry.builders
+            );
+            buildWorld.markSaved();
+            buildWorlds.add(buildWorld);
+        }
+        return buildWorlds;
+    }
+
+    /**
+     * Decodes and validates the whole snapshot.
+     *
+     * @return The decoded worlds, or {@code null} if there is no snapshot, it does not match the stored worlds or it is invalid
+     */
+    @Nullable
+    private List<Entry> decode(String fingerprint) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(fingerprint)) {
+                return null;
+            }
+
+            int size = in.readInt();
+            if (size < 0) {
+                throw new IOException("Invalid number of worlds: " + size);
+            }
+
+            List<Entry> entries = new ArrayList<>(Math.min(size, 1024));
+            for (int i = 0; i < size; i++) {
+                String worldName = in.readUTF();
+                Builder creator = readBuilder(in);
+                WorldType worldType = WorldType.valueOf(in.readUTF());
+                long creationDate = in.readLong();
+                String generatorName = readNullableString(in);
+
+                WorldData worldData = new WorldData(
+                        worldName,
+                        readNullableString(in),
+                        readNullableString(in),
+                        readNullableString(in),
+                        Difficulty.valueOf(in.readUTF()),
+                        XMaterial.valueOf(in.readUTF()),
+                        WorldStatus.valueOf(in.readUTF()),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readBoolean(),
+                        in.readLong(),
+                        in.readLong(),
+                        in.readLong()
+                );
+
+                int builderCount = in.readInt();
+                if (builderCount < 0) {
+                    throw new IOException("Invalid number of builders of \"" + worldName + "\": " + builderCount);
+                }
+
+                List<Builder> builders = new ArrayList<>(Math.min(builderCount, 1024));
+                for (int j = 0; j < builderCount; j++) {
+                    builders.add(readBuilder(in));
+                }
+
+                entries.add(new Entry(worldName, creator, worldType, worldData, creationDate, generatorName, builders));
+            }
+
+            if (in.read() != -1) {
+                throw new IOException("Unexpected data after the last world");
+            }
+            return entries;
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to read world snapshot, loading worlds from storage", e);
+            return null;
+        }
+    }
+
+    /**
+     * A world which has been decoded, but not created yet.
+     */
+    private static class Entry {
+
+        private final String worldName;
+        @Nullable
+        private final Builder creator;
+        private final WorldType worldType;
+        private final WorldData worldData;
+        private final long creationDate;
+        @Nullable
+        private final String generatorName;
+        private final List<Builder> builders;
+
+        private Entry(String worldName, @Nullable Builder creator, WorldType worldType, WorldData worldData, long creationDate, @Nullable String generatorName,
+                      List<Builder> builders) {
+            this.worldName = worldName;
+            this.creator = creator;
+            this.worldType = worldType;
+            this.worldData = worldData;
+            this.creationDate = creationDate;
+            this.generatorName = generatorName;
+            this.builders = builders;
+        }
+    }
+
+    private void writeBuilder(DataOutputStream out, @Nullable Builder builder) throws IOException {
+        out.writeBoolean(builder != null);
+        if (builder != null) {
+            writeNullableString(out, builder.getUniqueId() != null ? builder.getUniqueId().toString() : null);
+            writeNullableString(out, builder.getName());
+        }
+    }
+
+    @Nullable
+    private Builder readBuilder(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        String uuid = readNullableString(in);
+        return Builder.of(uuid != null ? UUID.fromString(uuid) : null, readNullableString(in));
+    }
+
+    private void writeNullableString(DataOutputStream out, @Nullable String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    @Nullable
+    private String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
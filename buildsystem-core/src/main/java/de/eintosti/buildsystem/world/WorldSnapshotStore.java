@@ -0,0 +1,653 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import com.google.common.collect.ImmutableSet;
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.util.FileUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores snapshots of worlds which can be restored later on.
+ * <p>
+ * Snapshots are incremental and deduplicated: every chunk of a region file and every other file of a world is stored as an object named after the hash of its content. A
+ * snapshot is a manifest which lists the objects a world consisted of, so chunks which did not change between snapshots or which are shared between worlds created from the
+ * same template are only stored once. Objects which are no longer referenced by any manifest are removed once older snapshots have been pruned.
+ */
+public class WorldSnapshotStore {
+
+    private static final long CHECK_INTERVAL = 20L * 60 * 10;
+    private static final String MANIFEST_EXTENSION = ".manifest";
+    private static final Set<String> IGNORED_FILES = ImmutableSet.of("uid.dat", "session.lock", ".buildsystem-linked");
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final WorldFileQueue fileQueue;
+    private final File objectsDirectory;
+    private final File manifestsDirectory;
+    private final ExecutorService snapshotExecutor;
+    private final Deque<BuildWorld> scheduledSnapshots;
+    private final Set<BuildWorld> deferredSnapshots;
+
+    private long lastScheduledRun;
+    private volatile boolean pruned;
+
+    public WorldSnapshotStore(BuildSystem plugin, WorldFileQueue fileQueue) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.fileQueue = fileQueue;
+        File snapshotsDirectory = new File(plugin.getDataFolder(), "snapshots");
+        this.objectsDirectory = new File(snapshotsDirectory, "objects");
+        this.manifestsDirectory = new File(snapshotsDirectory, "worlds");
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BuildSystem-Snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduledSnapshots = new ArrayDeque<>();
+        this.deferredSnapshots = new HashSet<>();
+        this.lastScheduledRun = System.currentTimeMillis();
+
+        Bukkit.getScheduler().runTaskTimer(plugin, this::checkSchedule, CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    /**
+     * Gets the ids of all snapshots of the given world, from oldest to newest.
+     *
+     * @param worldName The name of the world
+     * @return The ids of the snapshots
+     */
+    public List<String> getSnapshots(String worldName) {
+        String[] manifests = new File(manifestsDirectory, worldName).list((dir, name) -> name.endsWith(MANIFEST_EXTENSION));
+        if (manifests == null) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(manifests)
+                .map(name -> name.substring(0, name.length() - MANIFEST_EXTENSION.length()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the time the newest snapshot of the given world was created at.
+     *
+     * @param worldName The name of the world
+     * @return The time in milliseconds, or {@code 0} if the world has no snapshots
+     */
+    public long getLatestSnapshotTime(String worldName) {
+        List<String> snapshots = getSnapshots(worldName);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        return getManifest(worldName, snapshots.get(snapshots.size() - 1)).lastModified();
+    }
+
+    /**
+     * Creates a snapshot of the given world. The world must not be loaded, as the server may write its region files at any time while they are being read, even if
+     * saving automatically has been disabled. Use {@link #deferSnapshot(BuildWorld)} for loaded worlds instead.
+     *
+     * @param buildWorld The world to create a snapshot of
+     * @return A future which is completed with the result once the snapshot has been created
+     * @throws IllegalStateException If the world is loaded
+     */
+    public CompletableFuture<SnapshotResult> snapshot(BuildWorld buildWorld) {
+        if (buildWorld.getWorld() != null) {
+            throw new IllegalStateException("World \"" + buildWorld.getName() + "\" is loaded");
+        }
+
+        String worldName = buildWorld.getName();
+        File worldDirectory = new File(Bukkit.getWorldContainer(), worldName);
+        return fileQueue.supply(buildWorld, () -> {
+            try {
+                return createSnapshot(worldName, worldDirectory);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to create a snapshot of \"" + worldName + "\"", e);
+                throw new CompletionException(e);
+            }
+        }, snapshotExecutor);
+    }
+
+    /**
+     * Creates a snapshot of the given loaded world once it has been unloaded, regardless of whether snapshots are created on unload.
+     *
+     * @param buildWorld The world to create a snapshot of
+     */
+    public void deferSnapshot(BuildWorld buildWorld) {
+        deferredSnapshots.add(buildWorld);
+    }
+
+    /**
+     * Creates a snapshot of the given world once it has been unloaded, if enabled in the config or if a snapshot has been deferred until then.
+     *
+     * @param buildWorld The world which has been unloaded
+     */
+    void snapshotOnUnload(BuildWorld buildWorld) {
+        if (buildWorld.getWorld() != null) {
+            return;
+        }
+
+        boolean deferred = deferredSnapshots.remove(buildWorld);
+        if (deferred || (configValues.isSnapshotsEnabled() && configValues.isSnapshotOnUnload())) {
+            snapshot(buildWorld);
+        }
+    }
+
+    /**
+     * Replaces the directory of a world with the given snapshot. The world must not be loaded. If the world has not been imported, {@code buildWorld} may be {@code null}, in
+     * which case the world can be imported once its directory has been restored.
+     * <p>
+     * The current directory of the world, if any, is moved into the trash.
+     *
+     * @param worldName  The name of the world
+     * @param buildWorld The world, or {@code null} if the world has not been imported
+     * @param snapshotId The id of the snapshot to restore
+     * @return A future which is completed once the snapshot has been restored
+     */
+    public CompletableFuture<Void> restore(String worldName, @Nullable BuildWorld buildWorld, String snapshotId) {
+        File manifest = getManifest(worldName, snapshotId);
+        Runnable task = () -> {
+            try {
+                restoreSnapshot(worldName, manifest);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to restore snapshot " + snapshotId + " of \"" + worldName + "\"", e);
+                throw new CompletionException(e);
+            }
+        };
+
+        if (buildWorld == null) {
+            return CompletableFuture.runAsync(task, snapshotExecutor);
+        }
+        return fileQueue.submit(buildWorld, task, snapshotExecutor);
+    }
+
+    /**
+     * Moves the snapshots of a world which was renamed, so that they can still be restored.
+     *
+     * @param oldName The previous name of the world
+     * @param newName The new name of the world
+     */
+    public void renameWorld(String oldName, String newName) {
+        File oldDirectory = new File(manifestsDirectory, oldName);
+        File newDirectory = new File(manifestsDirectory, newName);
+        snapshotExecutor.execute(() -> {
+            if (!oldDirectory.exists() || newDirectory.exists()) {
+                return;
+            }
+
+            try {
+                Files.move(oldDirectory.toPath(), newDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unable to move the snapshots of \"" + oldName + "\" to \"" + newName + "\"", e);
+            }
+        });
+    }
+
+    /**
+     * Creates snapshots of all worlds which might have changed since their last snapshot, one after another, once the configured interval has passed. Objects which are no
+     * longer referenced are removed when no snapshots are being created.
+     */
+    private void checkSchedule() {
+        if (!configValues.isSnapshotsEnabled() || !scheduledSnapshots.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long interval = configValues.getSnapshotInterval();
+        if (interval <= 0 || now - lastScheduledRun < TimeUnit.MINUTES.toMillis(interval)) {
+            if (pruned) {
+                this.pruned = false;
+                snapshotExecutor.execute(this::collectGarbage);
+            }
+            return;
+        }
+
+        this.lastScheduledRun = now;
+        WorldManager worldManager = plugin.getWorldManager();
+        for (BuildWorld buildWorld : worldManager.getBuildWorlds()) {
+            if (buildWorld.getWorld() != null) {
+                deferSnapshot(buildWorld);
+                continue;
+            }
+            if (worldManager.getColdStorage().isStored(buildWorld)
+                    || buildWorld.getData().lastUnloaded().get() < getLatestSnapshotTime(buildWorld.getName())) {
+                continue;
+            }
+            scheduledSnapshots.add(buildWorld);
+        }
+
+        if (!scheduledSnapshots.isEmpty()) {
+            plugin.getLogger().info("Creating snapshots of " + scheduledSnapshots.size() + " world(s)");
+            snapshotNext();
+        }
+    }
+
+    /**
+     * Snapshots are submitted one after another, so that worlds are not considered busy while they are waiting for their snapshot.
+     */
+    private void snapshotNext() {
+        BuildWorld buildWorld = scheduledSnapshots.peek();
+        if (buildWorld == null) {
+            return;
+        }
+
+        if (plugin.getWorldManager().getBuildWorld(buildWorld.getName()) != buildWorld) {
+            scheduledSnapshots.poll();
+            snapshotNext();
+            return;
+        }
+
+        if (buildWorld.getWorld() != null) {
+            deferSnapshot(buildWorld);
+            scheduledSnapshots.poll();
+            snapshotNext();
+            return;
+        }
+
+        snapshot(buildWorld).whenComplete((result, throwable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            scheduledSnapshots.poll();
+            snapshotNext();
+        }));
+    }
+
+    private SnapshotResult createSnapshot(String worldName, File worldDirectory) throws IOException {
+        if (!worldDirectory.isDirectory()) {
+            throw new IOException("World directory " + worldDirectory + " does not exist");
+        }
+
+        long start = System.currentTimeMillis();
+        String snapshotId = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date(start));
+        SnapshotResult result = new SnapshotResult(snapshotId);
+
+        List<Path> files;
+        Path root = worldDirectory.toPath();
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> !IGNORED_FILES.contains(path.getFileName().toString()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        File manifest = getManifest(worldName, snapshotId);
+        Files.createDirectories(manifest.getParentFile().toPath());
+        File tempManifest = new File(manifest.getParentFile(), manifest.getName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempManifest.toPath(), StandardCharsets.UTF_8)) {
+            for (Path file : files) {
+                String relativePath = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (relativePath.endsWith(".mca") && writeRegion(file.toFile(), relativePath, writer, result)) {
+                    continue;
+                }
+
+                writer.write("F " + storeObject(Files.readAllBytes(file), result) + " " + relativePath);
+                writer.newLine();
+            }
+        }
+        Files.move(tempManifest.toPath(), manifest.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        prune(worldName);
+        plugin.getLogger().info(String.format(Locale.ROOT,
+                "Created snapshot %s of \"%s\" in %dms (%d new object(s), %d KiB)",
+                snapshotId, worldName, System.currentTimeMillis() - start, result.newObjects, result.newBytes / 1024
+        ));
+        return result;
+    }
+
+    /**
+     * Stores every chunk of a region file as a separate object and lists them in the manifest.
+     *
+     * @return {@code true} if the region file was stored, otherwise {@code false} if it is malformed and has to be stored as a whole
+     */
+    private boolean writeRegion(File regionFile, String relativePath, BufferedWriter writer, SnapshotResult result) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (RandomAccessFile file = new RandomAccessFile(regionFile, "r")) {
+            if (file.length() < HEADER_SIZE) {
+                return false;
+            }
+
+            byte[] header = new byte[HEADER_SIZE];
+            file.readFully(header);
+            ByteBuffer buffer = ByteBuffer.wrap(header);
+
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                int location = buffer.getInt(i * 4);
+                if (location == 0) {
+                    continue;
+                }
+
+                long position = (long) (location >>> 8) * SECTOR_SIZE;
+                if (position < HEADER_SIZE || position + 4 > file.length()) {
+                    return false;
+                }
+
+                file.seek(position);
+                int length = file.readInt();
+                if (length <= 0 || position + 4 + length > file.length()) {
+                    return false;
+                }
+
+                // The length prefix is stored as well, so that the chunk can be written back as is
+                byte[] chunk = new byte[length + 4];
+                file.seek(position);
+                file.readFully(chunk);
+                entries.add("C " + i + " " + buffer.getInt(SECTOR_SIZE + i * 4) + " " + storeObject(chunk, result));
+            }
+        }
+
+        writer.write("R " + relativePath);
+        writer.newLine();
+        for (String entry : entries) {
+            writer.write(entry);
+            writer.newLine();
+        }
+        return true;
+    }
+
+    private void restoreSnapshot(String worldName, File manifest) throws IOException {
+        if (!manifest.exists()) {
+            throw new IOException("Snapshot " + manifest + " does not exist");
+        }
+
+        long start = System.currentTimeMillis();
+        File worldDirectory = new File(Bukkit.getWorldContainer(), worldName);
+        File tempDirectory = new File(Bukkit.getWorldContainer(), ".snapshot-" + worldName);
+        FileUtils.deleteDirectory(tempDirectory);
+
+        RegionWriter region = null;
+        try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 4);
+                switch (parts[0]) {
+                    case "F": {
+                        if (region != null) {
+                            region.close();
+                            region = null;
+                        }
+                        Path target = resolve(tempDirectory, line.substring(line.indexOf(' ', 2) + 1));
+                        Files.createDirectories(target.getParent());
+                        Files.copy(getObject(parts[1]).toPath(), target);
+                        break;
+                    }
+                    case "R": {
+                        if (region != null) {
+                            region.close();
+                        }
+                        Path target = resolve(tempDirectory, line.substring(2));
+                        Files.createDirectories(target.getParent());
+                        region = new RegionWriter(target.toFile());
+                        break;
+                    }
+                    case "C": {
+                        if (region == null) {
+                            throw new IOException("Chunk outside of region file in " + manifest);
+                        }
+                        region.write(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Files.readAllBytes(getObject(parts[3]).toPath()));
+                        break;
+                    }
+                    default:
+                        throw new IOException("Malformed line in " + manifest + ": " + line);
+                }
+            }
+
+            if (region != null) {
+                region.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (region != null) {
+                region.file.close();
+            }
+            FileUtils.deleteDirectory(tempDirectory);
+            throw e;
+        }
+
+        if (worldDirectory.exists() && !plugin.getWorldManager().getDeletionQueue().delete(worldDirectory)) {
+            FileUtils.deleteDirectory(tempDirectory);
+            throw new IOException("Unable to move " + worldDirectory + " into the trash");
+        }
+        Files.move(tempDirectory.toPath(), worldDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        plugin.getLogger().info(String.format(Locale.ROOT,
+                "Restored snapshot %s of \"%s\" in %dms", manifest.getName().replace(MANIFEST_EXTENSION, ""), worldName, System.currentTimeMillis() - start
+        ));
+    }
+
+    private Path resolve(File directory, String relativePath) throws IOException {
+        Path root = directory.toPath().normalize();
+        Path target = root.resolve(relativePath).normalize();
+        if (!target.startsWith(root)) {
+            throw new IOException("Path is outside of the world directory: " + relativePath);
+        }
+        return target;
+    }
+
+    /**
+     * Stores the given data as an object, unless an object with the same content already exists.
+     *
+     * @return The hash of the data, which is the name of the object
+     */
+    private String storeObject(byte[] data, SnapshotResult result) throws IOException {
+        String hash = hash(data);
+        File object = getObject(hash);
+        if (object.exists()) {
+            return hash;
+        }
+
+        Files.createDirectories(object.getParentFile().toPath());
+        File tempObject = new File(object.getParentFile(), object.getName() + ".tmp");
+        Files.write(tempObject.toPath(), data);
+        Files.move(tempObject.toPath(), object.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        result.newObjects++;
+        result.newBytes += data.length;
+        return hash;
+    }
+
+    /**
+     * Deletes the oldest snapshots of a world which exceed {@link ConfigValues#getSnapshotsToKeep()}.
+     */
+    private void prune(String worldName) throws IOException {
+        int snapshotsToKeep = configValues.getSnapshotsToKeep();
+        if (snapshotsToKeep <= 0) {
+            return;
+        }
+
+        List<String> snapshots = getSnapshots(worldName);
+        int excess = snapshots.size() - snapshotsToKeep;
+        for (int i = 0; i < excess; i++) {
+            Files.deleteIfExists(getManifest(worldName, snapshots.get(i)).toPath());
+            this.pruned = true;
+        }
+    }
+
+    /**
+     * Deletes all objects which are not referenced by any manifest.
+     */
+    private void collectGarbage() {
+        if (!manifestsDirectory.exists() || !objectsDirectory.exists()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Set<String> referenced = new HashSet<>();
+        try (Stream<Path> manifests = Files.walk(manifestsDirectory.toPath())) {
+            for (Path manifest : (Iterable<Path>) manifests.filter(path -> path.toString().endsWith(MANIFEST_EXTENSION))::iterator) {
+                try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.split(" ", 4);
+                        if (parts[0].equals("F")) {
+                            referenced.add(parts[1]);
+                        } else if (parts[0].equals("C")) {
+                            referenced.add(parts[3]);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Never delete objects unless all references are known
+            plugin.getLogger().log(Level.SEVERE, "Unable to read snapshot manifests", e);
+            return;
+        }
+
+        int deleted = 0;
+        try (Stream<Path> objects = Files.walk(objectsDirectory.toPath())) {
+            for (Path object : (Iterable<Path>) objects.filter(Files::isRegularFile)::iterator) {
+                String hash = object.getParent().getFileName().toString() + object.getFileName().toString();
+                if (!referenced.contains(hash)) {
+                    Files.delete(object);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Unable to delete unreferenced snapshot objects", e);
+        }
+
+        plugin.getLogger().info(String.format(Locale.ROOT,
+                "Deleted %d unreferenced snapshot object(s) in %dms", deleted, System.currentTimeMillis() - start
+        ));
+    }
+
+    private File getManifest(String worldName, String snapshotId) {
+        return new File(manifestsDirectory, worldName + File.separator + snapshotId + MANIFEST_EXTENSION);
+    }
+
+    private File getObject(String hash) {
+        return new File(objectsDirectory, hash.substring(0, 2) + File.separator + hash.substring(2));
+    }
+
+    private static String hash(byte[] data) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        StringBuilder builder = new StringBuilder(64);
+        for (byte b : digest.digest(data)) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the chunks of a region file one after another, followed by the header once all chunks have been written.
+     */
+    private static class RegionWriter {
+
+        private final RandomAccessFile file;
+        private final ByteBuffer header;
+        private int sector;
+
+        private RegionWriter(File regionFile) throws IOException {
+            this.file = new RandomAccessFile(regionFile, "rw");
+            this.header = ByteBuffer.allocate(HEADER_SIZE);
+            this.sector = 2;
+            file.seek(HEADER_SIZE);
+        }
+
+        private void write(int index, int timestamp, byte[] chunk) throws IOException {
+            int sectors = (chunk.length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+            file.write(chunk);
+            file.write(new byte[sectors * SECTOR_SIZE - chunk.length]);
+
+            header.putInt(index * 4, (sector << 8) | sectors);
+            header.putInt(SECTOR_SIZE + index * 4, timestamp);
+            sector += sectors;
+        }
+
+        private void close() throws IOException {
+            file.seek(0);
+            file.write(header.array());
+            file.close();
+        }
+    }
+
+    /**
+     * The result of creating a snapshot.
+     */
+    public static class SnapshotResult {
+
+        private final String snapshotId;
+        private int newObjects;
+        private long newBytes;
+
+        private SnapshotResult(String snapshotId) {
+            this.snapshotId = snapshotId;
+        }
+
+        public String getSnapshotId() {
+            return snapshotId;
+        }
+
+        /**
+         * Gets the amount of objects which did not exist in the store before.
+         *
+         * @return The amount of new objects
+         */
+        public int getNewObjects() {
+            return newObjects;
+        }
+
+        /**
+         * Gets the amount of bytes which had to be written to the store, i.e. the size of all new objects.
+         *
+         * @return The amount of new bytes
+         */
+        public long getNewBytes() {
+            return newBytes;
+        }
+    }
+}
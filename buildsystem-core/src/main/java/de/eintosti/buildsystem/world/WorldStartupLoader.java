@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import de.eintosti.buildsystem.player.BuildPlayer;
+import de.eintosti.buildsystem.player.LogoutLocation;
+import de.eintosti.buildsystem.util.FileUtils;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Loads the {@link BuildWorld}s which should be loaded when the plugin is enabled.
+ * <p>
+ * Instead of loading all worlds at once, worlds are loaded across multiple ticks, with {@link ConfigValues#getStartupTickBudget()} milliseconds being spent per tick.
+ * Worlds which are blacklisted from being unloaded are loaded first, followed by the worlds online players logged out in. Once these are loaded, the plugin is considered
+ * ready. If {@link ConfigValues#isUnloadWorlds()} is disabled, all remaining worlds are loaded afterward.
+ */
+public class WorldStartupLoader {
+
+    private final BuildSystem plugin;
+    private final ConfigValues configValues;
+    private final Logger logger;
+    private final Deque<BuildWorld> queue;
+
+    private BukkitTask loadTask;
+    private boolean prepared;
+    private int criticalWorlds;
+    private int totalWorlds;
+    private int processedWorlds;
+    private boolean ready;
+
+    public WorldStartupLoader(BuildSystem plugin) {
+        this.plugin = plugin;
+        this.configValues = plugin.getConfigValues();
+        this.logger = plugin.getLogger();
+        this.queue = new ArrayDeque<>();
+    }
+
+    /**
+     * Starts loading worlds on the next tick, at which point the data of all players has been loaded as well.
+     */
+    public void start() {
+        if (loadTask != null) {
+            return;
+        }
+
+        this.loadTask = Bukkit.getScheduler().runTaskTimer(plugin, this::loadWorlds, 1L, 1L);
+    }
+
+    private void prepareQueue() {
+        WorldManager worldManager = plugin.getWorldManager();
+        Set<BuildWorld> critical = new LinkedHashSet<>();
+
+        for (String worldName : configValues.getBlackListedWorldsToUnload()) {
+            BuildWorld buildWorld = worldManager.getBuildWorld(worldName);
+            if (buildWorld != null) {
+                critical.add(buildWorld);
+            }
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            BuildPlayer buildPlayer = plugin.getPlayerManager().getBuildPlayer(player.getUniqueId());
+            LogoutLocation logoutLocation = buildPlayer != null ? buildPlayer.getLogoutLocation() : null;
+            if (logoutLocation == null) {
+                continue;
+            }
+
+            BuildWorld buildWorld = worldManager.getBuildWorld(logoutLocation.getWorldName());
+            if (buildWorld != null) {
+                critical.add(buildWorld);
+            }
+        }
+
+        queue.addAll(critical);
+        this.criticalWorlds = critical.size();
+
+        boolean loadAllWorlds = !configValues.isUnloadWorlds();
+        if (loadAllWorlds) {
+            logger.info("*** All worlds will be loaded now ***");
+            worldManager.getBuildWorlds().stream()
+                    .filter(buildWorld -> !critical.contains(buildWorld))
+                    .forEach(queue::add);
+        } else {
+            logger.info("*** 'Unload worlds' has been enabled in the config ***");
+            logger.info("*** Therefore, worlds will not be pre-loaded ***");
+        }
+
+        this.totalWorlds = queue.size();
+    }
+
+    private void loadWorlds() {
+        if (!prepared) {
+            prepareQueue();
+            this.prepared = true;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configValues.getStartupTickBudget());
+        do {
+            if (processedWorlds == criticalWorlds && !ready) {
+                this.ready = true;
+                logger.info("*** " + criticalWorlds + " required world(s) have been loaded ***");
+            }
+
+            BuildWorld buildWorld = queue.poll();
+            if (buildWorld == null) {
+                finish();
+                return;
+            }
+
+            loadWorld(buildWorld);
+            processedWorlds++;
+        } while (System.nanoTime() < deadline);
+    }
+
+    private void loadWorld(BuildWorld buildWorld) {
+        // The world might have been deleted or loaded by a player in the meantime
+        if (plugin.getWorldManager().getBuildWorld(buildWorld.getName()) != buildWorld) {
+            return;
+        }
+
+        // Worlds in cold storage are restored asynchronously and loaded afterward, as generating them now would create an empty world in their place
+        WorldColdStorage coldStorage = plugin.getWorldManager().getColdStorage();
+        if (coldStorage.isStored(buildWorld)) {
+            coldStorage.whenAvailable(buildWorld, () -> loadWorld(buildWorld));
+            return;
+        }
+
+        String worldName = buildWorld.getName();
+        if (buildWorld.getWorld() == null && FileUtils.hasLinkedFiles(new File(Bukkit.getWorldContainer(), worldName))) {
+            // Region files shared with a template are copied on the I/O pool, so they are not copied on the main thread while generating the world
+            new BuildWorldCreator(plugin, buildWorld).materializeLinkedFilesAsync().thenAccept(success -> {
+                if (success) {
+                    Bukkit.getScheduler().runTask(plugin, () -> loadWorld(buildWorld));
+                }
+            });
+            return;
+        }
+
+        if (buildWorld.getWorld() == null) {
+            World world = new BuildWorldCreator(plugin, buildWorld).generateBukkitWorld();
+            if (world == null) {
+                plugin.getWorldManager().removeBuildWorld(buildWorld);
+                return;
+            }
+            buildWorld.getData().lastLoaded().set(System.currentTimeMillis());
+        }
+
+        buildWorld.manageUnload();
+        logger.info("✔ World loaded: " + worldName);
+    }
+
+    private void finish() {
+        loadTask.cancel();
+        if (!configValues.isUnloadWorlds()) {
+            logger.info("*** All worlds have been loaded ***");
+        }
+    }
+
+    /**
+     * Gets whether all worlds which are required to be loaded, i.e. blacklisted worlds and worlds in which online players logged out, have been loaded.
+     *
+     * @return {@code true} if the required worlds have been loaded, otherwise {@code false}
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getLoadedWorlds() {
+        return processedWorlds;
+    }
+
+    public int getTotalWorlds() {
+        return totalWorlds;
+    }
+
+    /**
+     * Gets whether worlds are still being loaded.
+     *
+     * @return {@code true} if worlds are still being loaded, otherwise {@code false}
+     */
+    public boolean isLoading() {
+        return !queue.isEmpty();
+    }
+}
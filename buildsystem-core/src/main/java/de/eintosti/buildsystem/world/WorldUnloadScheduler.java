@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.world;
+
+import de.eintosti.buildsystem.BuildSystem;
+import de.eintosti.buildsystem.config.ConfigValues;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Unloads {@link BuildWorld}s which have not been used for {@link ConfigValues#getTimeUntilUnload()} seconds.
+ * <p>
+ * Instead of scheduling a task for every world, the time at which each world is due is stored in a hashed timing wheel with one slot per second. Resetting the time of a
+ * world only moves it to another slot, and a single task checks the slot of the current second once per second.
+ */
+public class WorldUnloadScheduler {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final ConfigValues configValues;
+    private final Map<BuildWorld, Long> dueTimes;
+    private final List<Set<BuildWorld>> wheel;
+
+    private long lastSweep;
+
+    public WorldUnloadScheduler(BuildSystem plugin) {
+        this.configValues = plugin.getConfigValues();
+        this.dueTimes = new HashMap<>();
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new HashSet<>());
+        }
+
+        this.lastSweep = currentSecond();
+        Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, 20L, 20L);
+    }
+
+    /**
+     * Schedules the given world to be unloaded once the configured time has passed. If the world is already scheduled, its time is reset.
+     *
+     * @param buildWorld The world to schedule
+     */
+    public void schedule(BuildWorld buildWorld) {
+        if (!configValues.isUnloadWorlds()) {
+            cancel(buildWorld);
+            return;
+        }
+
+        long dueTime = currentSecond() + configValues.getTimeUntilUnload();
+        Long previous = dueTimes.put(buildWorld, dueTime);
+        if (previous != null) {
+            getSlot(previous).remove(buildWorld);
+        }
+        getSlot(dueTime).add(buildWorld);
+    }
+
+    /**
+     * Removes the given world from the scheduler, so it is no longer unloaded automatically.
+     *
+     * @param buildWorld The world to remove
+     */
+    public void cancel(BuildWorld buildWorld) {
+        Long previous = dueTimes.remove(buildWorld);
+        if (previous != null) {
+            getSlot(previous).remove(buildWorld);
+        }
+    }
+
+    /**
+     * Unloads all worlds which are due in one of the seconds which have passed since the last sweep.
+     */
+    private void sweep() {
+        long now = currentSecond();
+        // If the server lagged behind by more than a full rotation, every slot has to be checked once
+        long from = Math.max(lastSweep + 1, now - WHEEL_SIZE + 1);
+
+        List<BuildWorld> due = new ArrayList<>();
+        for (long second = from; second <= now; second++) {
+            for (BuildWorld buildWorld : getSlot(second)) {
+                if (dueTimes.get(buildWorld) <= now) {
+                    due.add(buildWorld);
+                }
+            }
+        }
+        this.lastSweep = now;
+
+        for (BuildWorld buildWorld : due) {
+            cancel(buildWorld);
+            buildWorld.unload();
+        }
+    }
+
+    /**
+     * Gets the amount of worlds which are scheduled to be unloaded.
+     *
+     * @return The amount of scheduled worlds
+     */
+    public int getPendingUnloads() {
+        return dueTimes.size();
+    }
+
+    /**
+     * Gets the amount of seconds until the given world is unloaded.
+     *
+     * @param buildWorld The world
+     * @return The amount of seconds, or {@code -1} if the world is not scheduled to be unloaded
+     */
+    public long getSecondsUntilUnload(BuildWorld buildWorld) {
+        Long dueTime = dueTimes.get(buildWorld);
+        if (dueTime == null) {
+            return -1;
+        }
+        return Math.max(0, dueTime - currentSecond());
+    }
+
+    /**
+     * Gets the world which will be unloaded next.
+     *
+     * @return The world, or {@code null} if no world is scheduled to be unloaded
+     */
+    @Nullable
+    public BuildWorld getNextUnload() {
+        return dueTimes.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    private Set<BuildWorld> getSlot(long second) {
+        return wheel.get((int) (second % WHEEL_SIZE));
+    }
+
+    private long currentSecond() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+}
@@ -21,6 +21,7 @@ import com.cryptomorin.xseries.XMaterial;
 import de.eintosti.buildsystem.config.ConfigValues;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 import org.bukkit.Difficulty;
@@ -55,6 +56,8 @@ public class WorldData implements ConfigurationSerializable {
     private final Type<Long> lastUnloaded = register("last-unloaded");
 
     private String worldName;
+    private boolean dirty;
+    private BiConsumer<String, Object> changeListener;
 
     public WorldData(String worldName, ConfigValues configValues, boolean privateWorld) {
         this.customSpawn.set(null);
@@ -129,6 +132,8 @@ public class WorldData implements ConfigurationSerializable {
     }
 
     public <T> Type<T> register(@NotNull String key, Type<T> type) {
+        type.owner = this;
+        type.key = key;
         this.data.put(key, type);
         return type;
     }
@@ -223,6 +228,31 @@ public class WorldData implements ConfigurationSerializable {
         this.worldName = worldName;
     }
 
+    /**
+     * Sets the listener which is called with the key and the serialized value whenever a value is changed.
+     *
+     * @param changeListener The listener, or {@code null} to remove it
+     */
+    public void setChangeListener(@Nullable BiConsumer<String, Object> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Gets whether any value has been changed since the data was last saved.
+     *
+     * @return {@code true} if the data has to be saved, otherwise {@code false}
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the data as saved, i.e. not dirty.
+     */
+    public void markSaved() {
+        this.dirty = false;
+    }
+
     @Override
     public @NotNull Map<String, Object> serialize() {
         return data.entrySet().stream()
@@ -233,6 +263,8 @@ public class WorldData implements ConfigurationSerializable {
     public static class Type<T> {
 
         private T value;
+        private WorldData owner;
+        private String key;
 
         public T get() {
             return value;
@@ -240,6 +272,12 @@ public class WorldData implements ConfigurationSerializable {
 
         public void set(T value) {
             this.value = value;
+            if (owner != null) {
+                owner.dirty = true;
+                if (owner.changeListener != null) {
+                    owner.changeListener.accept(key, value != null ? getConfigFormat() : null);
+                }
+            }
         }
 
         protected Object getConfigFormat() {
@@ -27,12 +27,10 @@ import de.eintosti.buildsystem.tabcomplete.WorldsTabComplete.WorldsArgument;
 import de.eintosti.buildsystem.util.InventoryUtils;
 import de.eintosti.buildsystem.util.PaginatedInventory;
 import de.eintosti.buildsystem.util.StringUtils;
-import de.eintosti.buildsystem.util.UUIDFetcher;
 import de.eintosti.buildsystem.world.BuildWorld;
 import de.eintosti.buildsystem.world.Builder;
 import java.util.AbstractMap;
 import java.util.List;
-import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -76,7 +74,8 @@ public class BuilderInventory extends PaginatedInventory implements Listener {
         if (creator == null || creator.getName().equalsIgnoreCase("-")) {
             inventoryUtils.addItemStack(inventory, 4, XMaterial.BARRIER, Messages.getString("worldeditor_builders_no_creator_item", player));
         } else {
-            inventoryUtils.addSkull(inventory, 4, Messages.getString("worldeditor_builders_creator_item", player), Profileable.of(creator.getUniqueId()), Messages.getString("worldeditor_builders_creator_lore", player, new AbstractMap.SimpleEntry<>("%creator%", buildWorld.getCreator()
+            Profileable profile = creator.getUniqueId() != null ? Profileable.of(creator.getUniqueId()) : Profileable.username(creator.getName());
+            inventoryUtils.addSkull(inventory, 4, Messages.getString("worldeditor_builders_creator_item", player), profile, Messages.getString("worldeditor_builders_creator_lore", player, new AbstractMap.SimpleEntry<>("%creator%", buildWorld.getCreator()
                     .getName())));
         }
     }
@@ -189,8 +188,15 @@ public class BuilderInventory extends PaginatedInventory implements Listener {
 
                 String template = Messages.getString("worldeditor_builders_builder_item", player, new AbstractMap.SimpleEntry<>("%builder%", ""));
                 String builderName = StringUtils.difference(template, itemMeta.getDisplayName());
-                UUID builderId = UUIDFetcher.getUUID(builderName);
-                buildWorld.removeBuilder(builderId);
+                // The builder is looked up in the world, as resolving the name could block
+                Builder builder = buildWorld.getBuilders().stream()
+                        .filter(added -> added.getName().equals(builderName))
+                        .findFirst()
+                        .orElse(null);
+                if (builder == null) {
+                    return;
+                }
+                buildWorld.removeBuilder(builder);
 
                 XSound.ENTITY_ENDERMAN_TELEPORT.play(player);
                 Messages.sendMessage(player, "worlds_removebuilder_removed", new AbstractMap.SimpleEntry<>("%builder%", builderName));
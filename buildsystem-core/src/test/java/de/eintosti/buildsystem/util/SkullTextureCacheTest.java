@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2025, Thomas Meaney
+ * Copyright (c) contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.eintosti.buildsystem.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import de.eintosti.buildsystem.util.SkullTextureCache.Owner;
+import de.eintosti.buildsystem.util.SkullTextureCache.UnknownProfileException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SkullTextureCacheTest {
+
+    private static final Owner KNOWN = Owner.of(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+    private static final Owner UNKNOWN = Owner.named("Some World");
+    private static final Owner UNAVAILABLE = Owner.named("RateLimited");
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private LocalTextureSource textureSource;
+    private SkullTextureCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.file = directory.resolve("skull-textures.cache");
+        this.textureSource = new LocalTextureSource();
+        this.cache = createCache(Arrays.asList(KNOWN, UNKNOWN, UNAVAILABLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void cachesFetchedTextures() {
+        cache.refresh().join();
+        cache.refresh().join();
+
+        assertEquals("texture", cache.getTexture(KNOWN));
+        assertEquals(1, textureSource.getRequests(KNOWN));
+    }
+
+    @Test
+    void cachesUnknownProfiles() {
+        cache.refresh().join();
+        cache.refresh().join();
+
+        assertNull(cache.getTexture(UNKNOWN));
+        assertEquals(1, textureSource.getRequests(UNKNOWN));
+    }
+
+    @Test
+    void retriesFailedRequests() {
+        cache.refresh().join();
+        cache.refresh().join();
+
+        assertNull(cache.getTexture(UNAVAILABLE));
+        assertEquals(2, textureSource.getRequests(UNAVAILABLE));
+    }
+
+    @Test
+    void loadsPersistedTextures() {
+        cache.refresh().join();
+        cache.close();
+
+        LocalTextureSource previousSource = textureSource;
+        this.textureSource = new LocalTextureSource();
+        this.cache = createCache(Arrays.asList(KNOWN, UNKNOWN));
+        cache.refresh().join();
+
+        assertEquals("texture", cache.getTexture(KNOWN));
+        assertEquals(0, textureSource.getRequests(KNOWN));
+        assertEquals(0, textureSource.getRequests(UNKNOWN));
+        assertEquals(1, previousSource.getRequests(KNOWN));
+    }
+
+    private SkullTextureCache createCache(Collection<Owner> owners) {
+        // The refresh task is never scheduled, so the cache is only refreshed by the tests
+        return new SkullTextureCache(file, Logger.getLogger(getClass().getName()), textureSource, () -> owners, (task, interval) -> {
+        });
+    }
+
+    /**
+     * Stands in for requesting profiles: {@link #KNOWN} has a texture, {@link #UNKNOWN} does not have a profile and requests for any other owner fail.
+     */
+    private static class LocalTextureSource implements SkullTextureCache.TextureSource {
+
+        private final Map<Owner, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+        @Override
+        public String fetch(Owner owner) throws Exception {
+            requests.computeIfAbsent(owner, key -> new AtomicInteger()).incrementAndGet();
+            if (owner.equals(KNOWN)) {
+                return "texture";
+            }
+            if (owner.equals(UNKNOWN)) {
+                throw new UnknownProfileException(owner, null);
+            }
+            throw new IOException("Too many requests");
+        }
+
+        private int getRequests(Owner owner) {
+            AtomicInteger count = requests.get(owner);
+            return count != null ? count.get() : 0;
+        }
+    }
+}